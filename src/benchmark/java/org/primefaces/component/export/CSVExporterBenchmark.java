@@ -0,0 +1,125 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.component.export;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes a table of cells the way {@link CSVExporter} does, compared with the former regex based escaping and string
+ * concatenation per cell. Every tenth cell contains double quotes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CSVExporterBenchmark {
+
+    @Param({"10000"})
+    private int cellCount;
+
+    @Param({"8", "64"})
+    private int cellLength;
+
+    private String[] cells;
+
+    private CSVExporter exporter;
+
+    private PrintWriter writer;
+
+    @Setup
+    public void setup() {
+        cells = new String[cellCount];
+        for(int i = 0; i < cellCount; i++) {
+            StringBuilder cell = new StringBuilder(cellLength);
+            for(int j = 0; j < cellLength; j++) {
+                cell.append((i % 10 == 0 && j % 4 == 0) ? '"' : (char) ('a' + (i + j) % 26));
+            }
+            cells[i] = cell.toString();
+        }
+
+        exporter = new CSVExporter();
+        writer = new PrintWriter(new DiscardingWriter());
+    }
+
+    @Benchmark
+    public void writeEscaped() throws IOException {
+        for(int i = 0; i < cells.length; i++) {
+            if(i > 0) {
+                writer.write(',');
+            }
+            exporter.addColumnValue(writer, cells[i]);
+        }
+        writer.write('\n');
+    }
+
+    @Benchmark
+    public void writeReplaceAll() {
+        for(int i = 0; i < cells.length; i++) {
+            if(i > 0) {
+                writer.write(",");
+            }
+            writer.write("\"" + cells[i].replaceAll("\"", "\"\"") + "\"");
+        }
+        writer.write("\n");
+    }
+
+    /**
+     * Counts the written characters, so the writes can't be optimized away.
+     */
+    private static class DiscardingWriter extends Writer {
+
+        private long count;
+
+        @Override
+        public void write(int c) {
+            count++;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link ConcurrentLimitedSizeHashMap} with a synchronized {@link LimitedSizeHashMap} under concurrent reads
+ * and writes. Keys are drawn from twice the maximum size, so about half of the reads miss and writes keep evicting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class ConcurrentLimitedSizeHashMapBenchmark {
+
+    @Param({"concurrent", "synchronized"})
+    private String type;
+
+    @Param({"1000", "100000"})
+    private int maxSize;
+
+    private Map<Integer, Integer> map;
+
+    @Setup
+    public void setup() {
+        if("concurrent".equals(type)) {
+            map = new ConcurrentLimitedSizeHashMap<Integer, Integer>(maxSize);
+        }
+        else {
+            map = Collections.synchronizedMap(new LimitedSizeHashMap<Integer, Integer>(maxSize));
+        }
+
+        for(int i = 0; i < maxSize; i++) {
+            map.put(i, i);
+        }
+    }
+
+    @Benchmark
+    public Integer get() {
+        return map.get(ThreadLocalRandom.current().nextInt(2 * maxSize));
+    }
+
+    /**
+     * One write per ten reads, like a cache with a high hit rate.
+     */
+    @Benchmark
+    public Integer getOrPut() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer key = random.nextInt(2 * maxSize);
+
+        if(random.nextInt(10) == 0) {
+            return map.put(key, key);
+        }
+
+        return map.get(key);
+    }
+}
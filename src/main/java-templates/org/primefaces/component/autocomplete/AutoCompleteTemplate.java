@@ -6,6 +6,11 @@ import org.primefaces.util.HTML;
 import org.primefaces.util.ArrayUtils;
 import org.primefaces.util.Constants;
 import org.primefaces.component.column.Column;
+import org.primefaces.model.filter.CompilableFilterConstraint;
+import org.primefaces.model.filter.ContainsFilterConstraint;
+import org.primefaces.model.filter.FilterMatcher;
+import org.primefaces.model.filter.StartsWithFilterConstraint;
+import javax.faces.FacesException;
 import javax.faces.component.UIComponent;
 import java.util.Iterator;
 import java.util.Map;
@@ -15,6 +20,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import javax.faces.event.AjaxBehaviorEvent;
 import javax.faces.event.FacesEvent;
 import javax.faces.event.PhaseId;
@@ -102,6 +108,14 @@ import javax.faces.component.behavior.Behavior;
         }
     }
 
+    public final static String SERVER_CACHE_COMPONENT = "component";
+    public final static String SERVER_CACHE_APPLICATION = "application";
+
+    private final static String SUGGESTION_LIMIT = AutoComplete.class.getName() + ".SUGGESTION_LIMIT";
+    private final static String SUGGESTION_CACHE = AutoComplete.class.getName() + ".SUGGESTION_CACHE";
+    private final static int COMPONENT_CACHE_SIZE = 100;
+    private final static int APPLICATION_CACHE_SIZE = 5000;
+
     private List suggestions = null;
 
     public void broadcast(javax.faces.event.FacesEvent event) throws javax.faces.event.AbortProcessingException {
@@ -111,16 +125,137 @@ import javax.faces.component.behavior.Behavior;
 		MethodExpression me = getCompleteMethod();
 		
 		if(me != null && event instanceof org.primefaces.event.AutoCompleteEvent) {
-			suggestions = (List) me.invoke(facesContext.getELContext(), new Object[] {((org.primefaces.event.AutoCompleteEvent) event).getQuery()});
-            
+            String query = ((org.primefaces.event.AutoCompleteEvent) event).getQuery();
+            int maxResults = getMaxResults();
+            // one more than displayed, to know if the moreText has to be shown
+            int limit = (maxResults == Integer.MAX_VALUE) ? maxResults : maxResults + 1;
+            SuggestionCache cache = getSuggestionCache(facesContext);
+            String namespace = null;
+
+            suggestions = null;
+            if(cache != null) {
+                namespace = getSuggestionCacheNamespace(me);
+                suggestions = cache.get(namespace, query, limit, getMinQueryLength(), getCacheTimeout(), getSuggestionNarrowing(facesContext));
+            }
+
             if(suggestions == null) {
-                suggestions = new ArrayList();
+                Map<Object,Object> attributes = facesContext.getAttributes();
+                attributes.put(SUGGESTION_LIMIT, limit);
+                try {
+                    suggestions = (List) me.invoke(facesContext.getELContext(), new Object[] {query});
+                }
+                finally {
+                    attributes.remove(SUGGESTION_LIMIT);
+                }
+
+                if(suggestions == null) {
+                    suggestions = new ArrayList();
+                }
+
+                if(cache != null) {
+                    suggestions = cache.put(namespace, query, limit, suggestions);
+                }
             }
 
             facesContext.renderResponse();
 		}
 	}
 
+    /**
+     * Returns the number of suggestions the complete method should return at most, while it is invoked by an autoComplete.
+     * This is one more than the maxResults, so the complete method can stop early and the moreText is still shown.
+     *
+     * @return the limit or <code>Integer.MAX_VALUE</code> if there is no limit
+     */
+    public static int getSuggestionLimit(FacesContext context) {
+        Integer limit = (Integer) context.getAttributes().get(SUGGESTION_LIMIT);
+
+        return (limit == null) ? Integer.MAX_VALUE : limit;
+    }
+
+    protected SuggestionCache getSuggestionCache(FacesContext context) {
+        String serverCache = getServerCache();
+        if(serverCache == null) {
+            return null;
+        }
+
+        if(serverCache.equals(SERVER_CACHE_APPLICATION)) {
+            return SuggestionCache.get(context.getExternalContext().getApplicationMap(), SUGGESTION_CACHE, APPLICATION_CACHE_SIZE);
+        }
+        else if(serverCache.equals(SERVER_CACHE_COMPONENT)) {
+            String key = SUGGESTION_CACHE + context.getViewRoot().getViewId() + this.getClientId(context);
+            return SuggestionCache.get(context.getExternalContext().getSessionMap(), key, COMPONENT_CACHE_SIZE);
+        }
+        else {
+            throw new FacesException("Invalid serverCache \"" + serverCache + "\", valid values are \""
+                    + SERVER_CACHE_COMPONENT + "\" and \"" + SERVER_CACHE_APPLICATION + "\".");
+        }
+    }
+
+    /**
+     * Suggestions of different complete methods share the application cache, narrowed ones also depend on the label.
+     */
+    protected String getSuggestionCacheNamespace(MethodExpression completeMethod) {
+        ValueExpression itemLabel = getValueExpression(PropertyKeys.itemLabel.toString());
+
+        return new StringBuilder()
+                .append(completeMethod.getExpressionString()).append('\u0000')
+                .append(getServerCacheMatchMode()).append('\u0000')
+                .append((itemLabel == null) ? null : itemLabel.getExpressionString())
+                .toString();
+    }
+
+    /**
+     * @return narrows cached suggestions by their label with the serverCacheMatchMode, null if no match mode is set
+     */
+    protected SuggestionCache.Narrowing getSuggestionNarrowing(final FacesContext context) {
+        String matchMode = getServerCacheMatchMode();
+        if(matchMode == null) {
+            return null;
+        }
+
+        final CompilableFilterConstraint constraint;
+        if(matchMode.equals("startsWith")) {
+            constraint = new StartsWithFilterConstraint();
+        }
+        else if(matchMode.equals("contains")) {
+            constraint = new ContainsFilterConstraint();
+        }
+        else {
+            throw new FacesException("Invalid serverCacheMatchMode \"" + matchMode + "\", valid values are \"startsWith\" and \"contains\".");
+        }
+
+        final Locale locale = context.getViewRoot().getLocale();
+        final String var = getVar();
+
+        return new SuggestionCache.Narrowing() {
+
+            public List<Object> narrow(List<Object> cached, String query) {
+                FilterMatcher matcher = constraint.compile(query, locale);
+                Map<String,Object> requestMap = context.getExternalContext().getRequestMap();
+                List<Object> narrowed = new ArrayList<Object>();
+
+                for(Object suggestion : cached) {
+                    Object label = suggestion;
+                    if(var != null) {
+                        requestMap.put(var, suggestion);
+                        label = getItemLabel();
+                    }
+
+                    if(matcher.matches(label)) {
+                        narrowed.add(suggestion);
+                    }
+                }
+
+                if(var != null) {
+                    requestMap.remove(var);
+                }
+
+                return narrowed;
+            }
+        };
+    }
+
     public List<Column> getColums() {
         List<Column> columns = new ArrayList<Column>();
         
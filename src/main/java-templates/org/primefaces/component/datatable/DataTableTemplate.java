@@ -13,9 +13,12 @@ import java.util.List;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.HashSet;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.RandomAccess;
 import java.util.Locale;
 import java.util.logging.Logger;
 import javax.faces.component.UIComponent;
@@ -801,22 +804,13 @@ import org.primefaces.component.datatable.TableState;
         // use rowKey if available and if != lazy
         // lazy must implement #getRowData
         if (hasRowKeyVe && !(model instanceof LazyDataModel)) {
-            Map<String,Object> requestMap = getFacesContext().getExternalContext().getRequestMap();
-            String var = this.getVar();
             Collection data = (Collection) getDataModel().getWrappedData();
 
-            if(data != null) {
-                for(Iterator it = data.iterator(); it.hasNext();) {
-                    Object object = it.next();
-                    requestMap.put(var, object);
-
-                    if(String.valueOf(this.getRowKey()).equals(rowKey)) {
-                        return object;
-                    }
-                }
+            if(data == null) {
+                return null;
             }
 
-            return null;
+            return findRowData(data, rowKey);
         }
         else {
             if(!(model instanceof SelectableDataModel)) {
@@ -827,7 +821,120 @@ import org.primefaces.component.datatable.TableState;
         }
     }
 
+    private final static String ROW_KEY_INDEX = DataTable.class.getName() + ".rowKeyIndex";
+
+    /**
+     * Looks the row up in an index of the rowKeys, built once per request and wrapped data. The index is rebuilt when
+     * the wrapped data changes and before the table is encoded. As rows might be replaced in place between two phases,
+     * e.g. by a setter of the list, the rowKey of a found row is evaluated again and the index is rebuilt if it doesn't
+     * match anymore or if the rowKey is not found. Rows of random access lists are looked up by their index, so a
+     * replaced row is never returned in place of the current one.
+     * If rowKeys are not unique, the first row wins like in a linear search.
+     */
+    protected Object findRowData(Collection data, String rowKey) {
+        FacesContext context = getFacesContext();
+        Map<String,RowKeyIndex> indexes = getRowKeyIndexes(context);
+        String clientId = this.getClientId(context);
+        RowKeyIndex rowKeyIndex = indexes.get(clientId);
+        Map<String,Object> requestMap = context.getExternalContext().getRequestMap();
+        String var = this.getVar();
+        Object varValue = requestMap.get(var);
+
+        try {
+            boolean rebuilt = false;
+            if(rowKeyIndex == null || rowKeyIndex.data != data || rowKeyIndex.size != data.size()) {
+                rowKeyIndex = indexRowKeys(data, requestMap, var);
+                indexes.put(clientId, rowKeyIndex);
+                rebuilt = true;
+            }
+
+            Object rowData = rowKeyIndex.get(rowKey);
+            if(!rebuilt && (rowData == null || !evaluateRowKey(rowData, requestMap, var).equals(rowKey))) {
+                rowKeyIndex = indexRowKeys(data, requestMap, var);
+                indexes.put(clientId, rowKeyIndex);
+                rowData = rowKeyIndex.get(rowKey);
+            }
+
+            return rowData;
+        }
+        finally {
+            if(varValue == null) {
+                requestMap.remove(var);
+            }
+            else {
+                requestMap.put(var, varValue);
+            }
+        }
+    }
+
+    private RowKeyIndex indexRowKeys(Collection data, Map<String,Object> requestMap, String var) {
+        Map<String,Object> index = new HashMap<String,Object>((int) (data.size() / 0.75f) + 1);
+        boolean positions = data instanceof List && data instanceof RandomAccess;
+        int position = 0;
+
+        for(Iterator it = data.iterator(); it.hasNext(); position++) {
+            Object object = it.next();
+            String key = evaluateRowKey(object, requestMap, var);
+            if(!index.containsKey(key)) {
+                index.put(key, positions ? Integer.valueOf(position) : object);
+            }
+        }
+
+        return new RowKeyIndex(data, index, positions);
+    }
+
+    private String evaluateRowKey(Object object, Map<String,Object> requestMap, String var) {
+        requestMap.put(var, object);
+
+        return String.valueOf(this.getRowKey());
+    }
+
+    private void resetRowKeyIndex(FacesContext context) {
+        Map<String,RowKeyIndex> indexes = (Map<String,RowKeyIndex>) context.getAttributes().get(ROW_KEY_INDEX);
+        if(indexes != null) {
+            indexes.remove(this.getClientId(context));
+        }
+    }
+
+    private Map<String,RowKeyIndex> getRowKeyIndexes(FacesContext context) {
+        Map<Object,Object> attributes = context.getAttributes();
+        Map<String,RowKeyIndex> indexes = (Map<String,RowKeyIndex>) attributes.get(ROW_KEY_INDEX);
+        if(indexes == null) {
+            indexes = new HashMap<String,RowKeyIndex>();
+            attributes.put(ROW_KEY_INDEX, indexes);
+        }
+
+        return indexes;
+    }
+
+    private static class RowKeyIndex {
+
+        private final Collection data;
+        private final int size;
+        private final Map<String,Object> index;
+        private final boolean positions;
+
+        RowKeyIndex(Collection data, Map<String,Object> index, boolean positions) {
+            this.data = data;
+            this.size = data.size();
+            this.index = index;
+            this.positions = positions;
+        }
+
+        Object get(String rowKey) {
+            Object value = index.get(rowKey);
+            if(positions && value != null) {
+                return ((List) data).get((Integer) value);
+            }
+
+            return value;
+        }
+    }
+
     private List<Object> selectedRowKeys = new ArrayList<Object>();
+    private Set<Object> selectedRowKeySet;
+    private List<Object> selectedRowKeySetSource;
+    private int selectedRowKeySetSize;
 
     public void findSelectedRowKeys() {
         Object selection = this.getSelection();
@@ -880,6 +987,23 @@ import org.primefaces.component.datatable.TableState;
         return selectedRowKeys;
     }
 
+    /**
+     * Hash based alternative to <code>getSelectedRowKeys().contains(rowKey)</code> for checking each row while rendering.
+     */
+    public boolean isSelectedRowKey(Object rowKey) {
+        if(selectedRowKeys == null || selectedRowKeys.isEmpty()) {
+            return false;
+        }
+
+        if(selectedRowKeySet == null || selectedRowKeySetSource != selectedRowKeys || selectedRowKeySetSize != selectedRowKeys.size()) {
+            selectedRowKeySet = new HashSet<Object>(selectedRowKeys);
+            selectedRowKeySetSource = selectedRowKeys;
+            selectedRowKeySetSize = selectedRowKeys.size();
+        }
+
+        return selectedRowKeySet.contains(rowKey);
+    }
+
     public String getSelectedRowKeysAsString() {
         StringBuilder builder = SharedStringBuilder.get(SB_GET_SELECTED_ROW_KEYS_AS_STRING);
         for(Iterator<Object> iter = getSelectedRowKeys().iterator(); iter.hasNext();) {
@@ -1333,6 +1457,7 @@ import org.primefaces.component.datatable.TableState;
     @Override
     protected void preEncode(FacesContext context) {
         resetDynamicColumns();
+        resetRowKeyIndex(context);
         super.preEncode(context);
     }
     
@@ -16,7 +16,9 @@
 package org.primefaces.application.resource;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
+import javax.faces.FacesException;
 import javax.faces.context.ExternalContext;
 import javax.faces.context.FacesContext;
 import net.glxn.qrgen.QRCode;
@@ -25,13 +27,15 @@ import org.primefaces.util.Constants;
 
 public class QRCodeHandler extends BaseDynamicContentHandler {
     
+    private final RenderedImageCache images = new RenderedImageCache(1000, 64 * 1024);
+    
     public void handle(FacesContext context) throws IOException {
         Map<String,String> params = context.getExternalContext().getRequestParameterMap();
         ExternalContext externalContext = context.getExternalContext();
         String sessionKey = (String) params.get(Constants.DYNAMIC_CONTENT_PARAM);
         Map<String,Object> session = externalContext.getSessionMap();
         Map<String,String> barcodeMapping = (Map) session.get(Constants.BARCODE_MAPPING);
-        String value = barcodeMapping.get(sessionKey);
+        final String value = barcodeMapping.get(sessionKey);
         
         if(value != null) {
             boolean cache = Boolean.valueOf(params.get(Constants.DYNAMIC_CONTENT_CACHE_PARAM));            
@@ -41,7 +45,23 @@ public class QRCodeHandler extends BaseDynamicContentHandler {
             
             handleCache(externalContext, cache);
             
-            QRCode.from(value).to(ImageType.PNG).withCharset("UTF-8").writeTo(externalContext.getResponseOutputStream());
+            byte[] image;
+            try {
+                image = images.get(RenderedImageCache.createKey("qr", "png", value), new RenderedImageCache.Renderer() {
+
+                    public void render(OutputStream out) {
+                        QRCode.from(value).to(ImageType.PNG).withCharset("UTF-8").writeTo(out);
+                    }
+                });
+            }
+            catch(IOException e) {
+                throw e;
+            }
+            catch(Exception e) {
+                throw new FacesException(e);
+            }
+            
+            RenderedImageCache.write(externalContext, image);
             
             externalContext.responseFlushBuffer();
             context.responseComplete();
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.application.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.Semaphore;
+import javax.faces.context.ExternalContext;
+import org.primefaces.util.ConcurrentLimitedSizeHashMap;
+
+/**
+ * Application wide cache of generated images like barcodes, keyed by everything the image is generated from, so the same
+ * image is generated once for all users.
+ *
+ * Generation is CPU bound, the number of images generated at the same time is limited to half of the available processors
+ * for all caches together, other requests wait for a free slot.
+ */
+public class RenderedImageCache {
+
+    private static final Semaphore RENDER_PERMITS = new Semaphore(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+    private final ConcurrentLimitedSizeHashMap<String, byte[]> images;
+
+    private final int maxImageSize;
+
+    /**
+     * @param maxSize      maximum number of cached images
+     * @param maxImageSize images with more bytes are generated on each request but not cached
+     */
+    public RenderedImageCache(int maxSize, int maxImageSize) {
+        this.images = new ConcurrentLimitedSizeHashMap<String, byte[]>(maxSize);
+        this.maxImageSize = maxImageSize;
+    }
+
+    public interface Renderer {
+
+        void render(OutputStream out) throws Exception;
+    }
+
+    /**
+     * Builds a cache key out of the parts an image is generated from.
+     */
+    public static String createKey(Object... parts) {
+        StringBuilder key = new StringBuilder();
+        for(int i = 0; i < parts.length; i++) {
+            if(i > 0) {
+                key.append('\u0000');
+            }
+            key.append(parts[i]);
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * @return the cached image or the image generated by the renderer
+     */
+    public byte[] get(String key, Renderer renderer) throws Exception {
+        byte[] image = images.get(key);
+        if(image != null) {
+            return image;
+        }
+
+        try {
+            RENDER_PERMITS.acquire();
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to generate image.");
+        }
+
+        try {
+            // another request might have generated it while waiting
+            image = images.get(key);
+            if(image != null) {
+                return image;
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+            renderer.render(out);
+            image = out.toByteArray();
+        }
+        finally {
+            RENDER_PERMITS.release();
+        }
+
+        if(image.length <= maxImageSize) {
+            images.put(key, image);
+        }
+
+        return image;
+    }
+
+    public int size() {
+        return images.size();
+    }
+
+    public void clear() {
+        images.clear();
+    }
+
+    /**
+     * Writes an image to the response with its content length.
+     */
+    public static void write(ExternalContext externalContext, byte[] image) throws IOException {
+        externalContext.setResponseContentLength(image.length);
+        externalContext.getResponseOutputStream().write(image);
+    }
+}
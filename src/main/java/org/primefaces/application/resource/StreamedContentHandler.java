@@ -15,11 +15,16 @@
  */
 package org.primefaces.application.resource;
 
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.el.ELContext;
 import javax.el.ValueExpression;
@@ -28,13 +33,18 @@ import javax.faces.context.FacesContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.primefaces.model.FileStreamedContent;
 import org.primefaces.model.StreamedContent;
+import org.primefaces.util.ConcurrentLimitedSizeHashMap;
 import org.primefaces.util.Constants;
+import org.primefaces.util.StreamUtils;
 
 public class StreamedContentHandler extends BaseDynamicContentHandler {
 
     private final static Logger LOG = Logger.getLogger(StreamedContentHandler.class.getName());
     
+    private final static Pattern RANGE_PATTERN = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+    
     public void handle(FacesContext context) throws IOException {
         Map<String,String> params = context.getExternalContext().getRequestParameterMap();
         String library = params.get("ln");
@@ -42,6 +52,7 @@ public class StreamedContentHandler extends BaseDynamicContentHandler {
 
         if (resourceKey != null && library != null && library.equals(Constants.LIBRARY)) {
             StreamedContent streamedContent = null;
+            InputStream inputStream = null;
             boolean cache = Boolean.valueOf(params.get(Constants.DYNAMIC_CONTENT_CACHE_PARAM));
 
             try {
@@ -53,18 +64,26 @@ public class StreamedContentHandler extends BaseDynamicContentHandler {
                     String dynamicContentEL = dynamicResourcesMapping.get(resourceKey);
 
                     if (dynamicContentEL != null) {
+                        // cached content is immutable, so a known ETag is answered without evaluating the content again
+                        String cachedETag = cache ? getCachedETag(session, resourceKey) : null;
+                        if (isNotModified(externalContext, cachedETag)) {
+                            handleNotModified(externalContext, cachedETag, cache);
+                            context.responseComplete();
+                            return;
+                        }
+                        
                         ELContext eLContext = context.getELContext();
                         ValueExpression ve = context.getApplication().getExpressionFactory().createValueExpression(context.getELContext(), dynamicContentEL, StreamedContent.class);
                         streamedContent = (StreamedContent) ve.getValue(eLContext);
 
-                        if (streamedContent == null || streamedContent.getStream() == null) {
-                            if (externalContext.getRequest() instanceof HttpServletRequest) {
-                                externalContext.responseSendError(HttpServletResponse.SC_NOT_FOUND,
-                                    ((HttpServletRequest) externalContext.getRequest()).getRequestURI());
-                            }
-                            else {
-                                externalContext.responseSendError(HttpServletResponse.SC_NOT_FOUND, null);
+                        if (streamedContent instanceof FileStreamedContent) {
+                            if (!((FileStreamedContent) streamedContent).getFile().isFile()) {
+                                sendNotFound(externalContext);
+                                return;
                             }
+                        }
+                        else if (streamedContent == null || (inputStream = streamedContent.getStream()) == null) {
+                            sendNotFound(externalContext);
                             return;
                         }
 
@@ -73,10 +92,6 @@ public class StreamedContentHandler extends BaseDynamicContentHandler {
 
                         handleCache(externalContext, cache);
 
-                        if(streamedContent.getContentLength() != null){
-                            externalContext.setResponseContentLength(streamedContent.getContentLength());
-                        }
-
                         if(streamedContent.getContentEncoding() != null) {
                             externalContext.setResponseHeader("Content-Encoding", streamedContent.getContentEncoding());
                         }
@@ -85,12 +100,15 @@ public class StreamedContentHandler extends BaseDynamicContentHandler {
                             externalContext.setResponseHeader("Content-Disposition", "inline;filename=\"" + streamedContent.getName() + "\"");
                         }
 
-                        byte[] buffer = new byte[2048];
-
-                        int length;
-                        InputStream inputStream = streamedContent.getStream();
-                        while ((length = (inputStream.read(buffer))) >= 0) {
-                            externalContext.getResponseOutputStream().write(buffer, 0, length);
+                        if (streamedContent instanceof FileStreamedContent) {
+                            inputStream = handleFile(externalContext, (FileStreamedContent) streamedContent, session, resourceKey, cache);
+                        }
+                        else {
+                            if(streamedContent.getContentLength() != null){
+                                externalContext.setResponseContentLength(streamedContent.getContentLength());
+                            }
+                            
+                            StreamUtils.copy(inputStream, externalContext.getResponseOutputStream());
                         }
                     }
                 }
@@ -104,10 +122,145 @@ public class StreamedContentHandler extends BaseDynamicContentHandler {
             }
             finally {
                 //cleanup
-                if(streamedContent != null && streamedContent.getStream() != null) {
-                    streamedContent.getStream().close();
+                if(inputStream != null) {
+                    inputStream.close();
+                }
+            }
+        }
+    }
+    
+    /**
+     * Answers conditional and range requests for a file, the file is only opened if content is sent.
+     * 
+     * @return the opened stream or null
+     */
+    protected InputStream handleFile(ExternalContext externalContext, FileStreamedContent content, Map<String,Object> session,
+            String resourceKey, boolean cache) throws IOException {
+        String etag = content.getETag();
+        externalContext.setResponseHeader("Accept-Ranges", "bytes");
+        externalContext.setResponseHeader("ETag", etag);
+        
+        if (cache) {
+            Map<String,String> etags = (Map) session.get(Constants.DYNAMIC_RESOURCES_ETAGS);
+            if (etags == null) {
+                etags = new ConcurrentLimitedSizeHashMap<String, String>(200);
+                session.put(Constants.DYNAMIC_RESOURCES_ETAGS, etags);
+            }
+            etags.put(resourceKey, etag);
+        }
+        
+        if (isNotModified(externalContext, etag)) {
+            externalContext.setResponseStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return null;
+        }
+        
+        // opened here, the content might be served again by a later request
+        FileInputStream inputStream;
+        try {
+            inputStream = new FileInputStream(content.getFile());
+        }
+        catch (FileNotFoundException e) {
+            externalContext.setResponseStatus(HttpServletResponse.SC_NOT_FOUND);
+            return null;
+        }
+        
+        FileChannel channel = inputStream.getChannel();
+        long length = channel.size();
+        long start = 0;
+        long end = length - 1;
+        
+        Map<String,String> headers = externalContext.getRequestHeaderMap();
+        String range = headers.get("Range");
+        String ifRange = headers.get("If-Range");
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            Matcher matcher = RANGE_PATTERN.matcher(range.trim());
+            
+            // multiple ranges are answered with the whole content
+            if (matcher.matches() && (matcher.group(1).length() > 0 || matcher.group(2).length() > 0)) {
+                if (matcher.group(1).length() == 0) {
+                    // suffix range with the last n bytes
+                    start = Math.max(0, length - parseLong(matcher.group(2)));
+                }
+                else {
+                    start = parseLong(matcher.group(1));
+                    if (matcher.group(2).length() > 0) {
+                        end = Math.min(end, parseLong(matcher.group(2)));
+                    }
+                }
+                
+                if (start >= length || start > end) {
+                    externalContext.setResponseStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    externalContext.setResponseHeader("Content-Range", "bytes */" + length);
+                    return inputStream;
                 }
+                
+                externalContext.setResponseStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                externalContext.setResponseHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        
+        long contentLength = end - start + 1;
+        if (contentLength <= Integer.MAX_VALUE) {
+            externalContext.setResponseContentLength((int) contentLength);
+        }
+        else {
+            externalContext.setResponseHeader("Content-Length", String.valueOf(contentLength));
+        }
+        
+        StreamUtils.copy(channel, start, contentLength, externalContext.getResponseOutputStream());
+        
+        return inputStream;
+    }
+    
+    protected void handleNotModified(ExternalContext externalContext, String etag, boolean cache) {
+        externalContext.setResponseStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        externalContext.setResponseHeader("ETag", etag);
+        handleCache(externalContext, cache);
+    }
+    
+    protected boolean isNotModified(ExternalContext externalContext, String etag) {
+        if (etag == null) {
+            return false;
+        }
+        
+        String ifNoneMatch = externalContext.getRequestHeaderMap().get("If-None-Match");
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || candidate.equals(etag) || candidate.equals("W/" + etag)) {
+                return true;
             }
         }
+        
+        return false;
+    }
+    
+    private String getCachedETag(Map<String,Object> session, String resourceKey) {
+        Map<String,String> etags = (Map) session.get(Constants.DYNAMIC_RESOURCES_ETAGS);
+        
+        return (etags == null) ? null : etags.get(resourceKey);
+    }
+    
+    private long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        }
+        catch (NumberFormatException e) {
+            // too many digits
+            return Long.MAX_VALUE;
+        }
+    }
+    
+    private void sendNotFound(ExternalContext externalContext) throws IOException {
+        if (externalContext.getRequest() instanceof HttpServletRequest) {
+            externalContext.responseSendError(HttpServletResponse.SC_NOT_FOUND,
+                ((HttpServletRequest) externalContext.getRequest()).getRequestURI());
+        }
+        else {
+            externalContext.responseSendError(HttpServletResponse.SC_NOT_FOUND, null);
+        }
     }
 }
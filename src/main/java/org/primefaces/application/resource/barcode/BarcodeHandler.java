@@ -18,6 +18,7 @@ package org.primefaces.application.resource.barcode;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.StringReader;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Level;
@@ -26,11 +27,15 @@ import javax.faces.context.ExternalContext;
 import javax.faces.context.FacesContext;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamSource;
 import org.krysalis.barcode4j.output.bitmap.BitmapCanvasProvider;
 import org.krysalis.barcode4j.output.svg.SVGCanvasProvider;
 import org.primefaces.application.resource.BaseDynamicContentHandler;
+import org.primefaces.application.resource.RenderedImageCache;
 import org.primefaces.util.AgentUtils;
 import org.primefaces.util.Constants;
 import org.w3c.dom.DocumentFragment;
@@ -39,8 +44,16 @@ public class BarcodeHandler extends BaseDynamicContentHandler {
     
     private final static Logger logger = Logger.getLogger(BarcodeHandler.class.getName());
     
+    private static final String IDENTITY_STYLESHEET = "<xsl:stylesheet version=\"1.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+            + "<xsl:template match=\"@*|node()\"><xsl:copy><xsl:apply-templates select=\"@*|node()\"/></xsl:copy></xsl:template>"
+            + "</xsl:stylesheet>";
+    
     private final Map<String,BarcodeGenerator> generators;
     
+    private final RenderedImageCache images = new RenderedImageCache(1000, 64 * 1024);
+    
+    private Templates svgTemplates;
+    
     public BarcodeHandler() {
         generators = new HashMap<String,BarcodeGenerator>();
         generators.put("int2of5", new Int2of5Generator());
@@ -66,7 +79,8 @@ public class BarcodeHandler extends BaseDynamicContentHandler {
                 
         if(value != null) {
             try {
-                BarcodeGenerator generator = generators.get(params.get("gen"));
+                String generatorName = params.get("gen");
+                BarcodeGenerator generator = generators.get(generatorName);
                 String format = params.get("fmt");
                 int orientation = Integer.parseInt(params.get("ori"));
                 boolean cache = Boolean.valueOf(params.get(Constants.DYNAMIC_CONTENT_CACHE_PARAM));
@@ -75,29 +89,23 @@ public class BarcodeHandler extends BaseDynamicContentHandler {
                     format = "png";
                 }
                 
-                OutputStream out = externalContext.getResponseOutputStream();
-            
                 handleCache(externalContext, cache);
                 
+                byte[] image;
                 if(format.equals("png")) {
                     externalContext.setResponseContentType("image/png");
-                    
-                    BitmapCanvasProvider bitmapCanvasProvider = new BitmapCanvasProvider(out, "image/x-png", 150, BufferedImage.TYPE_BYTE_BINARY, false, orientation);
-                    generator.generate(bitmapCanvasProvider, value);
-                    bitmapCanvasProvider.finish();
+                    image = renderPng(generatorName, generator, value, orientation);
                 }
                 else if(format.equals("svg")) {
                     externalContext.setResponseContentType("image/svg+xml");
-                    
-                    SVGCanvasProvider svgCanvasProvider = new SVGCanvasProvider(false, orientation);
-                    generator.generate(svgCanvasProvider, value);
-                    DocumentFragment frag = svgCanvasProvider.getDOMFragment();
-
-                    TransformerFactory factory = TransformerFactory.newInstance();
-                    Transformer trans = factory.newTransformer();
-                    Source src = new javax.xml.transform.dom.DOMSource(frag);
-                    Result res = new javax.xml.transform.stream.StreamResult(out);
-                    trans.transform(src, res);
+                    image = renderSvg(generatorName, generator, value, orientation);
+                }
+                else {
+                    image = null;
+                }
+                
+                if(image != null) {
+                    RenderedImageCache.write(externalContext, image);
                 }
 
                 externalContext.setResponseStatus(200);
@@ -111,4 +119,47 @@ public class BarcodeHandler extends BaseDynamicContentHandler {
             }            
         }
     }
+    
+    protected byte[] renderPng(String generatorName, final BarcodeGenerator generator, final String value, final int orientation) throws Exception {
+        String key = RenderedImageCache.createKey(generatorName, "png", orientation, value);
+        
+        return images.get(key, new RenderedImageCache.Renderer() {
+            
+            public void render(OutputStream out) throws Exception {
+                BitmapCanvasProvider bitmapCanvasProvider = new BitmapCanvasProvider(out, "image/x-png", 150, BufferedImage.TYPE_BYTE_BINARY, false, orientation);
+                generator.generate(bitmapCanvasProvider, value);
+                bitmapCanvasProvider.finish();
+            }
+        });
+    }
+    
+    protected byte[] renderSvg(String generatorName, final BarcodeGenerator generator, final String value, final int orientation) throws Exception {
+        String key = RenderedImageCache.createKey(generatorName, "svg", orientation, value);
+        
+        return images.get(key, new RenderedImageCache.Renderer() {
+            
+            public void render(OutputStream out) throws Exception {
+                SVGCanvasProvider svgCanvasProvider = new SVGCanvasProvider(false, orientation);
+                generator.generate(svgCanvasProvider, value);
+                DocumentFragment frag = svgCanvasProvider.getDOMFragment();
+
+                Transformer trans = getSvgTemplates().newTransformer();
+                Source src = new javax.xml.transform.dom.DOMSource(frag);
+                Result res = new javax.xml.transform.stream.StreamResult(out);
+                trans.transform(src, res);
+            }
+        });
+    }
+    
+    /**
+     * Templates are thread safe, unlike the factory, so the identity stylesheet is compiled only once.
+     */
+    protected synchronized Templates getSvgTemplates() throws TransformerConfigurationException {
+        if(svgTemplates == null) {
+            TransformerFactory factory = TransformerFactory.newInstance();
+            svgTemplates = factory.newTemplates(new StreamSource(new StringReader(IDENTITY_STYLESHEET)));
+        }
+        
+        return svgTemplates;
+    }
 }
@@ -22,6 +22,7 @@ import java.util.logging.Logger;
 
 /**
  * Basic cache provider for development purposes, should be avoided to use in production as there is no eviction and timeouts.
+ * Use {@link LocalCacheProvider} for a bounded in-memory cache.
  */
 public class DefaultCacheProvider implements CacheProvider {
 
@@ -31,7 +32,7 @@ public class DefaultCacheProvider implements CacheProvider {
     
     public DefaultCacheProvider() {
         cache = new ConcurrentHashMap<String, ConcurrentMap<String, Object>>();
-        logger.warning("DefaultCacheProvider is for development purposes only, prefer another provider such as EhCache and HazelCast in production.");
+        logger.warning("DefaultCacheProvider is for development purposes only, prefer LocalCacheProvider or another provider such as EhCache and HazelCast in production.");
     }
 
     public Object get(String region, String key) {
@@ -59,8 +60,11 @@ public class DefaultCacheProvider implements CacheProvider {
     private Map<String,Object> getRegion(String name) {
         ConcurrentMap<String,Object> region = cache.get(name);
         if(region == null) {
-            region = new ConcurrentHashMap<String, Object>();
-            cache.put(name, region);
+            ConcurrentMap<String,Object> newRegion = new ConcurrentHashMap<String, Object>();
+            region = cache.putIfAbsent(name, newRegion);
+            if(region == null) {
+                region = newRegion;
+            }
         }
         
         return region;
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.cache;
+
+/**
+ * Strategy used by {@link LocalCacheProvider} to pick the entry to drop when a region is full.
+ */
+public enum EvictionPolicy {
+
+    /**
+     * Evicts the least recently used entry.
+     */
+    LRU,
+
+    /**
+     * Evicts the least frequently used entry, ties are broken by recency.
+     */
+    LFU;
+
+    public static EvictionPolicy fromString(String value) {
+        if(value == null) {
+            return LRU;
+        }
+
+        return EvictionPolicy.valueOf(value.trim().toUpperCase());
+    }
+}
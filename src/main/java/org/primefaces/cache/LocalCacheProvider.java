@@ -0,0 +1,470 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.cache;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+import org.primefaces.util.Constants;
+
+/**
+ * In-memory cache provider with bounded regions.
+ * Each region is limited by number of entries and by the estimated size of its values, entries can expire after a
+ * time to live and are evicted by {@link EvictionPolicy} once a limit is exceeded.
+ *
+ * Defaults can be configured via the context params {@link Constants.ContextParams#CACHE_MAX_ENTRIES},
+ * {@link Constants.ContextParams#CACHE_MAX_BYTES}, {@link Constants.ContextParams#CACHE_TIME_TO_LIVE} and
+ * {@link Constants.ContextParams#CACHE_EVICTION_POLICY}, single regions via {@link #configureRegion}.
+ */
+public class LocalCacheProvider implements CacheProvider {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024L * 1024L;
+
+    private final ConcurrentMap<String, Region> regions;
+    private final ConcurrentMap<String, RegionConfig> regionConfigs;
+
+    private volatile RegionConfig defaultConfig;
+
+    public LocalCacheProvider() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES, 0, EvictionPolicy.LRU);
+
+        FacesContext context = FacesContext.getCurrentInstance();
+        if(context != null) {
+            initConfigFromContextParams(context.getExternalContext());
+        }
+    }
+
+    /**
+     * @param maxEntries max number of entries per region, 0 or less for no limit
+     * @param maxBytes max estimated size of the values per region, 0 or less for no limit
+     * @param timeToLive time to live of an entry in milliseconds, 0 or less for no expiration
+     * @param evictionPolicy policy to choose the entry to evict
+     */
+    public LocalCacheProvider(int maxEntries, long maxBytes, long timeToLive, EvictionPolicy evictionPolicy) {
+        regions = new ConcurrentHashMap<String, Region>();
+        regionConfigs = new ConcurrentHashMap<String, RegionConfig>();
+        defaultConfig = new RegionConfig(maxEntries, maxBytes, timeToLive, evictionPolicy);
+    }
+
+    protected void initConfigFromContextParams(ExternalContext externalContext) {
+        String value = null;
+
+        int maxEntries = defaultConfig.maxEntries;
+        long maxBytes = defaultConfig.maxBytes;
+        long timeToLive = defaultConfig.timeToLive;
+        EvictionPolicy evictionPolicy = defaultConfig.evictionPolicy;
+
+        value = externalContext.getInitParameter(Constants.ContextParams.CACHE_MAX_ENTRIES);
+        maxEntries = (value == null) ? maxEntries : Integer.parseInt(value.trim());
+
+        value = externalContext.getInitParameter(Constants.ContextParams.CACHE_MAX_BYTES);
+        maxBytes = (value == null) ? maxBytes : Long.parseLong(value.trim());
+
+        value = externalContext.getInitParameter(Constants.ContextParams.CACHE_TIME_TO_LIVE);
+        timeToLive = (value == null) ? timeToLive : Long.parseLong(value.trim()) * 1000L;
+
+        value = externalContext.getInitParameter(Constants.ContextParams.CACHE_EVICTION_POLICY);
+        evictionPolicy = (value == null) ? evictionPolicy : EvictionPolicy.fromString(value);
+
+        defaultConfig = new RegionConfig(maxEntries, maxBytes, timeToLive, evictionPolicy);
+    }
+
+    /**
+     * Overrides the limits of a single region, existing entries are kept until they are evicted by the new limits.
+     */
+    public void configureRegion(String region, int maxEntries, long maxBytes, long timeToLive, EvictionPolicy evictionPolicy) {
+        RegionConfig config = new RegionConfig(maxEntries, maxBytes, timeToLive, evictionPolicy);
+        regionConfigs.put(region, config);
+
+        Region cacheRegion = regions.get(region);
+        if(cacheRegion != null) {
+            cacheRegion.reconfigure(config);
+        }
+    }
+
+    public Object get(String region, String key) {
+        return getRegion(region).get(key);
+    }
+
+    public void put(String region, String key, Object object) {
+        if(object == null) {
+            remove(region, key);
+        }
+        else {
+            getRegion(region).put(key, object, sizeOf(key, object));
+        }
+    }
+
+    public void remove(String region, String key) {
+        Region cacheRegion = regions.get(region);
+        if(cacheRegion != null) {
+            cacheRegion.remove(key);
+        }
+    }
+
+    public void clear() {
+        for(Region cacheRegion : regions.values()) {
+            cacheRegion.clear();
+        }
+    }
+
+    /**
+     * @return counters of the given region or <code>null</code> if the region was never used
+     */
+    public CacheStats getStats(String region) {
+        Region cacheRegion = regions.get(region);
+
+        return (cacheRegion == null) ? null : cacheRegion.getStats();
+    }
+
+    public Map<String, CacheStats> getStats() {
+        Map<String, CacheStats> stats = new HashMap<String, CacheStats>();
+        for(Map.Entry<String, Region> entry : regions.entrySet()) {
+            stats.put(entry.getKey(), entry.getValue().getStats());
+        }
+
+        return stats;
+    }
+
+    protected Region getRegion(String name) {
+        Region region = regions.get(name);
+        if(region == null) {
+            RegionConfig config = regionConfigs.get(name);
+            Region newRegion = new Region(config == null ? defaultConfig : config);
+
+            region = regions.putIfAbsent(name, newRegion);
+            if(region == null) {
+                region = newRegion;
+            }
+        }
+
+        return region;
+    }
+
+    /**
+     * Estimates the retained size of a cached value in bytes, used for the max bytes limit of a region.
+     * Subclasses can override this method to provide better estimations for their own value types.
+     */
+    protected long sizeOf(String key, Object value) {
+        long size = 64L + (key == null ? 0 : 40L + 2L * key.length());
+
+        if(value instanceof String) {
+            size += 40L + 2L * ((String) value).length();
+        }
+        else if(value instanceof char[]) {
+            size += 16L + 2L * ((char[]) value).length;
+        }
+        else if(value instanceof byte[]) {
+            size += 16L + ((byte[]) value).length;
+        }
+        else if(value instanceof CharSequence) {
+            size += 40L + 2L * ((CharSequence) value).length();
+        }
+        else {
+            size += 16L;
+        }
+
+        return size;
+    }
+
+    protected static class RegionConfig {
+
+        private final int maxEntries;
+        private final long maxBytes;
+        private final long timeToLive;
+        private final EvictionPolicy evictionPolicy;
+
+        public RegionConfig(int maxEntries, long maxBytes, long timeToLive, EvictionPolicy evictionPolicy) {
+            this.maxEntries = maxEntries;
+            this.maxBytes = maxBytes;
+            this.timeToLive = timeToLive;
+            this.evictionPolicy = (evictionPolicy == null) ? EvictionPolicy.LRU : evictionPolicy;
+        }
+    }
+
+    private static class Entry {
+
+        private final String key;
+        private final Object value;
+        private final long size;
+        private final long expiresAt;
+        // counted by reads without the region lock
+        private final AtomicLong hits = new AtomicLong();
+        private volatile long lastAccess;
+        // position in the frequency order of LFU, only changed under the region lock
+        private long rankedHits;
+        private long rankedAccess;
+
+        Entry(String key, Object value, long size, long expiresAt, long sequence) {
+            this.key = key;
+            this.value = value;
+            this.size = size;
+            this.expiresAt = expiresAt;
+            this.lastAccess = sequence;
+            this.rankedAccess = sequence;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt > 0 && now >= expiresAt;
+        }
+
+        boolean isRanked() {
+            return rankedHits == hits.get() && rankedAccess == lastAccess;
+        }
+
+        void rank() {
+            rankedHits = hits.get();
+            rankedAccess = lastAccess;
+        }
+    }
+
+    private static final Comparator<Entry> FREQUENCY_COMPARATOR = new Comparator<Entry>() {
+
+        public int compare(Entry e1, Entry e2) {
+            if(e1.rankedHits != e2.rankedHits) {
+                return e1.rankedHits < e2.rankedHits ? -1 : 1;
+            }
+
+            return e1.rankedAccess < e2.rankedAccess ? -1 : (e1.rankedAccess == e2.rankedAccess ? 0 : 1);
+        }
+    };
+
+    /**
+     * A single region, writes are guarded by the region monitor so regions don't block each other.
+     * Reads only take the monitor for a bounded LRU region, as they reorder its entries. Other reads look the entry up
+     * in a concurrent index and count the hit, a LFU region ranks its entries by these counts when it evicts.
+     */
+    protected static class Region {
+
+        // access ordered, so iteration starts with the least recently used entry
+        private final LinkedHashMap<String, Entry> entries;
+        // same entries as above for reads without the lock, only modified under the lock
+        private final ConcurrentHashMap<String, Entry> index;
+        // only maintained for LFU
+        private TreeSet<Entry> frequencies;
+        private volatile RegionConfig config;
+
+        private final AtomicLong sequence = new AtomicLong();
+        private long bytes;
+
+        private final AtomicLong hitCount = new AtomicLong();
+        private final AtomicLong missCount = new AtomicLong();
+        private long putCount;
+        private long evictionCount;
+        private long expirationCount;
+
+        Region(RegionConfig config) {
+            this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+            this.index = new ConcurrentHashMap<String, Entry>();
+            this.config = config;
+            if(config.evictionPolicy == EvictionPolicy.LFU) {
+                this.frequencies = new TreeSet<Entry>(FREQUENCY_COMPARATOR);
+            }
+        }
+
+        Object get(String key) {
+            if(isAccessOrdered()) {
+                synchronized(this) {
+                    entries.get(key);
+                    return read(key);
+                }
+            }
+
+            return read(key);
+        }
+
+        private boolean isAccessOrdered() {
+            RegionConfig regionConfig = config;
+
+            return regionConfig.evictionPolicy == EvictionPolicy.LRU && (regionConfig.maxEntries > 0 || regionConfig.maxBytes > 0);
+        }
+
+        private Object read(String key) {
+            Entry entry = index.get(key);
+            if(entry == null) {
+                missCount.incrementAndGet();
+                return null;
+            }
+
+            if(entry.isExpired(System.currentTimeMillis())) {
+                expire(entry);
+                missCount.incrementAndGet();
+                return null;
+            }
+
+            entry.hits.incrementAndGet();
+            entry.lastAccess = sequence.incrementAndGet();
+            hitCount.incrementAndGet();
+
+            return entry.value;
+        }
+
+        private synchronized void expire(Entry entry) {
+            // another request might have replaced or expired the entry already
+            if(index.get(entry.key) == entry) {
+                removeEntry(entry);
+                expirationCount++;
+            }
+        }
+
+        synchronized void put(String key, Object value, long size) {
+            long expiresAt = config.timeToLive > 0 ? System.currentTimeMillis() + config.timeToLive : 0;
+            Entry entry = new Entry(key, value, size, expiresAt, sequence.incrementAndGet());
+
+            Entry previous = entries.get(key);
+            if(previous != null) {
+                removeEntry(previous);
+            }
+
+            entries.put(key, entry);
+            index.put(key, entry);
+            if(frequencies != null) {
+                frequencies.add(entry);
+            }
+            bytes += size;
+            putCount++;
+
+            evict(entry);
+        }
+
+        synchronized void remove(String key) {
+            Entry entry = entries.get(key);
+            if(entry != null) {
+                removeEntry(entry);
+            }
+        }
+
+        synchronized void clear() {
+            entries.clear();
+            index.clear();
+            if(frequencies != null) {
+                frequencies.clear();
+            }
+            bytes = 0;
+        }
+
+        synchronized void reconfigure(RegionConfig config) {
+            this.config = config;
+
+            if(config.evictionPolicy == EvictionPolicy.LFU && frequencies == null) {
+                frequencies = new TreeSet<Entry>(FREQUENCY_COMPARATOR);
+                for(Entry entry : entries.values()) {
+                    entry.rank();
+                    frequencies.add(entry);
+                }
+            }
+            else if(config.evictionPolicy != EvictionPolicy.LFU) {
+                frequencies = null;
+            }
+
+            evict(null);
+        }
+
+        synchronized CacheStats getStats() {
+            return new CacheStats(hitCount.get(), missCount.get(), putCount, evictionCount, expirationCount, entries.size(), bytes);
+        }
+
+        private void removeEntry(Entry entry) {
+            entries.remove(entry.key);
+            index.remove(entry.key);
+            if(frequencies != null) {
+                frequencies.remove(entry);
+            }
+            bytes -= entry.size;
+        }
+
+        private boolean isOverLimit() {
+            return (config.maxEntries > 0 && entries.size() > config.maxEntries)
+                    || (config.maxBytes > 0 && bytes > config.maxBytes);
+        }
+
+        /**
+         * Drops expired entries first and then evicts by policy until the region fits its limits again.
+         * The entry that was just added is only evicted if it doesn't fit into an empty region.
+         */
+        private void evict(Entry added) {
+            if(!isOverLimit()) {
+                return;
+            }
+
+            long now = System.currentTimeMillis();
+            Iterator<Entry> iterator = entries.values().iterator();
+            while(iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if(entry.isExpired(now)) {
+                    iterator.remove();
+                    index.remove(entry.key);
+                    if(frequencies != null) {
+                        frequencies.remove(entry);
+                    }
+                    bytes -= entry.size;
+                    expirationCount++;
+                }
+            }
+
+            while(isOverLimit() && !entries.isEmpty()) {
+                Entry eldest = null;
+                if(frequencies != null) {
+                    eldest = findLeastFrequentlyUsed(added);
+                }
+                else {
+                    for(Entry entry : entries.values()) {
+                        if(entry != added || entries.size() == 1) {
+                            eldest = entry;
+                            break;
+                        }
+                    }
+                }
+
+                removeEntry(eldest);
+                evictionCount++;
+            }
+        }
+
+        /**
+         * Hits only ever move an entry back in the frequency order, so the ranks are updated lazily: the first entry
+         * is moved to its current position until the first one has no hits that weren't ranked yet.
+         */
+        private Entry findLeastFrequentlyUsed(Entry added) {
+            while(true) {
+                Entry first = null;
+                for(Entry entry : frequencies) {
+                    if(entry != added || frequencies.size() == 1) {
+                        first = entry;
+                        break;
+                    }
+                }
+
+                if(first.isRanked()) {
+                    return first;
+                }
+
+                frequencies.remove(first);
+                first.rank();
+                frequencies.add(first);
+            }
+        }
+    }
+}
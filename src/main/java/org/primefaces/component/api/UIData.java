@@ -101,6 +101,8 @@ public class UIData extends javax.faces.component.UIData {
     private Map<String, Object> _rowTransientStates = new HashMap<String, Object>();
     private Object _initialDescendantFullComponentState = null;
     private Boolean isNested = null;
+    private UIComponent[] rowStateDescendants = null;
+    private UIComponent[] rowStateHolders = null;
     
     public enum PropertyKeys {
         paginator
@@ -615,19 +617,130 @@ public class UIData extends javax.faces.component.UIData {
     protected void saveDescendantState() {
         FacesContext context = getFacesContext();
         
-        if(this.getChildCount() > 0) {
+        if(rowStateDescendants == null || getRowIndex() == -1) {
+            buildRowStateIndex();
+        }
+        
+        String rowStateKey = getRowStateKey(context);
+        Map<String, SavedState[]> saved = (Map<String, SavedState[]>) getStateHelper().get(PropertyKeys.saved);
+        SavedState[] storedStates = (saved == null) ? null : saved.get(rowStateKey);
+        SavedState[] states = (storedStates != null && storedStates.length == rowStateHolders.length) ? storedStates : null;
+        boolean hasState = false;
+        
+        for(int i = 0; i < rowStateHolders.length; i++) {
+            UIComponent component = rowStateHolders[i];
+            
+            // rows without submitted, local or invalid values are restored from the default state anyway
+            if(hasDefaultState(component)) {
+                if(states != null) {
+                    states[i] = null;
+                }
+                continue;
+            }
+            
+            if(states == null) {
+                states = new SavedState[rowStateHolders.length];
+            }
+            
+            SavedState state = states[i];
+            if(state == null) {
+                state = new SavedState();
+                states[i] = state;
+            }
+            
+            if(component instanceof EditableValueHolder) {
+                EditableValueHolder input = (EditableValueHolder) component;
+                state.setValue(input.getLocalValue());
+                state.setValid(input.isValid());
+                state.setSubmittedValue(input.getSubmittedValue());
+                state.setLocalValueSet(input.isLocalValueSet());
+            }
+            else {
+                state.setSubmitted(((UIForm) component).isSubmitted());
+            }
+            
+            hasState = true;
+        }
+        
+        if(!hasState) {
+            if(storedStates != null) {
+                getStateHelper().remove(PropertyKeys.saved, rowStateKey);
+            }
+        }
+        else if(states != storedStates) {
+            getStateHelper().put(PropertyKeys.saved, rowStateKey, states);
+        }
+    }
+    
+    /**
+     * @return the key of the saved state of the current row, the states of its inputs and forms are stored in an array
+     * by their position in the flattened descendants
+     */
+    protected String getRowStateKey(FacesContext context) {
+        // the clientId of a nested iterator depends on the row of the outer iterator
+        if(isNestedWithinIterator()) {
+            return getContainerClientId(context);
+        }
+        
+        return String.valueOf(getRowIndex());
+    }
+    
+    private static boolean hasDefaultState(UIComponent component) {
+        if(component instanceof EditableValueHolder) {
+            EditableValueHolder input = (EditableValueHolder) component;
+            return input.isValid() && !input.isLocalValueSet() && input.getSubmittedValue() == null && input.getLocalValue() == null;
+        }
+        
+        return !((UIForm) component).isSubmitted();
+    }
+    
+    /**
+     * Flattens the descendants once per iteration, so changing the row doesn't need to walk the component tree.
+     */
+    protected void buildRowStateIndex() {
+        List<UIComponent> descendants = new ArrayList<UIComponent>();
+        List<UIComponent> holders = new ArrayList<UIComponent>();
+        
+        if(getChildCount() > 0) {
             for(UIComponent kid : getChildren()) {
-                saveDescendantState(kid, context);
+                collectRowStateDescendants(kid, descendants, holders);
             }
         }
         
-        if(this.getFacetCount() > 0) {
-            for(UIComponent facet : this.getFacets().values()) {
-                saveDescendantState(facet, context);
+        if(getFacetCount() > 0) {
+            for(UIComponent facet : getFacets().values()) {
+                collectRowStateDescendants(facet, descendants, holders);
             }
         }
+        
+        rowStateDescendants = descendants.toArray(new UIComponent[descendants.size()]);
+        rowStateHolders = holders.toArray(new UIComponent[holders.size()]);
     }
     
+    private void collectRowStateDescendants(UIComponent component, List<UIComponent> descendants, List<UIComponent> holders) {
+        descendants.add(component);
+        if(component instanceof EditableValueHolder || component instanceof UIForm) {
+            holders.add(component);
+        }
+        
+        if(component.getChildCount() > 0) {
+            for(UIComponent kid : component.getChildren()) {
+                collectRowStateDescendants(kid, descendants, holders);
+            }
+        }
+        
+        if(component.getFacetCount() > 0) {
+            for(UIComponent facet : component.getFacets().values()) {
+                collectRowStateDescendants(facet, descendants, holders);
+            }
+        }
+    }
+    
+    /**
+     * @deprecated Not called anymore, the state of the rows is saved by row over the flattened descendants and
+     * the state stored by clientId here isn't restored, override {@link #saveDescendantState()} instead.
+     */
+    @Deprecated
     protected void saveDescendantState(UIComponent component, FacesContext context) {
         Map<String, SavedState> saved = (Map<String, SavedState>) getStateHelper().get(PropertyKeys.saved);
         
@@ -694,20 +807,53 @@ public class UIData extends javax.faces.component.UIData {
     protected void restoreDescendantState() {
         FacesContext context = getFacesContext();
         
-        if(getChildCount() > 0) {
-            for(UIComponent kid : getChildren()) {
-                restoreDescendantState(kid, context);
-            }
+        if(rowStateDescendants == null) {
+            buildRowStateIndex();
         }
         
-        if(this.getFacetCount() > 0) {
-            for(UIComponent facet : this.getFacets().values()) {
-                restoreDescendantState(facet, context);
+        //reset the client ids, parents are reset before their children
+        for(int i = 0; i < rowStateDescendants.length; i++) {
+            UIComponent component = rowStateDescendants[i];
+            component.setId(component.getId());
+        }
+        
+        Map<String, SavedState[]> saved = (Map<String, SavedState[]>) getStateHelper().get(PropertyKeys.saved);
+        SavedState[] states = (saved == null) ? null : saved.get(getRowStateKey(context));
+        if(states != null && states.length != rowStateHolders.length) {
+            // saved for another component tree
+            states = null;
+        }
+        
+        for(int i = 0; i < rowStateHolders.length; i++) {
+            UIComponent component = rowStateHolders[i];
+            SavedState state = (states == null) ? null : states[i];
+            
+            if(component instanceof EditableValueHolder) {
+                EditableValueHolder input = (EditableValueHolder) component;
+                if(state == null) {
+                    input.setValue(null);
+                    input.setValid(true);
+                    input.setSubmittedValue(null);
+                    input.setLocalValueSet(false);
+                }
+                else {
+                    input.setValue(state.getValue());
+                    input.setValid(state.isValid());
+                    input.setSubmittedValue(state.getSubmittedValue());
+                    input.setLocalValueSet(state.isLocalValueSet());
+                }
+            }
+            else {
+                ((UIForm) component).setSubmitted(state != null && state.getSubmitted());
             }
         }
     }
 
-
+    /**
+     * @deprecated Not called anymore, the state of the rows is restored by row over the flattened descendants,
+     * override {@link #restoreDescendantState()} instead.
+     */
+    @Deprecated
     protected void restoreDescendantState(UIComponent component, FacesContext context) {
         String id = component.getId();
         component.setId(id); //reset the client id
@@ -1378,6 +1524,8 @@ public class UIData extends javax.faces.component.UIData {
     }
     
     protected void preDecode(FacesContext context) {
+        rowStateDescendants = null;
+        rowStateHolders = null;
         setDataModel(null);
         Map<String, SavedState> saved = (Map<String, SavedState>) getStateHelper().get(PropertyKeys.saved);
         if (null == saved || !keepSaved(context)) {
@@ -1386,18 +1534,24 @@ public class UIData extends javax.faces.component.UIData {
     }
     
     protected void preValidate(FacesContext context) {
+        rowStateDescendants = null;
+        rowStateHolders = null;
         if (isNestedWithinIterator()) {
             setDataModel(null);
         }
     }
 
     protected void preUpdate(FacesContext context) {
+        rowStateDescendants = null;
+        rowStateHolders = null;
         if (isNestedWithinIterator()) {
             setDataModel(null);
         }
     }
     
     protected void preEncode(FacesContext context) {
+        rowStateDescendants = null;
+        rowStateHolders = null;
         setDataModel(null);
         if (!keepSaved(context)) {
  
@@ -218,26 +218,26 @@ public abstract class UITree extends UIComponentBase implements NamingContainer
             return this.getValue();
         }
         
-		String[] paths = rowKey.split(SEPARATOR);
-		
-		if(paths.length == 0)
-			return null;
-		
-		int childIndex = Integer.parseInt(paths[0]);
-        if(childIndex >= searchRoot.getChildren().size()) 
-            return null;
+        //walk the child indexes of the row key without splitting it
+        int start = 0;
+        int length = rowKey.length();
+        while(start < length) {
+            int end = rowKey.indexOf(SEPARATOR, start);
+            if(end == -1) {
+                end = length;
+            }
+            
+            int childIndex = Integer.parseInt(rowKey.substring(start, end));
+            if(childIndex >= searchRoot.getChildren().size()) {
+                return null;
+            }
+            
+            searchRoot = searchRoot.getChildren().get(childIndex);
+            start = end + 1;
+        }
         
-		searchRoot = searchRoot.getChildren().get(childIndex);
-
-		if(paths.length == 1) {
-			return searchRoot;
-		} 
-		else {
-			String relativeRowKey = rowKey.substring(rowKey.indexOf(SEPARATOR) + 1);
-				
-			return findTreeNode(searchRoot, relativeRowKey);
-		}
-	}
+        return (start == 0) ? null : searchRoot;
+    }
         
     public void buildRowKeys(TreeNode node) {
         int childCount = node.getChildCount();
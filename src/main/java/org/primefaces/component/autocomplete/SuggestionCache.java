@@ -0,0 +1,170 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.component.autocomplete;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.primefaces.util.ConcurrentLimitedSizeHashMap;
+
+/**
+ * Server side cache of the suggestions of autoComplete components, so the complete method is not invoked again for
+ * queries that were already answered.
+ *
+ * Entries are stored per query and limit. If a match mode is given, a query is also answered from the cached result of
+ * a shorter query it starts with, by filtering the cached suggestions with {@link Narrowing}. This only works if the
+ * cached result was complete, i.e. not cut off by the limit.
+ * The suggestions are not serialized with the cache, a deserialized cache starts empty.
+ */
+public class SuggestionCache implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int maxSize;
+
+    private transient ConcurrentLimitedSizeHashMap<String, Entry> entries;
+
+    public SuggestionCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new ConcurrentLimitedSizeHashMap<String, Entry>(maxSize);
+    }
+
+    /**
+     * Filters cached suggestions of a shorter query for a longer one.
+     */
+    public interface Narrowing {
+
+        /**
+         * @return the suggestions that match the query, in the order of the given suggestions
+         */
+        List<Object> narrow(List<Object> suggestions, String query);
+    }
+
+    /**
+     * @param namespace  identifies the source of the suggestions, e.g. the complete method
+     * @param query      the query
+     * @param limit      maximum number of suggestions requested from the complete method
+     * @param minLength  minimum length of a cached query to narrow
+     * @param timeout    maximum age of an entry in milliseconds
+     * @param narrowing  to answer the query from the result of a shorter query, null to only use exact hits
+     * @return the cached suggestions or null
+     */
+    public List<Object> get(String namespace, String query, int limit, int minLength, long timeout, Narrowing narrowing) {
+        long now = System.currentTimeMillis();
+
+        Entry entry = getEntry(createKey(namespace, query, limit), now, timeout);
+        if(entry != null) {
+            return entry.suggestions;
+        }
+
+        if(narrowing != null) {
+            for(int length = query.length() - 1; length >= Math.max(minLength, 1); length--) {
+                entry = getEntry(createKey(namespace, query.substring(0, length), limit), now, timeout);
+                if(entry != null) {
+                    if(!entry.complete) {
+                        // a shorter query was cut off, so even shorter ones might be as well
+                        return null;
+                    }
+
+                    List<Object> suggestions = Collections.unmodifiableList(narrowing.narrow(entry.suggestions, query));
+                    // keep the age of the superset, its data is not fresher
+                    entries.put(createKey(namespace, query, limit), new Entry(suggestions, true, entry.created));
+
+                    return suggestions;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the cached copy of the suggestions, cut off at the limit
+     */
+    public List<Object> put(String namespace, String query, int limit, List<?> suggestions) {
+        boolean complete = suggestions.size() < limit;
+        List<?> limited = complete ? suggestions : suggestions.subList(0, limit);
+        List<Object> copy = Collections.unmodifiableList(new ArrayList<Object>(limited));
+        entries.put(createKey(namespace, query, limit), new Entry(copy, complete, System.currentTimeMillis()));
+
+        return copy;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Entry getEntry(String key, long now, long timeout) {
+        Entry entry = entries.get(key);
+        if(entry != null && now - entry.created > timeout) {
+            entries.remove(key, entry);
+            return null;
+        }
+
+        return entry;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        entries = new ConcurrentLimitedSizeHashMap<String, Entry>(maxSize);
+    }
+
+    private static String createKey(String namespace, String query, int limit) {
+        return new StringBuilder(namespace.length() + query.length() + 12)
+                .append(namespace).append('\u0000').append(limit).append('\u0000').append(query).toString();
+    }
+
+    /**
+     * @return the cache stored under the given key, created if missing
+     */
+    public static SuggestionCache get(Map<String, Object> scope, String key, int maxSize) {
+        SuggestionCache cache = (SuggestionCache) scope.get(key);
+        if(cache == null) {
+            synchronized(SuggestionCache.class) {
+                cache = (SuggestionCache) scope.get(key);
+                if(cache == null) {
+                    cache = new SuggestionCache(maxSize);
+                    scope.put(key, cache);
+                }
+            }
+        }
+
+        return cache;
+    }
+
+    private static class Entry {
+
+        private final List<Object> suggestions;
+
+        private final boolean complete;
+
+        private final long created;
+
+        Entry(List<Object> suggestions, boolean complete, long created) {
+            this.suggestions = suggestions;
+            this.complete = complete;
+            this.created = created;
+        }
+    }
+}
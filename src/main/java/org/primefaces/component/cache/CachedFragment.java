@@ -0,0 +1,74 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.component.cache;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.Writer;
+
+/**
+ * Rendered output of a {@link UICache} as stored in the {@link org.primefaces.cache.CacheProvider}.
+ * Keeps the markup as a char array, which is written to the response without any conversion.
+ */
+public class CachedFragment implements CharSequence, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final char[] content;
+    private final long createdAt;
+    private final long timeToLive;
+    private final long staleTimeToLive;
+
+    /**
+     * @param timeToLive milliseconds the fragment is fresh, 0 if it never becomes stale
+     * @param staleTimeToLive milliseconds a stale fragment can still be served while it is rendered again
+     */
+    public CachedFragment(char[] content, long createdAt, long timeToLive, long staleTimeToLive) {
+        this.content = content;
+        this.createdAt = createdAt;
+        this.timeToLive = timeToLive;
+        this.staleTimeToLive = staleTimeToLive;
+    }
+
+    public boolean isStale(long now) {
+        return timeToLive > 0 && now - createdAt >= timeToLive;
+    }
+
+    public boolean isExpired(long now) {
+        return isStale(now) && now - createdAt >= timeToLive + staleTimeToLive;
+    }
+
+    public void writeTo(Writer writer) throws IOException {
+        writer.write(content, 0, content.length);
+    }
+
+    public int length() {
+        return content.length;
+    }
+
+    public char charAt(int index) {
+        return content[index];
+    }
+
+    public CharSequence subSequence(int start, int end) {
+        return new String(content, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(content);
+    }
+}
@@ -16,16 +16,27 @@
 package org.primefaces.component.cache;
 
 import java.io.IOException;
-import java.io.StringWriter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import javax.faces.component.UIComponent;
 import javax.faces.context.FacesContext;
 import javax.faces.context.ResponseWriter;
 import org.primefaces.cache.CacheProvider;
 import org.primefaces.context.RequestContext;
 import org.primefaces.renderkit.CoreRenderer;
+import org.primefaces.util.FastStringWriter;
 
 public class UICacheRenderer extends CoreRenderer {
     
+    /**
+     * Milliseconds a request waits for another request rendering the same fragment, before rendering it itself.
+     */
+    protected static final long RENDER_WAIT_TIMEOUT = 10000L;
+    
+    private final ConcurrentMap<String, CountDownLatch> renderingFragments = new ConcurrentHashMap<String, CountDownLatch>();
+    
     @Override
     public void encodeChildren(FacesContext context, UIComponent component) throws IOException {
         UICache uiCache = (UICache) component;
@@ -44,27 +55,109 @@ public class UICacheRenderer extends CoreRenderer {
                 region = context.getViewRoot().getViewId();
             }
             
-            String output = (String) cacheProvider.get(region, key);
-            if(output == null) {
-                StringWriter stringWriter = new StringWriter();
-                ResponseWriter clonedWriter = writer.cloneWithWriter(stringWriter);
-                context.setResponseWriter(clonedWriter);
-                renderChildren(context, uiCache);
-                
-                output = stringWriter.getBuffer().toString();
-                cacheProvider.put(region, key, output);
-                context.setResponseWriter(writer);
+            String fragmentKey = region + '\u0000' + key;
+            Object output = getCachedOutput(cacheProvider, region, key);
+            
+            if(output instanceof CachedFragment && ((CachedFragment) output).isStale(System.currentTimeMillis())) {
+                // stale while revalidate, only a single request renders the fragment again
+                CountDownLatch latch = new CountDownLatch(1);
+                if(renderingFragments.putIfAbsent(fragmentKey, latch) == null) {
+                    output = renderAndCache(context, uiCache, cacheProvider, region, key, fragmentKey, latch);
+                }
+            }
+            
+            while(output == null) {
+                CountDownLatch latch = new CountDownLatch(1);
+                CountDownLatch rendering = renderingFragments.putIfAbsent(fragmentKey, latch);
                 
-                uiCache.setCacheSetInCurrentRequest(true);
+                if(rendering == null) {
+                    output = renderAndCache(context, uiCache, cacheProvider, region, key, fragmentKey, latch);
+                }
+                else if(awaitRendering(rendering)) {
+                    output = getCachedOutput(cacheProvider, region, key);
+                }
+                else {
+                    output = render(context, uiCache);
+                }
             }
             
-            writer.write(output);
+            if(output instanceof CachedFragment) {
+                ((CachedFragment) output).writeTo(writer);
+            }
+            else {
+                writer.write(output.toString());
+            }
         }
         else {
             renderChildren(context, uiCache);
         }
     }
     
+    /**
+     * @return the cached output or <code>null</code> if there is none or it is expired
+     */
+    protected Object getCachedOutput(CacheProvider cacheProvider, String region, String key) {
+        Object output = cacheProvider.get(region, key);
+        
+        if(output instanceof CachedFragment && ((CachedFragment) output).isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        
+        return output;
+    }
+    
+    protected CachedFragment renderAndCache(FacesContext context, UICache uiCache, CacheProvider cacheProvider, String region, String key,
+            String fragmentKey, CountDownLatch latch) throws IOException {
+        try {
+            CachedFragment output = render(context, uiCache);
+            cacheProvider.put(region, key, output);
+            
+            return output;
+        }
+        finally {
+            renderingFragments.remove(fragmentKey, latch);
+            latch.countDown();
+        }
+    }
+    
+    protected CachedFragment render(FacesContext context, UICache uiCache) throws IOException {
+        ResponseWriter writer = context.getResponseWriter();
+        FastStringWriter stringWriter = new FastStringWriter();
+        context.setResponseWriter(writer.cloneWithWriter(stringWriter));
+        
+        try {
+            renderChildren(context, uiCache);
+        }
+        finally {
+            context.setResponseWriter(writer);
+        }
+        
+        uiCache.setCacheSetInCurrentRequest(true);
+        
+        StringBuilder buffer = stringWriter.getBuffer();
+        char[] content = new char[buffer.length()];
+        buffer.getChars(0, content.length, content, 0);
+        
+        return new CachedFragment(content, System.currentTimeMillis(), uiCache.getTimeToLive() * 1000L, uiCache.getStaleTimeToLive() * 1000L);
+    }
+    
+    /**
+     * @return milliseconds a request waits for another request rendering the same fragment
+     */
+    protected long getRenderWaitTimeout() {
+        return RENDER_WAIT_TIMEOUT;
+    }
+    
+    private boolean awaitRendering(CountDownLatch latch) {
+        try {
+            return latch.await(getRenderWaitTimeout(), TimeUnit.MILLISECONDS);
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
     @Override
     public boolean getRendersChildren() {
         return true;
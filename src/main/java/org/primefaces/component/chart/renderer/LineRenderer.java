@@ -16,6 +16,7 @@
 package org.primefaces.component.chart.renderer;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.util.Iterator;
 import javax.faces.context.FacesContext;
 import javax.faces.context.ResponseWriter;
@@ -23,9 +24,16 @@ import org.primefaces.component.chart.Chart;
 import org.primefaces.model.chart.CartesianChartModel;
 import org.primefaces.model.chart.ChartSeries;
 import org.primefaces.model.chart.LineChartModel;
+import org.primefaces.model.chart.NumericLineChartSeries;
 import org.primefaces.util.ComponentUtils;
 
 public class LineRenderer extends CartesianPlotRenderer {
+    
+    private static final int NUMBER_BUFFER_SIZE = 8192;
+    
+    private static final int MAX_POINT_LENGTH = 64;
+    
+    private static final long MAX_EXACT_LONG = 1L << 53;
 
     @Override
     protected void encodeData(FacesContext context, Chart chart) throws IOException {
@@ -36,6 +44,15 @@ public class LineRenderer extends CartesianPlotRenderer {
         for(Iterator<ChartSeries> it = model.getSeries().iterator(); it.hasNext();) {
             ChartSeries series = it.next();
 
+            if(series instanceof NumericLineChartSeries) {
+                encodeNumericSeries(writer, (NumericLineChartSeries) series);
+                
+                if(it.hasNext()) {
+                    writer.write(",");
+                }
+                continue;
+            }
+
             writer.write("[");
             for(Iterator<Object> x = series.getData().keySet().iterator(); x.hasNext();) {
                 Object xValue = x.next();
@@ -44,10 +61,17 @@ public class LineRenderer extends CartesianPlotRenderer {
 
                 writer.write("[");
                 
-                if(xValue instanceof String)
-                    writer.write("\"" + ComponentUtils.escapeText(xValue.toString()) + "\"," + yValueAsString);
-                else
-                    writer.write(xValue + "," + yValueAsString);
+                if(xValue instanceof String) {
+                    writer.write("\"");
+                    writer.write(ComponentUtils.escapeText(xValue.toString()));
+                    writer.write("\"");
+                }
+                else {
+                    writer.write(String.valueOf(xValue));
+                }
+                
+                writer.write(",");
+                writer.write(yValueAsString);
                 
                 writer.write("]");
 
@@ -64,6 +88,80 @@ public class LineRenderer extends CartesianPlotRenderer {
         writer.write("]");
     }
     
+    /**
+     * Writes the points through a char buffer, so no String is created per point.
+     */
+    protected void encodeNumericSeries(Writer writer, NumericLineChartSeries series) throws IOException {
+        int[] indexes = series.getSampledIndexes();
+        int count = (indexes == null) ? series.getSize() : indexes.length;
+        char[] buffer = new char[NUMBER_BUFFER_SIZE];
+        int position = 0;
+        
+        buffer[position++] = '[';
+        for(int i = 0; i < count; i++) {
+            int index = (indexes == null) ? i : indexes[i];
+            
+            if(position > NUMBER_BUFFER_SIZE - MAX_POINT_LENGTH) {
+                writer.write(buffer, 0, position);
+                position = 0;
+            }
+            
+            if(i > 0) {
+                buffer[position++] = ',';
+            }
+            buffer[position++] = '[';
+            position = appendNumber(buffer, position, series.getX(index));
+            buffer[position++] = ',';
+            position = appendNumber(buffer, position, series.getY(index));
+            buffer[position++] = ']';
+        }
+        buffer[position++] = ']';
+        
+        writer.write(buffer, 0, position);
+    }
+    
+    /**
+     * Integral values are written digit by digit, NaN and infinite values as null.
+     */
+    protected static int appendNumber(char[] buffer, int position, double value) {
+        if(Double.isNaN(value) || Double.isInfinite(value)) {
+            buffer[position++] = 'n';
+            buffer[position++] = 'u';
+            buffer[position++] = 'l';
+            buffer[position++] = 'l';
+            return position;
+        }
+        
+        // checked before the cast, as Math.abs of the cast Long.MIN_VALUE is negative
+        if(Math.abs(value) > MAX_EXACT_LONG || (long) value != value) {
+            String text = Double.toString(value);
+            text.getChars(0, text.length(), buffer, position);
+            return position + text.length();
+        }
+        
+        long longValue = (long) value;
+        if(longValue < 0) {
+            buffer[position++] = '-';
+            longValue = -longValue;
+        }
+        
+        int start = position;
+        do {
+            buffer[position++] = (char) ('0' + (longValue % 10));
+            longValue /= 10;
+        } 
+        while(longValue > 0);
+        
+        // digits were written in reverse order
+        for(int i = start, j = position - 1; i < j; i++, j--) {
+            char c = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = c;
+        }
+        
+        return position;
+    }
+    
     @Override
     protected void encodeOptions(FacesContext context, Chart chart) throws IOException {
         super.encodeOptions(context, chart);
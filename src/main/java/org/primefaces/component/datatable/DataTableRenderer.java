@@ -1140,7 +1140,7 @@ public class DataTableRenderer extends DataRenderer {
         }
 
         //Preselection
-        boolean selected = table.getSelectedRowKeys().contains(rowKey);
+        boolean selected = table.isSelectedRowKey(rowKey);
 
         String userRowStyleClass = table.getRowStyleClass();
         String rowStyleClass = rowIndex % 2 == 0 ? DataTable.ROW_CLASS + " " + DataTable.EVEN_ROW_CLASS : DataTable.ROW_CLASS + " " + DataTable.ODD_ROW_CLASS;
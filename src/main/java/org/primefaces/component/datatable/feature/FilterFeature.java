@@ -28,6 +28,7 @@ import javax.faces.component.UIComponent;
 import javax.faces.component.UINamingContainer;
 import javax.faces.component.ValueHolder;
 import javax.faces.context.FacesContext;
+import javax.faces.model.DataModel;
 import org.primefaces.component.api.DynamicColumn;
 import org.primefaces.component.column.Column;
 import org.primefaces.component.columngroup.ColumnGroup;
@@ -38,6 +39,7 @@ import org.primefaces.component.datatable.FilterState;
 import org.primefaces.component.datatable.TableState;
 import org.primefaces.component.row.Row;
 import org.primefaces.context.RequestContext;
+import org.primefaces.el.PropertyPathAccessor;
 import org.primefaces.event.data.PostFilterEvent;
 import org.primefaces.model.FilterMeta;
 import org.primefaces.model.filter.*;
@@ -160,38 +162,123 @@ public class FilterFeature implements DataTableFeature {
     }
     
     public void filter(FacesContext context, DataTable table, List<FilterMeta> filterMetadata, String globalFilterValue) {
-        List filteredData = new ArrayList();
         Locale filterLocale = table.resolveDataLocale();
         boolean hasGlobalFilter = globalFilterValue != null && globalFilterValue.trim().length() > 0;
         GlobalFilterConstraint globalFilterConstraint = (GlobalFilterConstraint) FILTER_CONSTRAINTS.get(GLOBAL_MODE);
+        FilterMatcher globalMatcher = hasGlobalFilter ? globalFilterConstraint.compile(globalFilterValue, filterLocale) : null;
+        
+        //normalize filter values and resolve accessors once per request instead of once per row
+        String var = table.getVar();
+        List<ColumnFilter> columnFilters = new ArrayList<ColumnFilter>(filterMetadata.size());
+        boolean rowIndexRequired = false;
+        for(FilterMeta filterMeta : filterMetadata) {
+            ColumnFilter columnFilter = new ColumnFilter(filterMeta, this.getFilterConstraint(filterMeta.getColumn()), filterLocale, var);
+            columnFilters.add(columnFilter);
+            
+            if(columnFilter.accessor == null || columnFilter.filterFunction != null) {
+                rowIndexRequired = true;
+            }
+        }
+        
+        List filteredData = null;
+        if(!rowIndexRequired) {
+            filteredData = filterData(table, columnFilters, globalMatcher);
+        }
+        
+        if(filteredData == null) {
+            filteredData = filterRows(context, table, columnFilters, globalMatcher, filterLocale);
+        }
+
+        //Metadata for callback
+        if(table.isPaginator()) {
+            RequestContext requestContext = RequestContext.getCurrentInstance();
+
+            if(requestContext != null) {
+                requestContext.addCallbackParam("totalRecords", filteredData.size());
+            }
+        }
+
+        //save filtered data
+        table.updateFilteredValue(context, filteredData);
+        
+        //update value
+        table.updateValue(table.getFilteredValue());
+
+        table.setRowIndex(-1);  //reset datamodel
+    }
+        
+    /**
+     * Filters the wrapped list directly without changing the row index of the table,
+     * only possible if every filterBy is a plain property path of the table var.
+     * 
+     * @return the filtered data or <code>null</code> if the data can't be filtered without evaluating expressions
+     */
+    private List filterData(DataTable table, List<ColumnFilter> columnFilters, FilterMatcher globalMatcher) {
+        Object value = table.getValue();
+        if(value instanceof DataModel) {
+            value = ((DataModel) value).getWrappedData();
+        }
+        
+        if(!(value instanceof List)) {
+            return null;
+        }
+        
+        List data = (List) value;
+        List filteredData = new ArrayList();
+        int filterCount = columnFilters.size();
+        
+        for(int i = 0; i < data.size(); i++) {
+            Object rowData = data.get(i);
+            boolean localMatch = true;
+            boolean globalMatch = false;
+
+            for(int j = 0; j < filterCount; j++) {
+                ColumnFilter columnFilter = columnFilters.get(j);
+                Object columnValue = columnFilter.accessor.getValue(rowData);
+                if(columnValue == PropertyPathAccessor.UNRESOLVABLE) {
+                    return null;
+                }
+
+                if(globalMatcher != null && !globalMatch) {
+                    globalMatch = globalMatcher.matches(columnValue);
+                }
+
+                if(!columnFilter.matcher.matches(columnValue)) {
+                    localMatch = false;
+                    break;
+                }
+            }
+
+            if(localMatch && (globalMatcher == null || globalMatch)) {
+                filteredData.add(rowData);
+            }
+        }
+        
+        return filteredData;
+    }
+    
+    private List filterRows(FacesContext context, DataTable table, List<ColumnFilter> columnFilters, FilterMatcher globalMatcher, Locale filterLocale) {
+        List filteredData = new ArrayList();
         ELContext elContext = context.getELContext();
+        int filterCount = columnFilters.size();
         
         for(int i = 0; i < table.getRowCount(); i++) {
             table.setRowIndex(i);
             boolean localMatch = true;
             boolean globalMatch = false;
 
-            for(FilterMeta filterMeta : filterMetadata) {
-                Object filterValue = filterMeta.getFilterValue();
-                UIColumn column = filterMeta.getColumn();
-                MethodExpression filterFunction = column.getFilterFunction();
-                ValueExpression filterByVE = filterMeta.getFilterByVE();
-                
-                if(column instanceof DynamicColumn) {
-                    ((DynamicColumn) column).applyStatelessModel();
-                }
-                
-                Object columnValue = filterByVE.getValue(elContext);
-                FilterConstraint filterConstraint = this.getFilterConstraint(column);
+            for(int j = 0; j < filterCount; j++) {
+                ColumnFilter columnFilter = columnFilters.get(j);
+                Object columnValue = columnFilter.getValue(table, elContext);
 
-                if(hasGlobalFilter && !globalMatch) {
-                    globalMatch = globalFilterConstraint.applies(columnValue, globalFilterValue, filterLocale);
+                if(globalMatcher != null && !globalMatch) {
+                    globalMatch = globalMatcher.matches(columnValue);
                 }
 
-                if(filterFunction != null) {
-                    localMatch = (Boolean) filterFunction.invoke(elContext, new Object[]{columnValue, filterValue, filterLocale});
+                if(columnFilter.filterFunction != null) {
+                    localMatch = (Boolean) columnFilter.filterFunction.invoke(elContext, new Object[]{columnValue, columnFilter.filterValue, filterLocale});
                 }
-                else if(!filterConstraint.applies(columnValue, filterValue, filterLocale)) {
+                else if(!columnFilter.matcher.matches(columnValue)) {
                     localMatch = false;
                 }
                 
@@ -200,34 +287,14 @@ public class FilterFeature implements DataTableFeature {
                 }
             }
 
-            boolean matches = localMatch;
-            if(hasGlobalFilter) {
-                matches = localMatch && globalMatch;
-            }
-
-            if(matches) {
+            if(localMatch && (globalMatcher == null || globalMatch)) {
                 filteredData.add(table.getRowData());
             }
         }
-
-        //Metadata for callback
-        if(table.isPaginator()) {
-            RequestContext requestContext = RequestContext.getCurrentInstance();
-
-            if(requestContext != null) {
-                requestContext.addCallbackParam("totalRecords", filteredData.size());
-            }
-        }
-
-        //save filtered data
-        table.updateFilteredValue(context, filteredData);
         
-        //update value
-        table.updateValue(table.getFilteredValue());
-
-        table.setRowIndex(-1);  //reset datamodel
+        return filteredData;
     }
-        
+    
     private Map<String,Object> populateFilterParameterMap(FacesContext context, DataTable table, List<FilterMeta> filterMetadata, String globalFilterParam) {
         Map<String,String> params = context.getExternalContext().getRequestParameterMap(); 
         Map<String,Object> filterParameterMap = new HashMap<String, Object>();
@@ -435,4 +502,53 @@ public class FilterFeature implements DataTableFeature {
         return filterConstraint;
     }
 
-}
\ No newline at end of file
+    /**
+     * Filter of a single column, prepared once per filter request.
+     */
+    private static class ColumnFilter {
+        
+        private final UIColumn column;
+        private final ValueExpression filterByVE;
+        private final Object filterValue;
+        private final MethodExpression filterFunction;
+        private final FilterMatcher matcher;
+        private final PropertyPathAccessor accessor;
+        
+        ColumnFilter(FilterMeta filterMeta, FilterConstraint filterConstraint, final Locale locale, String var) {
+            this.column = filterMeta.getColumn();
+            this.filterByVE = filterMeta.getFilterByVE();
+            this.filterValue = filterMeta.getFilterValue();
+            this.filterFunction = column.getFilterFunction();
+            
+            if(filterConstraint instanceof CompilableFilterConstraint) {
+                this.matcher = ((CompilableFilterConstraint) filterConstraint).compile(filterValue, locale);
+            }
+            else {
+                final FilterConstraint constraint = filterConstraint;
+                this.matcher = new FilterMatcher() {
+                    
+                    public boolean matches(Object value) {
+                        return constraint.applies(value, filterValue, locale);
+                    }
+                };
+            }
+            
+            this.accessor = PropertyPathAccessor.compile(filterByVE, var);
+        }
+        
+        Object getValue(DataTable table, ELContext elContext) {
+            if(accessor != null) {
+                Object value = accessor.getValue(table.getRowData());
+                if(value != PropertyPathAccessor.UNRESOLVABLE) {
+                    return value;
+                }
+            }
+            
+            if(column instanceof DynamicColumn) {
+                ((DynamicColumn) column).applyStatelessModel();
+            }
+            
+            return filterByVE.getValue(elContext);
+        }
+    }
+}
@@ -17,7 +17,6 @@ package org.primefaces.component.datatable.feature;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -185,7 +184,8 @@ public class SortFeature implements DataTableFeature {
         else
             throw new FacesException("Data type should be java.util.List or javax.faces.model.ListDataModel instance to be sortable.");
         
-        Collections.sort(list, new BeanPropertyComparator(sortVE, table.getVar(), sortOrder, sortFunction, table.isCaseSensitiveSort(), table.resolveDataLocale(), table.getNullSortOrder()));
+        BeanPropertyComparator comparator = new BeanPropertyComparator(sortVE, table.getVar(), sortOrder, sortFunction, table.isCaseSensitiveSort(), table.resolveDataLocale(), table.getNullSortOrder());
+        comparator.sort(list);
     
         context.getApplication().publishEvent(context, PostSortEvent.class, table);
     }
@@ -226,7 +226,7 @@ public class SortFeature implements DataTableFeature {
             chainedComparator.addComparator(comparator);
         }
         
-        Collections.sort(list, chainedComparator);
+        chainedComparator.sort(list);
         
         context.getApplication().publishEvent(context, PostSortEvent.class, table);
     }
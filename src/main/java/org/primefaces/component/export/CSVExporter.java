@@ -15,14 +15,17 @@
  */
 package org.primefaces.component.export;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Writer;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 
 import javax.el.MethodExpression;
 import javax.faces.FacesException;
 import javax.faces.component.UIComponent;
+import javax.faces.component.visit.VisitContext;
 import javax.faces.context.ExternalContext;
 import javax.faces.context.FacesContext;
 import org.primefaces.component.api.DynamicColumn;
@@ -31,112 +34,160 @@ import org.primefaces.component.api.UIColumn;
 import org.primefaces.component.datatable.DataTable;
 import org.primefaces.util.Constants;
 
-public class CSVExporter extends Exporter {
+public class CSVExporter extends PrefetchingExporter {
+
+    protected static final int BUFFER_SIZE = 64 * 1024;
+
+    private List<UIColumn> exportableColumns;
 
     @Override
 	public void export(FacesContext context, DataTable table, String filename, boolean pageOnly, boolean selectionOnly, String encodingType, MethodExpression preProcessor, MethodExpression postProcessor, ExporterOptions options) throws IOException {
 		ExternalContext externalContext = context.getExternalContext();
         configureResponse(externalContext, filename, encodingType);
-        Writer writer = externalContext.getResponseOutputWriter();
-    	
-    	addColumnFacets(writer, table, ColumnType.HEADER);
+        PrintWriter writer = createWriter(externalContext);
     	
-        if (pageOnly) {
-            exportPageOnly(context, table, writer);
-        }
-        else if (selectionOnly) {
-            exportSelectionOnly(context, table, writer);
-        }
-        else {
-            exportAll(context, table, writer);
-        }
-        
-        if (table.hasFooterColumn()) {
-            addColumnFacets(writer, table, ColumnType.FOOTER);
-        }
+        exportTable(context, table, writer, pageOnly, selectionOnly);
             	        
         writer.flush();
         writer.close();
 	}
     
     @Override
-    public void export(FacesContext facesContext, List<String> clientIds, String outputFileName, boolean pageOnly, boolean selectionOnly, String encodingType, MethodExpression preProcessor, MethodExpression postProcessor, ExporterOptions options) throws IOException {
-        throw new UnsupportedOperationException("Not supported yet.");
+    public void export(FacesContext context, List<String> clientIds, String outputFileName, boolean pageOnly, boolean selectionOnly, String encodingType, MethodExpression preProcessor, MethodExpression postProcessor, ExporterOptions options) throws IOException {
+        ExternalContext externalContext = context.getExternalContext();
+        configureResponse(externalContext, outputFileName, encodingType);
+        PrintWriter writer = createWriter(externalContext);
+        
+        ExecutorService executor = getExportExecutor(context);
+        if(executor != null && clientIds.size() > 1) {
+            VisitContext prefetchContext = VisitContext.createVisitContext(context, clientIds, null);
+            context.getViewRoot().visitTree(prefetchContext, new PrefetchExportVisitCallback(this, executor, pageOnly, selectionOnly));
+        }
+        
+        VisitContext visitContext = VisitContext.createVisitContext(context, clientIds, null);
+        context.getViewRoot().visitTree(visitContext, new CSVExportVisitCallback(this, writer, pageOnly, selectionOnly));
+        
+        writer.flush();
+        writer.close();
     }
     
     @Override
-    public void export(FacesContext facesContext, String outputFileName, List<DataTable> tables, boolean pageOnly, boolean selectionOnly, String encodingType, MethodExpression preProcessor, MethodExpression postProcessor, ExporterOptions options) throws IOException {
-        throw new UnsupportedOperationException("Not supported yet.");
+    public void export(FacesContext context, String outputFileName, List<DataTable> tables, boolean pageOnly, boolean selectionOnly, String encodingType, MethodExpression preProcessor, MethodExpression postProcessor, ExporterOptions options) throws IOException {
+        ExternalContext externalContext = context.getExternalContext();
+        configureResponse(externalContext, outputFileName, encodingType);
+        PrintWriter writer = createWriter(externalContext);
+        
+        ExecutorService executor = getExportExecutor(context);
+        if(executor != null && tables.size() > 1) {
+            for(int i = 0; i < tables.size(); i++) {
+                prefetchCells(context, tables.get(i), pageOnly, selectionOnly, executor);
+            }
+        }
+        
+        for(int i = 0; i < tables.size(); i++) {
+            exportTable(context, tables.get(i), writer, pageOnly, selectionOnly);
+        }
+        
+        writer.flush();
+        writer.close();
+    }
+    
+    /**
+     * Exports the header, the rows and the footer of a table. Tables exported to the same writer are separated by a blank line,
+     * prefetched tables have to be exported in the order they were prefetched.
+     */
+    protected void exportTable(FacesContext context, DataTable table, PrintWriter writer, boolean pageOnly, boolean selectionOnly) throws IOException {
+        if(exportableColumns != null) {
+            writer.write('\n');
+        }
+        
+        exportableColumns = getExportableColumns(table);
+        
+        addColumnFacets(writer, table, ColumnType.HEADER);
+    	
+        if (!exportPrefetchedCells(context, table, writer)) {
+            if (pageOnly) {
+                exportPageOnly(context, table, writer);
+            }
+            else if (selectionOnly) {
+                exportSelectionOnly(context, table, writer);
+            }
+            else {
+                exportAll(context, table, writer);
+            }
+        }
+        
+        if (table.hasFooterColumn()) {
+            addColumnFacets(writer, table, ColumnType.FOOTER);
+        }
+    }
+    
+    protected PrintWriter createWriter(ExternalContext externalContext) throws IOException {
+        return new PrintWriter(new BufferedWriter(externalContext.getResponseOutputWriter(), BUFFER_SIZE));
     }
     
     protected void addColumnFacets(Writer writer, DataTable table, ColumnType columnType) throws IOException {
-        boolean firstCellWritten = false;
+        List<UIColumn> columns = (exportableColumns == null) ? getExportableColumns(table) : exportableColumns;
         
-        for (UIColumn col : table.getColumns()) {
+        for (int i = 0; i < columns.size(); i++) {
+            UIColumn col = columns.get(i);
             if (col instanceof DynamicColumn) {
                 ((DynamicColumn) col).applyStatelessModel();
             }
             
-            if (col.isRendered() && col.isExportable()) {
-                if (firstCellWritten) {
-                    writer.write(",");
-                }
-                
-                UIComponent facet = col.getFacet(columnType.facet());
-                if(facet != null) {
-                    addColumnValue(writer, facet);
-                }
-                else {
-                    String textValue;
-                    switch(columnType) {
-                        case HEADER:
-                            textValue = col.getHeaderText();
-                        break;
-                            
-                        case FOOTER:
-                            textValue = col.getFooterText();
-                        break;
-                            
-                        default:
-                            textValue = "";
-                        break;
-                    }
-                    
-                    addColumnValue(writer, textValue);
+            if (i > 0) {
+                writer.write(',');
+            }
 
+            UIComponent facet = col.getFacet(columnType.facet());
+            if(facet != null) {
+                addColumnValue(writer, facet);
+            }
+            else {
+                String textValue;
+                switch(columnType) {
+                    case HEADER:
+                        textValue = col.getHeaderText();
+                    break;
+
+                    case FOOTER:
+                        textValue = col.getFooterText();
+                    break;
+
+                    default:
+                        textValue = "";
+                    break;
                 }
-                
-                firstCellWritten = true;
+
+                addColumnValue(writer, textValue);
             }
         }
 	
-		writer.write("\n");
+		writer.write('\n');
     }
     
     @Override
     protected void exportCells(DataTable table, Object document) {
         PrintWriter writer = (PrintWriter) document;
-        boolean firstCellWritten = false;
+        List<UIColumn> columns = (exportableColumns == null) ? getExportableColumns(table) : exportableColumns;
         
-        for (UIColumn col : table.getColumns()) {
-            if (col instanceof DynamicColumn) {
-                ((DynamicColumn) col).applyStatelessModel();
-            }
-            
-            if (col.isRendered() && col.isExportable()) {
-                if (firstCellWritten) {
-                    writer.write(",");
+        try {
+            for (int i = 0; i < columns.size(); i++) {
+                UIColumn col = columns.get(i);
+                if (col instanceof DynamicColumn) {
+                    ((DynamicColumn) col).applyStatelessModel();
                 }
-                
-                try {
-                    addColumnValue(writer, col.getChildren(), col);
-                } catch (IOException ex) {
-                    throw new FacesException(ex);
+
+                if (i > 0) {
+                    writer.write(',');
                 }
-                
-                firstCellWritten = true;
+
+                addColumnValue(writer, col.getChildren(), col);
             }
         }
+        catch (IOException ex) {
+            throw new FacesException(ex);
+        }
     }
     
     protected void configureResponse(ExternalContext externalContext, String filename, String encodingType) {
@@ -165,41 +216,79 @@ public class CSVExporter extends Exporter {
 	}
     
     protected void addColumnValue(Writer writer, String value) throws IOException {        
-         value = (value == null) ? "" : value.replaceAll("\"", "\"\"");
-        
-        writer.write("\"" + value + "\"");
+        writer.write('"');
+        writeEscaped(writer, value);
+        writer.write('"');
 	}
 	
 	protected void addColumnValue(Writer writer, List<UIComponent> components, UIColumn column) throws IOException {
         FacesContext context = FacesContext.getCurrentInstance();
         
-        writer.write("\"");
+        writer.write('"');
         
         if(column.getExportFunction() != null) {
-            String value = exportColumnByFunction(context, column);
-            //escape double quotes
-            value = value == null ? "" : value.replaceAll("\"", "\"\"");
-
-            writer.write(value);
+            writeEscaped(writer, exportColumnByFunction(context, column));
         }
         else {
-            for (UIComponent component : components) {
+            for (int i = 0; i < components.size(); i++) {
+                UIComponent component = components.get(i);
                 if (component.isRendered()) {
-                    String value = exportValue(context, component);
+                    writeEscaped(writer, exportValue(context, component));
+                }
+            }
+        }
 
-                    //escape double quotes
-                    value = value == null ? "" : value.replaceAll("\"", "\"\"");
+		writer.write('"');
+	}
 
-                    writer.write(value);
+    @Override
+    protected void exportCellValues(DataTable table, Object document, List<UIColumn> columns, String[] values) {
+        PrintWriter writer = (PrintWriter) document;
+        
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
                 }
+
+                addColumnValue(writer, values[i]);
             }
         }
+        catch (IOException ex) {
+            throw new FacesException(ex);
+        }
+    }
 
-		writer.write("\"");
-	}
+    /**
+     * Writes the value with double quotes escaped, the value is scanned once and written in segments.
+     */
+    protected static void writeEscaped(Writer writer, String value) throws IOException {
+        if(value == null) {
+            return;
+        }
+        
+        int start = 0;
+        int length = value.length();
+        for(int i = 0; i < length; i++) {
+            if(value.charAt(i) == '"') {
+                writer.write(value, start, i - start + 1);
+                writer.write('"');
+                start = i + 1;
+            }
+        }
+        
+        if(start < length) {
+            writer.write(value, start, length - start);
+        }
+    }
 
     @Override
     protected void postRowExport(DataTable table, Object document) {
-        ((PrintWriter) document).write("\n");
+        ((PrintWriter) document).write('\n');
+    }
+
+    @Override
+    protected void postChunkExport(DataTable table, Object document) {
+        ((PrintWriter) document).flush();
     }
 }
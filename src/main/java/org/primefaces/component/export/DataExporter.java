@@ -60,6 +60,8 @@ public class DataExporter implements ActionListener, StateHolder {
 
     private ValueExpression options;
 
+    private ValueExpression lazyChunkSize;
+
 	public DataExporter() {}
 
 	public DataExporter(ValueExpression target, ValueExpression type, ValueExpression fileName, ValueExpression pageOnly, ValueExpression selectionOnly, ValueExpression encoding, MethodExpression preProcessor, MethodExpression postProcessor, ValueExpression options) {
@@ -115,8 +117,17 @@ public class DataExporter implements ActionListener, StateHolder {
             exporterOptions = (ExporterOptions) options.getValue(elContext);
         }
 
+        int chunkSize = 0;
+        if(lazyChunkSize != null) {
+            Object chunkSizeValue = lazyChunkSize.getValue(elContext);
+            if(chunkSizeValue != null) {
+                chunkSize = (chunkSizeValue instanceof Number) ? ((Number) chunkSizeValue).intValue() : Integer.parseInt(chunkSizeValue.toString());
+            }
+        }
+
 		try {
 			Exporter exporter = ExporterFactory.getExporterForType(exportAs);
+            exporter.setLazyChunkSize(chunkSize);
 
             if(!repeating) {
                 List components = SearchExpressionFacade.resolveComponents(context, event.getComponent(), tables);
@@ -158,6 +169,10 @@ public class DataExporter implements ActionListener, StateHolder {
         this.repeat = ve;
     }
 
+    public void setLazyChunkSize(ValueExpression ve) {
+        this.lazyChunkSize = ve;
+    }
+
 	 public void restoreState(FacesContext context, Object state) {
 		Object values[] = (Object[]) state;
 
@@ -171,10 +186,12 @@ public class DataExporter implements ActionListener, StateHolder {
 		encoding = (ValueExpression) values[7];
         repeat = (ValueExpression) values[8];
         options = (ValueExpression) values[9];
+        // state saved before lazyChunkSize was added has no slot for it
+        lazyChunkSize = (values.length > 10) ? (ValueExpression) values[10] : null;
 	}
 
 	public Object saveState(FacesContext context) {
-		Object values[] = new Object[10];
+		Object values[] = new Object[11];
 
 		values[0] = target;
 		values[1] = type;
@@ -186,6 +203,7 @@ public class DataExporter implements ActionListener, StateHolder {
 		values[7] = encoding;
         values[8] = repeat;
         values[9] = options;
+        values[10] = lazyChunkSize;
 
 		return ((Object[]) values);
 	}
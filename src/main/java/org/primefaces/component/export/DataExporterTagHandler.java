@@ -42,6 +42,7 @@ public class DataExporterTagHandler extends TagHandler {
 	private final TagAttribute encoding;
     private final TagAttribute repeat;
     private final TagAttribute options;
+    private final TagAttribute lazyChunkSize;
 
 	public DataExporterTagHandler(TagConfig tagConfig) {
 		super(tagConfig);
@@ -55,6 +56,7 @@ public class DataExporterTagHandler extends TagHandler {
 		this.postProcessor = getAttribute("postProcessor");
         this.repeat = getAttribute("repeat");
         this.options = getAttribute("options");
+        this.lazyChunkSize = getAttribute("lazyChunkSize");
 	}
 
 	public void apply(FaceletContext faceletContext, UIComponent parent) throws IOException, FacesException, FaceletException, ELException {
@@ -69,6 +71,7 @@ public class DataExporterTagHandler extends TagHandler {
 			MethodExpression postProcessorME = null;
             ValueExpression repeatVE = null;
             ValueExpression optionsVE = null;
+            ValueExpression lazyChunkSizeVE = null;
 			
 			if(encoding != null) {
 				encodingVE = encoding.getValueExpression(faceletContext, Object.class);
@@ -91,10 +94,14 @@ public class DataExporterTagHandler extends TagHandler {
 			if(options != null) {
 				optionsVE = options.getValueExpression(faceletContext, Object.class);
 			}
+			if(lazyChunkSize != null) {
+				lazyChunkSizeVE = lazyChunkSize.getValueExpression(faceletContext, Object.class);
+			}
 			
 			ActionSource actionSource = (ActionSource) parent;
             DataExporter dataExporter = new DataExporter(targetVE, typeVE, fileNameVE, pageOnlyVE, selectionOnlyVE, encodingVE, preProcessorME, postProcessorME, optionsVE);
             dataExporter.setRepeat(repeatVE);
+            dataExporter.setLazyChunkSize(lazyChunkSizeVE);
 			actionSource.addActionListener(dataExporter);
 		}
 	}
@@ -16,9 +16,12 @@
 package org.primefaces.component.export;
 
 import java.io.IOException;
+import javax.faces.FacesException;
 import javax.faces.context.ExternalContext;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.primefaces.component.datatable.DataTable;
 
 /**
  * Different implementation of ExcelXExporter using the POI streaming API:
@@ -41,4 +44,14 @@ public class ExcelXStreamExporter extends ExcelXExporter {
         super.writeExcelToResponse(externalContext, generatedExcel, filename);
         ((SXSSFWorkbook) generatedExcel).dispose();
     }
+
+    @Override
+    protected void postChunkExport(DataTable table, Object document) {
+        try {
+            ((SXSSFSheet) document).flushRows();
+        }
+        catch (IOException e) {
+            throw new FacesException(e);
+        }
+    }
 }
@@ -35,6 +35,7 @@ import javax.faces.component.html.HtmlCommandLink;
 import javax.faces.component.html.HtmlGraphicImage;
 import javax.faces.context.FacesContext;
 import javax.faces.convert.Converter;
+import org.primefaces.component.api.DynamicColumn;
 import org.primefaces.component.celleditor.CellEditor;
 
 import org.primefaces.component.datatable.DataTable;
@@ -62,6 +63,8 @@ public abstract class Exporter {
         }
 	};
 
+    private int lazyChunkSize = 0;
+
     public abstract void export(FacesContext facesContext, DataTable table,
 			String outputFileName, boolean pageOnly, boolean selectionOnly,
 			String encodingType, MethodExpression preProcessor,
@@ -100,6 +103,25 @@ public abstract class Exporter {
         return false;
     }
 
+    /**
+     * @return the rendered and exportable columns of the table
+     */
+    protected List<org.primefaces.component.api.UIColumn> getExportableColumns(DataTable table) {
+        List<org.primefaces.component.api.UIColumn> columns = new ArrayList<org.primefaces.component.api.UIColumn>();
+        
+        for(org.primefaces.component.api.UIColumn column : table.getColumns()) {
+            if(column instanceof DynamicColumn) {
+                ((DynamicColumn) column).applyStatelessModel();
+            }
+            
+            if(column.isRendered() && column.isExportable()) {
+                columns.add(column);
+            }
+        }
+        
+        return columns;
+    }
+    
     protected String exportColumnByFunction(FacesContext context, org.primefaces.component.api.UIColumn column) {
         MethodExpression exportFunction = column.getExportFunction();
         
@@ -141,18 +163,11 @@ public abstract class Exporter {
 
 			ValueHolder valueHolder = (ValueHolder) component;
 			Object value = valueHolder.getValue();
-			if(value == null) {
-				return "";
-            }
 			
-            Converter converter = valueHolder.getConverter();
-            if(converter == null) {
-                Class valueType = value.getClass();
-                converter = context.getApplication().createConverter(valueType);
-            }
-            
-            if(converter != null) {
-                if(component instanceof UISelectMany) {
+            if(component instanceof UISelectMany && value != null) {
+                Converter converter = getConverter(context, valueHolder, value);
+                
+                if(converter != null) {
                     StringBuilder builder = new StringBuilder();
                     List collection = null;
                     
@@ -181,13 +196,9 @@ public abstract class Exporter {
                     
                     return valuesAsString;
                 }
-                else {
-                    return converter.getAsString(context, component, value);
-                }
-            }
-            else {
-                return value.toString();
             }
+            
+            return exportValue(context, valueHolder, value);
 		}
         else if (component instanceof CellEditor) {
             return exportValue(context, ((CellEditor) component).getFacet("output"));
@@ -206,6 +217,32 @@ public abstract class Exporter {
 		}
     }
     
+    /**
+     * Converts a value of the given ValueHolder to a String, using its converter or the default converter of the value type.
+     */
+    protected String exportValue(FacesContext context, ValueHolder valueHolder, Object value) {
+        if(value == null) {
+            return "";
+        }
+        
+        Converter converter = getConverter(context, valueHolder, value);
+        if(converter != null) {
+            return converter.getAsString(context, (UIComponent) valueHolder, value);
+        }
+        else {
+            return value.toString();
+        }
+    }
+    
+    private Converter getConverter(FacesContext context, ValueHolder valueHolder, Object value) {
+        Converter converter = valueHolder.getConverter();
+        if(converter == null) {
+            converter = context.getApplication().createConverter(value.getClass());
+        }
+        
+        return converter;
+    }
+    
     protected void exportPageOnly(FacesContext context, DataTable table, Object document) {        
         int first = table.getFirst();
         int rows = table.getRows();
@@ -227,20 +264,25 @@ public abstract class Exporter {
         boolean lazy = table.isLazy();
         
         if(lazy) {
-        	 if(rowCount > 0)
-             {
-                table.setFirst(0);
-                table.setRows(rowCount);
-                table.clearLazyCache();
-                table.loadLazyData();
-             }
+            if(lazyChunkSize > 0) {
+                exportLazyChunks(context, table, document, rowCount);
+            }
+            else {
+                if(rowCount > 0) {
+                    table.setFirst(0);
+                    table.setRows(rowCount);
+                    table.clearLazyCache();
+                    table.loadLazyData();
+                }
 
-            for(int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
-                exportRow(table, document, rowIndex);
+                for(int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+                    exportRow(table, document, rowIndex);
+                }
             }
      
             //restore
             table.setFirst(first);
+            table.setRows(rows);
             table.setRowIndex(-1);
             table.clearLazyCache();
             table.loadLazyData();
@@ -254,6 +296,27 @@ public abstract class Exporter {
             table.setFirst(first);
         }
     }
+    
+    /**
+     * Pages through the LazyDataModel, so only a single chunk of rows is loaded at a time.
+     */
+    protected void exportLazyChunks(FacesContext context, DataTable table, Object document, int rowCount) {
+        table.setRows(lazyChunkSize);
+        
+        for(int chunkStart = 0; chunkStart < rowCount; chunkStart += lazyChunkSize) {
+            table.setRowIndex(-1);
+            table.setFirst(chunkStart);
+            table.clearLazyCache();
+            table.loadLazyData();
+            
+            int chunkEnd = Math.min(chunkStart + lazyChunkSize, rowCount);
+            for(int rowIndex = chunkStart; rowIndex < chunkEnd; rowIndex++) {
+                exportRow(table, document, rowIndex);
+            }
+            
+            postChunkExport(table, document);
+        }
+    }
 
     protected void exportRow(DataTable table, Object document, int rowIndex) {
         table.setRowIndex(rowIndex);
@@ -328,5 +391,22 @@ public abstract class Exporter {
     
     protected void postRowExport(DataTable table, Object document) {}
     
+    /**
+     * Called after each chunk of a lazy export, e.g. to flush the exported rows.
+     */
+    protected void postChunkExport(DataTable table, Object document) {}
+    
     protected abstract void exportCells(DataTable table, Object document);
+
+    public int getLazyChunkSize() {
+        return lazyChunkSize;
+    }
+
+    /**
+     * @param lazyChunkSize number of rows to load per call of LazyDataModel#load when exporting all rows of a lazy table,
+     * 0 to load all rows at once
+     */
+    public void setLazyChunkSize(int lazyChunkSize) {
+        this.lazyChunkSize = lazyChunkSize;
+    }
 }
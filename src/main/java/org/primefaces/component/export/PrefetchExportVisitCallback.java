@@ -0,0 +1,48 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.component.export;
+
+import java.util.concurrent.ExecutorService;
+import javax.faces.component.UIComponent;
+import javax.faces.component.visit.VisitCallback;
+import javax.faces.component.visit.VisitContext;
+import javax.faces.component.visit.VisitResult;
+import org.primefaces.component.datatable.DataTable;
+
+/**
+ * Starts reading the cell values of every visited table, has to be followed by a visit exporting the tables in the same order.
+ */
+public class PrefetchExportVisitCallback implements VisitCallback {
+	
+    private PrefetchingExporter exporter;
+    private ExecutorService executor;
+    private boolean pageOnly;
+    private boolean selectionOnly;
+
+    public PrefetchExportVisitCallback(PrefetchingExporter exporter, ExecutorService executor, boolean pageOnly, boolean selectionOnly) {
+        this.exporter = exporter;
+        this.executor = executor;
+        this.pageOnly = pageOnly;
+        this.selectionOnly = selectionOnly;
+    }
+
+    public VisitResult visit(VisitContext context, UIComponent target) {
+        exporter.prefetchCells(context.getFacesContext(), (DataTable) target, pageOnly, selectionOnly, executor);
+        
+        return VisitResult.ACCEPT;
+    }
+    
+}
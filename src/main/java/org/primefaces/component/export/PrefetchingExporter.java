@@ -0,0 +1,91 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.component.export;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import javax.faces.context.FacesContext;
+import org.primefaces.component.api.UIColumn;
+import org.primefaces.component.datatable.DataTable;
+import org.primefaces.context.RequestContext;
+
+/**
+ * Exporter which can read the cell values of its tables on an executor before they are written, see
+ * {@link PrefetchExportVisitCallback}. Tables which can't be prefetched are exported via the component tree.
+ */
+public abstract class PrefetchingExporter extends Exporter {
+
+    private LinkedList<TableCellReader> cellReaders;
+
+    protected ExecutorService getExportExecutor(FacesContext context) {
+        RequestContext requestContext = RequestContext.getCurrentInstance();
+        
+        return (requestContext == null) ? null : requestContext.getApplicationContext().getExportExecutor();
+    }
+    
+    /**
+     * Starts reading the cell values of a table on the executor, if its columns allow to read the values without the component tree.
+     * Tables have to be exported in the same order as they are prefetched.
+     */
+    protected void prefetchCells(FacesContext context, DataTable table, boolean pageOnly, boolean selectionOnly, ExecutorService executor) {
+        if(cellReaders == null) {
+            cellReaders = new LinkedList<TableCellReader>();
+        }
+        
+        TableCellReader reader = null;
+        if(executor != null && !selectionOnly) {
+            reader = TableCellReader.create(table, getExportableColumns(table), pageOnly);
+            if(reader != null) {
+                reader.submit(executor);
+            }
+        }
+        
+        cellReaders.add(reader);
+    }
+    
+    /**
+     * Exports the rows of the next prefetched table.
+     * 
+     * @return <code>false</code> if the table wasn't prefetched and has to be exported via the component tree
+     */
+    protected boolean exportPrefetchedCells(FacesContext context, DataTable table, Object document) {
+        TableCellReader reader = (cellReaders == null || cellReaders.isEmpty()) ? null : cellReaders.removeFirst();
+        Object[][] cells = (reader == null) ? null : reader.getCells();
+        if(cells == null) {
+            return false;
+        }
+        
+        String[] values = new String[reader.getColumns().size()];
+        for(int rowIndex = 0; rowIndex < cells.length; rowIndex++) {
+            Object[] rowCells = cells[rowIndex];
+            for(int i = 0; i < values.length; i++) {
+                values[i] = exportValue(context, reader.getValueHolder(i), rowCells[i]);
+            }
+            
+            preRowExport(table, document);
+            exportCellValues(table, document, reader.getColumns(), values);
+            postRowExport(table, document);
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Writes the already converted values of a prefetched row.
+     */
+    protected abstract void exportCellValues(DataTable table, Object document, List<UIColumn> columns, String[] values);
+}
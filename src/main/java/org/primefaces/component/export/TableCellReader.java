@@ -0,0 +1,174 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.component.export;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import javax.faces.FacesException;
+import javax.faces.component.EditableValueHolder;
+import javax.faces.component.UIComponent;
+import javax.faces.component.UISelectMany;
+import javax.faces.component.ValueHolder;
+import javax.faces.component.html.HtmlCommandLink;
+import javax.faces.model.DataModel;
+import org.primefaces.component.api.DynamicColumn;
+import org.primefaces.component.api.UIColumn;
+import org.primefaces.component.datatable.DataTable;
+import org.primefaces.el.PropertyPathAccessor;
+
+/**
+ * Reads the raw cell values of a table without touching the component tree, so the values of multiple tables
+ * can be read concurrently. Only possible if every exported column holds a single output component whose value is
+ * a plain property path of the table var, e.g. <code>#{car.brand}</code>. Converting and writing the values is left
+ * to the request thread.
+ */
+public class TableCellReader implements Callable<Object[][]> {
+
+    private final List<UIColumn> columns;
+    private final ValueHolder[] valueHolders;
+    private final PropertyPathAccessor[] accessors;
+    private final List<?> rows;
+    private final int first;
+    private final int last;
+    private Future<Object[][]> future;
+
+    private TableCellReader(List<UIColumn> columns, ValueHolder[] valueHolders, PropertyPathAccessor[] accessors, List<?> rows, int first, int last) {
+        this.columns = columns;
+        this.valueHolders = valueHolders;
+        this.accessors = accessors;
+        this.rows = rows;
+        this.first = first;
+        this.last = last;
+    }
+
+    /**
+     * @return a reader for the given columns or <code>null</code> if the table has to be exported via the component tree
+     */
+    public static TableCellReader create(DataTable table, List<UIColumn> columns, boolean pageOnly) {
+        if(table.isLazy() || columns.isEmpty()) {
+            return null;
+        }
+
+        Object value = table.getValue();
+        if(value instanceof DataModel) {
+            value = ((DataModel) value).getWrappedData();
+        }
+
+        if(!(value instanceof List)) {
+            return null;
+        }
+
+        ValueHolder[] valueHolders = new ValueHolder[columns.size()];
+        PropertyPathAccessor[] accessors = new PropertyPathAccessor[columns.size()];
+        for(int i = 0; i < columns.size(); i++) {
+            UIColumn column = columns.get(i);
+            if(column instanceof DynamicColumn || column.getExportFunction() != null || column.getChildren().size() != 1) {
+                return null;
+            }
+
+            UIComponent component = column.getChildren().get(0);
+            if(!isPlainOutput(component)) {
+                return null;
+            }
+
+            accessors[i] = PropertyPathAccessor.compile(component.getValueExpression("value"), table.getVar());
+            if(accessors[i] == null) {
+                return null;
+            }
+
+            valueHolders[i] = (ValueHolder) component;
+        }
+
+        List<?> rows = (List<?>) value;
+        int first = 0;
+        int last = rows.size();
+        if(pageOnly) {
+            first = Math.min(table.getFirst(), last);
+            if(table.getRows() > 0) {
+                last = Math.min(first + table.getRows(), last);
+            }
+        }
+
+        return new TableCellReader(columns, valueHolders, accessors, rows, first, last);
+    }
+
+    private static boolean isPlainOutput(UIComponent component) {
+        return component instanceof ValueHolder
+                && !(component instanceof EditableValueHolder)
+                && !(component instanceof UISelectMany)
+                && !(component instanceof HtmlCommandLink)
+                && component.getValueExpression("rendered") == null
+                && component.isRendered()
+                && component.getValueExpression("converter") == null
+                && ((ValueHolder) component).getConverter() == null;
+    }
+
+    public void submit(ExecutorService executor) {
+        future = executor.submit(this);
+    }
+
+    /**
+     * @return the cell values per row or <code>null</code> if a value couldn't be read via its property path
+     */
+    public Object[][] getCells() {
+        if(future == null) {
+            return call();
+        }
+
+        try {
+            return future.get();
+        }
+        catch(InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new FacesException(e);
+        }
+        catch(ExecutionException e) {
+            throw new FacesException(e.getCause());
+        }
+    }
+
+    public Object[][] call() {
+        Object[][] cells = new Object[last - first][];
+
+        for(int rowIndex = first; rowIndex < last; rowIndex++) {
+            Object rowData = rows.get(rowIndex);
+            Object[] values = new Object[accessors.length];
+
+            for(int i = 0; i < accessors.length; i++) {
+                values[i] = accessors[i].getValue(rowData);
+                if(values[i] == PropertyPathAccessor.UNRESOLVABLE) {
+                    return null;
+                }
+            }
+
+            cells[rowIndex - first] = values;
+        }
+
+        return cells;
+    }
+
+    public List<UIColumn> getColumns() {
+        return columns;
+    }
+
+    public ValueHolder getValueHolder(int columnIndex) {
+        return valueHolders[columnIndex];
+    }
+}
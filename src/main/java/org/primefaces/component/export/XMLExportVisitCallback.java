@@ -0,0 +1,46 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.component.export;
+
+import java.io.PrintWriter;
+import javax.faces.component.UIComponent;
+import javax.faces.component.visit.VisitCallback;
+import javax.faces.component.visit.VisitContext;
+import javax.faces.component.visit.VisitResult;
+import org.primefaces.component.datatable.DataTable;
+
+public class XMLExportVisitCallback implements VisitCallback {
+	
+    private XMLExporter exporter;
+    private boolean pageOnly;
+    private boolean selectionOnly;
+    private PrintWriter writer;
+
+    public XMLExportVisitCallback(XMLExporter exporter, PrintWriter writer, boolean pageOnly, boolean selectionOnly) {
+        this.exporter = exporter;
+        this.pageOnly = pageOnly;
+        this.selectionOnly = selectionOnly;
+        this.writer = writer;
+    }
+
+    public VisitResult visit(VisitContext context, UIComponent target) {
+        exporter.exportTable(context.getFacesContext(), (DataTable) target, writer, pageOnly, selectionOnly);
+        writer.write("\n");
+        
+        return VisitResult.ACCEPT;
+    }
+    
+}
@@ -18,9 +18,11 @@ package org.primefaces.component.export;
 import java.io.*;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import javax.el.MethodExpression;
 import javax.faces.FacesException;
 import javax.faces.component.UIComponent;
+import javax.faces.component.visit.VisitContext;
 import javax.faces.context.ExternalContext;
 import javax.faces.context.FacesContext;
 import org.primefaces.component.api.DynamicColumn;
@@ -29,45 +31,100 @@ import org.primefaces.component.datatable.DataTable;
 import org.primefaces.util.Constants;
 import org.primefaces.util.XMLUtils;
 
-public class XMLExporter extends Exporter {
+public class XMLExporter extends PrefetchingExporter {
 
     @Override
 	public void export(FacesContext context, DataTable table, String filename, boolean pageOnly, boolean selectionOnly, String encodingType, MethodExpression preProcessor, MethodExpression postProcessor, ExporterOptions options) throws IOException {
 		ExternalContext externalContext = context.getExternalContext();
         configureResponse(externalContext, filename);
-		OutputStream os = externalContext.getResponseOutputStream();
-		OutputStreamWriter osw = new OutputStreamWriter(os, encodingType);
-		PrintWriter writer = new PrintWriter(osw);	
+		PrintWriter writer = createWriter(externalContext, encodingType);
 		
     	writer.write("<?xml version=\"1.0\"?>\n");
-    	writer.write("<" + table.getId() + ">\n");
-    	
-        if (pageOnly) {
-            exportPageOnly(context, table, writer);
-        }
-        else if (selectionOnly) {
-            exportSelectionOnly(context, table, writer);
-        }
-        else {
-            exportAll(context, table, writer);
-        }
-    	
-    	writer.write("</" + table.getId() + ">");
-    	
-    	table.setRowIndex(-1);
+    	exportTable(context, table, writer, pageOnly, selectionOnly);
             	
         writer.flush();
         writer.close();
 	}
     
     @Override
-    public void export(FacesContext facesContext, List<String> clientIds, String outputFileName, boolean pageOnly, boolean selectionOnly, String encodingType, MethodExpression preProcessor, MethodExpression postProcessor, ExporterOptions options) throws IOException {
-        throw new UnsupportedOperationException("Not supported yet.");
+    public void export(FacesContext context, List<String> clientIds, String outputFileName, boolean pageOnly, boolean selectionOnly, String encodingType, MethodExpression preProcessor, MethodExpression postProcessor, ExporterOptions options) throws IOException {
+        ExternalContext externalContext = context.getExternalContext();
+        configureResponse(externalContext, outputFileName);
+		PrintWriter writer = createWriter(externalContext, encodingType);
+        
+        ExecutorService executor = getExportExecutor(context);
+        if(executor != null && clientIds.size() > 1) {
+            VisitContext prefetchContext = VisitContext.createVisitContext(context, clientIds, null);
+            context.getViewRoot().visitTree(prefetchContext, new PrefetchExportVisitCallback(this, executor, pageOnly, selectionOnly));
+        }
+        
+        writer.write("<?xml version=\"1.0\"?>\n");
+        writer.write("<tables>\n");
+        
+        VisitContext visitContext = VisitContext.createVisitContext(context, clientIds, null);
+        context.getViewRoot().visitTree(visitContext, new XMLExportVisitCallback(this, writer, pageOnly, selectionOnly));
+        
+        writer.write("</tables>");
+        
+        writer.flush();
+        writer.close();
     }
     
     @Override
-    public void export(FacesContext facesContext, String outputFileName, List<DataTable> tables, boolean pageOnly, boolean selectionOnly, String encodingType, MethodExpression preProcessor, MethodExpression postProcessor, ExporterOptions options) throws IOException {
-        throw new UnsupportedOperationException("Not supported yet.");
+    public void export(FacesContext context, String outputFileName, List<DataTable> tables, boolean pageOnly, boolean selectionOnly, String encodingType, MethodExpression preProcessor, MethodExpression postProcessor, ExporterOptions options) throws IOException {
+        ExternalContext externalContext = context.getExternalContext();
+        configureResponse(externalContext, outputFileName);
+		PrintWriter writer = createWriter(externalContext, encodingType);
+        
+        ExecutorService executor = getExportExecutor(context);
+        if(executor != null && tables.size() > 1) {
+            for(int i = 0; i < tables.size(); i++) {
+                prefetchCells(context, tables.get(i), pageOnly, selectionOnly, executor);
+            }
+        }
+        
+        writer.write("<?xml version=\"1.0\"?>\n");
+        writer.write("<tables>\n");
+        
+        for(int i = 0; i < tables.size(); i++) {
+            exportTable(context, tables.get(i), writer, pageOnly, selectionOnly);
+            writer.write("\n");
+        }
+        
+        writer.write("</tables>");
+        
+        writer.flush();
+        writer.close();
+    }
+    
+    /**
+     * Exports the rows of a table wrapped in an element named by the table id,
+     * prefetched tables have to be exported in the order they were prefetched.
+     */
+    protected void exportTable(FacesContext context, DataTable table, PrintWriter writer, boolean pageOnly, boolean selectionOnly) {
+    	writer.write("<" + table.getId() + ">\n");
+    	
+        if (!exportPrefetchedCells(context, table, writer)) {
+            if (pageOnly) {
+                exportPageOnly(context, table, writer);
+            }
+            else if (selectionOnly) {
+                exportSelectionOnly(context, table, writer);
+            }
+            else {
+                exportAll(context, table, writer);
+            }
+        }
+    	
+    	writer.write("</" + table.getId() + ">");
+    	
+    	table.setRowIndex(-1);
+    }
+    
+    protected PrintWriter createWriter(ExternalContext externalContext, String encodingType) throws IOException {
+		OutputStream os = externalContext.getResponseOutputStream();
+        
+		return new PrintWriter(new BufferedWriter(new OutputStreamWriter(os, encodingType)));
     }
     
     @Override
@@ -100,6 +157,17 @@ public class XMLExporter extends Exporter {
         }
     }
     
+    @Override
+    protected void exportCellValues(DataTable table, Object document, List<UIColumn> columns, String[] values) {
+        PrintWriter writer = (PrintWriter) document;
+        for (int i = 0; i < values.length; i++) {
+            String columnTag = getColumnTag(columns.get(i));
+            writer.write("\t\t<" + columnTag + ">");
+            writer.write(values[i]);
+            writer.write("</" + columnTag + ">\n");
+        }
+    }
+    
     protected String getColumnTag(UIColumn column) {
         String headerText = column.getHeaderText();
         UIComponent facet = column.getFacet("header");
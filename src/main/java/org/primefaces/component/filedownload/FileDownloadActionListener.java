@@ -17,7 +17,6 @@ package org.primefaces.component.filedownload;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.util.Collections;
 
 import javax.el.ELContext;
@@ -33,6 +32,7 @@ import javax.faces.event.ActionListener;
 import org.primefaces.context.RequestContext;
 import org.primefaces.model.StreamedContent;
 import org.primefaces.util.Constants;
+import org.primefaces.util.StreamUtils;
 
 public class FileDownloadActionListener implements ActionListener, StateHolder {
 
@@ -81,14 +81,8 @@ public class FileDownloadActionListener implements ActionListener, StateHolder {
                 externalContext.setResponseHeader("Pragma", "public");
             }
 
-            byte[] buffer = new byte[2048];
-            int length;
             inputStream = content.getStream();
-            OutputStream outputStream = externalContext.getResponseOutputStream();
-
-            while ((length = (inputStream.read(buffer))) != -1) {
-                outputStream.write(buffer, 0, length);
-            }
+            StreamUtils.copy(inputStream, externalContext.getResponseOutputStream());
 
             externalContext.setResponseStatus(200);
             externalContext.responseFlushBuffer();
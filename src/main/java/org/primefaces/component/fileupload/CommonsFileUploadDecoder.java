@@ -18,6 +18,7 @@ package org.primefaces.component.fileupload;
 import javax.faces.context.FacesContext;
 import javax.servlet.ServletRequestWrapper;
 import org.apache.commons.fileupload.FileItem;
+import org.primefaces.context.RequestContext;
 import org.primefaces.event.FileUploadEvent;
 import org.primefaces.model.DefaultUploadedFile;
 import org.primefaces.model.UploadedFileWrapper;
@@ -56,7 +57,7 @@ public class CommonsFileUploadDecoder{
             if(file.getName().equals("")) {
                 fileUpload.setSubmittedValue("");
             } else {
-                fileUpload.setSubmittedValue(new UploadedFileWrapper(new DefaultUploadedFile(file)));
+                fileUpload.setSubmittedValue(new UploadedFileWrapper(new DefaultUploadedFile(file, getMaxContentsSize())));
             }
         }
     }
@@ -66,7 +67,13 @@ public class CommonsFileUploadDecoder{
         FileItem file = request.getFileItem(clientId);
 
         if(file != null) {
-            fileUpload.queueEvent(new FileUploadEvent(fileUpload, new DefaultUploadedFile(file)));
+            fileUpload.queueEvent(new FileUploadEvent(fileUpload, new DefaultUploadedFile(file, getMaxContentsSize())));
         }
     }
+
+    private static long getMaxContentsSize() {
+        RequestContext requestContext = RequestContext.getCurrentInstance();
+
+        return (requestContext == null) ? -1 : requestContext.getApplicationContext().getConfig().getUploadMaxContentsSize();
+    }
 }
@@ -21,6 +21,7 @@ import javax.faces.context.FacesContext;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.Part;
+import org.primefaces.context.RequestContext;
 import org.primefaces.event.FileUploadEvent;
 import org.primefaces.model.NativeUploadedFile;
 import org.primefaces.model.UploadedFileWrapper;
@@ -52,7 +53,7 @@ public class NativeFileUploadDecoder {
         Part part = request.getPart(inputToDecodeId);
 
         if(part != null) {
-            fileUpload.setSubmittedValue(new UploadedFileWrapper(new NativeUploadedFile(part)));
+            fileUpload.setSubmittedValue(new UploadedFileWrapper(new NativeUploadedFile(part, getMaxContentsSize())));
         }
         else {
             fileUpload.setSubmittedValue("");
@@ -64,8 +65,14 @@ public class NativeFileUploadDecoder {
         Part part = request.getPart(clientId);
 
         if(part != null) {
-            fileUpload.queueEvent(new FileUploadEvent(fileUpload, new NativeUploadedFile(part)));
+            fileUpload.queueEvent(new FileUploadEvent(fileUpload, new NativeUploadedFile(part, getMaxContentsSize())));
         }
     }
 
+    private static long getMaxContentsSize() {
+        RequestContext requestContext = RequestContext.getCurrentInstance();
+
+        return (requestContext == null) ? -1 : requestContext.getApplicationContext().getConfig().getUploadMaxContentsSize();
+    }
+
 }
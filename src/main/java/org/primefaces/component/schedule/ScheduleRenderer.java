@@ -18,10 +18,10 @@ package org.primefaces.component.schedule;
 import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.Calendar;
 import java.util.Date;
-import java.util.Iterator;
+import java.util.GregorianCalendar;
 import java.util.Map;
-import java.util.TimeZone;
 import java.util.logging.Logger;
 
 import javax.faces.component.UIComponent;
@@ -69,66 +69,126 @@ public class ScheduleRenderer extends CoreRenderer {
 		String clientId = schedule.getClientId(context);
 		ScheduleModel model = (ScheduleModel) schedule.getValue();
 		Map<String,String> params = context.getExternalContext().getRequestParameterMap();
+		long start = Long.MIN_VALUE;
+		long end = Long.MAX_VALUE;
 		
         if(model instanceof LazyScheduleModel) {
-            String startDateParam = params.get(clientId + "_start");
-            String endDateParam = params.get(clientId + "_end");
-
-            Date startDate = new Date(Long.valueOf(startDateParam));
-            Date endDate = new Date(Long.valueOf(endDateParam));
+            start = Long.valueOf(params.get(clientId + "_start"));
+            end = Long.valueOf(params.get(clientId + "_end"));
 
             LazyScheduleModel lazyModel = ((LazyScheduleModel) model);
-            lazyModel.clear();							//Clear old events
-            lazyModel.loadEvents(startDate, endDate);	//Lazy load events
+            lazyModel.lazyLoadEvents(new Date(start), new Date(end));
+
+            if(!lazyModel.isCacheLoadedRanges()) {
+                // only the events of the period were loaded
+                start = Long.MIN_VALUE;
+                end = Long.MAX_VALUE;
+            }
         }
 		
-		encodeEventsAsJSON(context, schedule, model);
+		encodeEventsAsJSON(context, schedule, model, start, end);
 	}
 	
 	protected void encodeEventsAsJSON(FacesContext context, Schedule schedule, ScheduleModel model) throws IOException {
+		encodeEventsAsJSON(context, schedule, model, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+	
+	/**
+	 * Writes the events overlapping the given period, a cached lazy model also contains the events of other periods.
+	 */
+	protected void encodeEventsAsJSON(FacesContext context, Schedule schedule, ScheduleModel model, long start, long end) throws IOException {
 		ResponseWriter writer = context.getResponseWriter();
-        TimeZone timeZone = schedule.calculateTimeZone();
+        // used by this request only, unlike a shared DateFormat
+        Calendar calendar = new GregorianCalendar(schedule.calculateTimeZone());
 
-        SimpleDateFormat iso = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ");
-        iso.setTimeZone(timeZone);
         writer.write("{");
         writer.write("\"events\" : [");
 		
         if(model != null) {
-            for(Iterator<ScheduleEvent> iterator = model.getEvents().iterator(); iterator.hasNext();) {
-                ScheduleEvent event = iterator.next();
+            boolean first = true;
+            for(ScheduleEvent event : model.getEvents()) {
+                Date startDate = event.getStartDate();
+                Date endDate = event.getEndDate();
+                if(startDate.getTime() >= end || (endDate == null ? startDate : endDate).getTime() < start) {
+                    continue;
+                }
+
                 String className = event.getStyleClass();
                 String description = event.getDescription();
                 String url = event.getUrl();
-               
-                writer.write("{");
-                writer.write("\"id\": \"" + event.getId() + "\"");	
-                writer.write(",\"title\": \"" + escapeText(event.getTitle()) + "\"");
-                writer.write(",\"start\": \"" + iso.format(event.getStartDate()) + "\"");	
-                writer.write(",\"end\": \"" + iso.format(event.getEndDate()) + "\"");
-                writer.write(",\"allDay\":" + event.isAllDay());
-                writer.write(",\"editable\":" + event.isEditable());
+
+                if(!first) {
+                    writer.write(",");
+                }
+                first = false;
+
+                writer.write("{\"id\": \"");
+                writer.write(String.valueOf(event.getId()));
+                writer.write("\",\"title\": \"");
+                writer.write(escapeText(event.getTitle()));
+                writer.write("\",\"start\": \"");
+                writeISODate(writer, calendar, startDate);
+                writer.write("\",\"end\": \"");
+                writeISODate(writer, calendar, endDate);
+                writer.write("\",\"allDay\":");
+                writer.write(event.isAllDay() ? "true" : "false");
+                writer.write(",\"editable\":");
+                writer.write(event.isEditable() ? "true" : "false");
                 if(className != null) {
-                    writer.write(",\"className\":\"" + className + "\"");
+                    writer.write(",\"className\":\"");
+                    writer.write(className);
+                    writer.write("\"");
                 }
                 if(description != null) {
-                    writer.write(",\"description\":\"" + escapeText(description) + "\"");
+                    writer.write(",\"description\":\"");
+                    writer.write(escapeText(description));
+                    writer.write("\"");
                 }
                 if(url != null) {
-                    writer.write(",\"url\":\"" + escapeText(url) + "\"");
+                    writer.write(",\"url\":\"");
+                    writer.write(escapeText(url));
+                    writer.write("\"");
                 }
-                
                 writer.write("}");
-
-                if(iterator.hasNext()) {
-                    writer.write(",");
-                }
             }
         }
 		
 		writer.write("]}");	
 	}
 
+    /**
+     * Writes a date like the pattern <code>yyyy-MM-dd'T'HH:mm:ssZ</code> in the time zone of the calendar.
+     */
+    protected void writeISODate(ResponseWriter writer, Calendar calendar, Date date) throws IOException {
+        calendar.setTime(date);
+
+        writePadded(writer, calendar.get(Calendar.YEAR), 4);
+        writer.write('-');
+        writePadded(writer, calendar.get(Calendar.MONTH) + 1, 2);
+        writer.write('-');
+        writePadded(writer, calendar.get(Calendar.DAY_OF_MONTH), 2);
+        writer.write('T');
+        writePadded(writer, calendar.get(Calendar.HOUR_OF_DAY), 2);
+        writer.write(':');
+        writePadded(writer, calendar.get(Calendar.MINUTE), 2);
+        writer.write(':');
+        writePadded(writer, calendar.get(Calendar.SECOND), 2);
+
+        int offset = (calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET)) / 60000;
+        writer.write(offset < 0 ? '-' : '+');
+        offset = Math.abs(offset);
+        writePadded(writer, offset / 60, 2);
+        writePadded(writer, offset % 60, 2);
+    }
+
+    private void writePadded(ResponseWriter writer, int value, int length) throws IOException {
+        String digits = String.valueOf(value);
+        for(int i = digits.length(); i < length; i++) {
+            writer.write('0');
+        }
+        writer.write(digits);
+    }
+
 	protected void encodeScript(FacesContext context, Schedule schedule) throws IOException {
 		String clientId = schedule.getClientId(context);
         WidgetBuilder wb = getWidgetBuilder(context);
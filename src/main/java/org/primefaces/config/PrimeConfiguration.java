@@ -56,6 +56,9 @@ public class PrimeConfiguration {
     private boolean beanValidationDisabled = false;
     private boolean interpolateClientSideValidationMessages = false;
     private boolean earlyPostParamEvaluation = false;
+    private int exportThreads = 0;
+    private long uploadMaxContentsSize = -1;
+    private boolean deferWidgetsEnabled = false;
 
     // internal config
     private boolean beanValidationAvailable = false;
@@ -152,6 +155,15 @@ public class PrimeConfiguration {
 
         value = externalContext.getInitParameter(Constants.ContextParams.EARLY_POST_PARAM_EVALUATION);
         earlyPostParamEvaluation = (value == null) ? false : Boolean.valueOf(value);
+
+        value = externalContext.getInitParameter(Constants.ContextParams.EXPORT_THREADS);
+        exportThreads = (value == null) ? 0 : Integer.parseInt(value.trim());
+
+        value = externalContext.getInitParameter(Constants.ContextParams.DEFER_WIDGETS);
+        deferWidgetsEnabled = (value == null) ? false : Boolean.valueOf(value);
+
+        value = externalContext.getInitParameter(Constants.ContextParams.UPLOAD_MAX_CONTENTS_SIZE);
+        uploadMaxContentsSize = (value == null) ? -1 : Long.parseLong(value.trim());
     }
 
     protected void initValidateEmptyFields(FacesContext context) {
@@ -407,4 +419,16 @@ public class PrimeConfiguration {
     public boolean isEarlyPostParamEvaluation() {
         return earlyPostParamEvaluation;
     }
+
+    public int getExportThreads() {
+        return exportThreads;
+    }
+
+    public long getUploadMaxContentsSize() {
+        return uploadMaxContentsSize;
+    }
+
+    public boolean isDeferWidgetsEnabled() {
+        return deferWidgetsEnabled;
+    }
 }
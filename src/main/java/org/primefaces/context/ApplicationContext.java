@@ -16,6 +16,7 @@
 package org.primefaces.context;
 
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import javax.faces.context.FacesContext;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
@@ -59,5 +60,15 @@ public abstract class ApplicationContext {
     
     public abstract Validator getValidator();
     
+    /**
+     * @return the executor used to read the cell values of multiple exported tables concurrently,
+     * <code>null</code> if the cells are read by the exporting thread only. Returns <code>null</code> unless overridden,
+     * the {@link DefaultApplicationContext} creates it as configured via
+     * {@link org.primefaces.util.Constants.ContextParams#EXPORT_THREADS}.
+     */
+    public ExecutorService getExportExecutor() {
+        return null;
+    }
+    
     public abstract void release();
 }
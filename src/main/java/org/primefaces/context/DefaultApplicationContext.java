@@ -17,13 +17,19 @@ package org.primefaces.context;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.faces.FacesException;
 import javax.faces.context.FacesContext;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
 import org.primefaces.cache.CacheProvider;
-import org.primefaces.cache.DefaultCacheProvider;
+import org.primefaces.cache.LocalCacheProvider;
 
 import org.primefaces.config.PrimeConfiguration;
 import org.primefaces.util.Constants;
@@ -36,6 +42,7 @@ public class DefaultApplicationContext extends ApplicationContext {
     private CacheProvider cacheProvider;
     private Map<Class<?>, Map<String, Object>> enumCacheMap;
     private Map<Class<?>, Map<String, Object>> constantsCacheMap;
+    private ThreadPoolExecutor exportExecutor;
 
     public DefaultApplicationContext(FacesContext context) {
         this(context, new PrimeConfiguration(context));
@@ -80,7 +87,7 @@ public class DefaultApplicationContext extends ApplicationContext {
         if (cacheProvider == null) {
             String cacheProviderConfigValue = FacesContext.getCurrentInstance().getExternalContext().getInitParameter(Constants.ContextParams.CACHE_PROVIDER);
             if(cacheProviderConfigValue == null) {
-                cacheProvider = new DefaultCacheProvider();
+                cacheProvider = new LocalCacheProvider();
             }
             else {
                 try {
@@ -114,11 +121,47 @@ public class DefaultApplicationContext extends ApplicationContext {
         return validator;
     }
 
+    @Override
+    public synchronized ExecutorService getExportExecutor() {
+        if (exportExecutor == null) {
+            int threads = (config == null) ? 0 : config.getExportThreads();
+            if (threads <= 0) {
+                return null;
+            }
+            
+            // idle threads time out, so the pool only costs threads while exports are running
+            exportExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new ExportThreadFactory());
+            exportExecutor.allowCoreThreadTimeOut(true);
+        }
+        
+        return exportExecutor;
+    }
+
     @Override
     public void release() {
         if (validatorFactory != null && config != null && config.isAtLeastBV11()) {
             validatorFactory.close();
         }
+        
+        synchronized (this) {
+            if (exportExecutor != null) {
+                exportExecutor.shutdownNow();
+                exportExecutor = null;
+            }
+        }
+    }
+    
+    private static class ExportThreadFactory implements ThreadFactory {
+        
+        private final AtomicInteger count = new AtomicInteger();
+        
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "primefaces-export-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            
+            return thread;
+        }
     }
 
 }
@@ -33,8 +33,9 @@ import org.primefaces.json.JSONArray;
 import org.primefaces.json.JSONException;
 import org.primefaces.json.JSONObject;
 import org.primefaces.util.CollectionUtils;
-import org.primefaces.util.ComponentUtils;
+import org.primefaces.util.JSONWriter;
 import org.primefaces.util.ResourceUtils;
+import org.primefaces.util.WidgetBuilder;
 
 public class PrimePartialResponseWriter extends PartialResponseWriter {
 
@@ -88,6 +89,7 @@ public class PrimePartialResponseWriter extends PartialResponseWriter {
                 }
 
                 encodeCallbackParams(requestContext.getCallbackParams());
+                encodeDeferredWidgets(requestContext);
                 encodeScripts(requestContext);
             }
             catch (Exception exception) {
@@ -164,44 +166,16 @@ public class PrimePartialResponseWriter extends PartialResponseWriter {
         wrapped.delete(targetId);
     }
 
-    private boolean isBean(Object value) {
-        if (value == null) {
-            return false;
-        }
-
-        if (value instanceof Boolean || value instanceof String || value instanceof Number) {
-            return false;
-        }
-
-        return true;
-    }
-    
-
     public void encodeJSONObject(String paramName, JSONObject jsonObject) throws IOException, JSONException {
-        String json = jsonObject.toString();
-        json = ComponentUtils.escapeXml(json);
-
-        getWrapped().write("\"");
-        getWrapped().write(paramName);
-        getWrapped().write("\":");
-        getWrapped().write(json);
+        new JSONWriter(getWrapped(), true).writeName(paramName).writeValue(jsonObject);
     }
     
     public void encodeJSONArray(String paramName, JSONArray jsonArray) throws IOException, JSONException {
-        String json = jsonArray.toString();
-        json = ComponentUtils.escapeXml(json);
-
-        getWrapped().write("\"");
-        getWrapped().write(paramName);
-        getWrapped().write("\":");
-        getWrapped().write(json);
+        new JSONWriter(getWrapped(), true).writeName(paramName).writeValue(jsonArray);
     }
     
     public void encodeJSONValue(String paramName, Object paramValue) throws IOException, JSONException {
-        String json = new JSONObject().put(paramName, paramValue).toString();
-        json = ComponentUtils.escapeXml(json);
-
-        getWrapped().write(json.substring(1, json.length() - 1));
+        new JSONWriter(getWrapped(), true).writeName(paramName).writeObject(paramValue);
     }
 
     public void encodeCallbackParams(Map<String, Object> params) throws IOException, JSONException {
@@ -211,22 +185,12 @@ public class PrimePartialResponseWriter extends PartialResponseWriter {
             startExtension(CALLBACK_EXTENSION_PARAMS);
             getWrapped().write("{");
 
-            for(Iterator<String> it = params.keySet().iterator(); it.hasNext();) {
-                String paramName = it.next();
-                Object paramValue = params.get(paramName);
+            // beans are written with cached getters, escaped for XML while writing
+            JSONWriter writer = new JSONWriter(getWrapped(), true);
+            for(Iterator<Map.Entry<String, Object>> it = params.entrySet().iterator(); it.hasNext();) {
+                Map.Entry<String, Object> param = it.next();
 
-                if (paramValue instanceof JSONObject) {
-                    encodeJSONObject(paramName, (JSONObject) paramValue);
-                }
-                else if (paramValue instanceof JSONArray) {
-                    encodeJSONArray(paramName, (JSONArray) paramValue);
-                }
-                else if (isBean(paramValue)) {
-                    encodeJSONObject(paramName, new JSONObject(paramValue));
-                }
-                else {
-                    encodeJSONValue(paramName, paramValue);
-                }
+                writer.writeName(param.getKey()).writeObject(param.getValue());
 
                 if (it.hasNext()) {
                     getWrapped().write(",");
@@ -238,6 +202,21 @@ public class PrimePartialResponseWriter extends PartialResponseWriter {
         }
     }
 
+    /**
+     * Initializes the widgets of all updates at once, before the scripts which might use them.
+     */
+    protected void encodeDeferredWidgets(RequestContext requestContext) throws IOException {
+        WidgetBuilder widgetBuilder = requestContext.getWidgetBuilder();
+        if (widgetBuilder.isDeferred()) {
+            String scripts = widgetBuilder.takeDeferredScripts();
+            if (scripts != null) {
+                startEval();
+                getWrapped().write(scripts);
+                endEval();
+            }
+        }
+    }
+
     protected void encodeScripts(RequestContext requestContext) throws IOException {
         List<String> scripts = requestContext.getScriptsToExecute();
         if (!scripts.isEmpty()) {
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.el;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.el.ELException;
+import javax.el.ValueExpression;
+
+/**
+ * Reads simple property paths like <code>#{car.manufacturer.name}</code> directly from a row object instead of going
+ * through the EL resolver chain. The read methods are cached per path segment and bean class.
+ *
+ * Instances are not thread safe and meant to be used for a single iteration, e.g. while filtering or sorting a DataTable.
+ */
+public class PropertyPathAccessor {
+
+    /**
+     * Returned by {@link #getValue(Object)} if a segment can't be resolved as a bean or map property,
+     * callers should fall back to evaluate the expression in that case.
+     */
+    public static final Object UNRESOLVABLE = new Object();
+
+    private static final Pattern PATH_PATTERN = Pattern.compile("^#\\{\\s*([A-Za-z_$][\\w$]*)((?:\\s*\\.\\s*[A-Za-z_$][\\w$]*)+)\\s*\\}$");
+
+    private static final Set<String> RESERVED_WORDS = new HashSet<String>(Arrays.asList(
+            "and", "or", "not", "eq", "ne", "lt", "gt", "le", "ge", "true", "false", "null", "instanceof", "empty", "div", "mod"));
+
+    private final String[] properties;
+    private final Class<?>[] classes;
+    private final Method[] readMethods;
+
+    private PropertyPathAccessor(String[] properties) {
+        this.properties = properties;
+        this.classes = new Class<?>[properties.length];
+        this.readMethods = new Method[properties.length];
+    }
+
+    /**
+     * @return an accessor if the expression is a plain property path of the given var, otherwise <code>null</code>
+     */
+    public static PropertyPathAccessor compile(ValueExpression expression, String var) {
+        if(expression == null || var == null || expression.isLiteralText()) {
+            return null;
+        }
+
+        Matcher matcher = PATH_PATTERN.matcher(expression.getExpressionString());
+        if(!matcher.matches() || !matcher.group(1).equals(var)) {
+            return null;
+        }
+
+        String[] segments = matcher.group(2).split("\\.");
+        String[] properties = new String[segments.length - 1];
+        for(int i = 1; i < segments.length; i++) {
+            String property = segments[i].trim();
+            if(RESERVED_WORDS.contains(property)) {
+                return null;
+            }
+
+            properties[i - 1] = property;
+        }
+
+        return new PropertyPathAccessor(properties);
+    }
+
+    /**
+     * @param base the object bound to the var of the expression
+     * @return the value of the path or {@link #UNRESOLVABLE}
+     */
+    public Object getValue(Object base) {
+        Object value = base;
+
+        for(int i = 0; i < properties.length; i++) {
+            if(value == null) {
+                return null;
+            }
+
+            if(value instanceof Map) {
+                value = ((Map<?, ?>) value).get(properties[i]);
+                continue;
+            }
+
+            Method readMethod = getReadMethod(i, value.getClass());
+            if(readMethod == null) {
+                return UNRESOLVABLE;
+            }
+
+            try {
+                value = readMethod.invoke(value);
+            }
+            catch(InvocationTargetException e) {
+                throw new ELException(e.getCause());
+            }
+            catch(IllegalAccessException e) {
+                return UNRESOLVABLE;
+            }
+        }
+
+        return value;
+    }
+
+    private Method getReadMethod(int index, Class<?> beanClass) {
+        if(classes[index] != beanClass) {
+            classes[index] = beanClass;
+            readMethods[index] = findReadMethod(beanClass, properties[index]);
+        }
+
+        return readMethods[index];
+    }
+
+    private static Method findReadMethod(Class<?> beanClass, String property) {
+        if(beanClass.isArray() || Iterable.class.isAssignableFrom(beanClass)) {
+            return null;
+        }
+
+        try {
+            for(PropertyDescriptor descriptor : Introspector.getBeanInfo(beanClass).getPropertyDescriptors()) {
+                if(descriptor.getName().equals(property)) {
+                    Method method = descriptor.getReadMethod();
+                    if(method == null) {
+                        return null;
+                    }
+
+                    if(!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                        try {
+                            method.setAccessible(true);
+                        }
+                        catch(SecurityException e) {
+                            return null;
+                        }
+                    }
+
+                    return method;
+                }
+            }
+        }
+        catch(IntrospectionException e) {
+            return null;
+        }
+
+        return null;
+    }
+}
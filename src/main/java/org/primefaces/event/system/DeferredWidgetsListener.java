@@ -0,0 +1,117 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.event.system;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.logging.Logger;
+import javax.faces.component.UIComponent;
+import javax.faces.component.UIComponentBase;
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.FacesContext;
+import javax.faces.context.PartialViewContext;
+import javax.faces.event.AbortProcessingException;
+import javax.faces.event.SystemEvent;
+import javax.faces.event.SystemEventListener;
+import org.primefaces.context.RequestContext;
+import org.primefaces.util.WidgetBuilder;
+
+/**
+ * Adds the deferred widget init scripts to the end of the body, if <code>primefaces.DEFER_WIDGETS</code> is enabled.
+ * Partial responses render them in {@link org.primefaces.context.PrimePartialResponseWriter}, unless the whole view is
+ * rendered.
+ * Views without a <code>h:body</code> don't render the body resources, so the scripts that are still collected are
+ * rendered after the view instead.
+ */
+public class DeferredWidgetsListener implements SystemEventListener {
+
+    private static final Logger LOG = Logger.getLogger(DeferredWidgetsListener.class.getName());
+
+    private static final String TARGET = "body";
+
+    public void processEvent(SystemEvent event) throws AbortProcessingException {
+        FacesContext context = FacesContext.getCurrentInstance();
+        RequestContext requestContext = RequestContext.getCurrentInstance();
+
+        if (requestContext == null || !requestContext.getApplicationContext().getConfig().isDeferWidgetsEnabled()) {
+            return;
+        }
+
+        PartialViewContext partialViewContext = context.getPartialViewContext();
+        if (partialViewContext.isAjaxRequest() && !partialViewContext.isRenderAll()) {
+            return;
+        }
+
+        UIViewRoot viewRoot = context.getViewRoot();
+        for (UIComponent resource : viewRoot.getComponentResources(context, TARGET)) {
+            if (resource instanceof DeferredWidgetScripts) {
+                return;
+            }
+        }
+
+        viewRoot.addComponentResource(context, new DeferredWidgetScripts(), TARGET);
+
+        List<UIComponent> children = viewRoot.getChildren();
+        if (children.isEmpty() || !(children.get(children.size() - 1) instanceof UnflushedDeferredWidgetScripts)) {
+            children.add(new UnflushedDeferredWidgetScripts());
+        }
+    }
+
+    public boolean isListenerForSource(Object source) {
+        return source instanceof UIViewRoot;
+    }
+
+    /**
+     * Renders the collected scripts, it is rendered after the other content of the body. Not saved in the state, it is
+     * added again on each render.
+     */
+    public static class DeferredWidgetScripts extends UIComponentBase {
+
+        public DeferredWidgetScripts() {
+            setTransient(true);
+            setRendererType(null);
+        }
+
+        @Override
+        public String getFamily() {
+            return "org.primefaces.component";
+        }
+
+        @Override
+        public void encodeEnd(FacesContext context) throws IOException {
+            RequestContext.getCurrentInstance().getWidgetBuilder().renderDeferredScripts();
+        }
+    }
+
+    /**
+     * Renders the scripts which were not rendered at the end of the body, as the last child of the view.
+     */
+    public static class UnflushedDeferredWidgetScripts extends DeferredWidgetScripts {
+
+        @Override
+        public void encodeEnd(FacesContext context) throws IOException {
+            WidgetBuilder widgetBuilder = RequestContext.getCurrentInstance().getWidgetBuilder();
+            String scripts = widgetBuilder.takeDeferredScripts();
+
+            if (scripts != null) {
+                LOG.warning("Deferred widget scripts of view \"" + context.getViewRoot().getViewId()
+                        + "\" were not rendered at the end of the body, use h:body instead of body.");
+
+                widgetBuilder.renderScripts(scripts);
+            }
+        }
+    }
+}
@@ -28,6 +28,7 @@ import javax.faces.context.FacesContext;
 import org.primefaces.util.ComponentTraversalUtils;
 
 import org.primefaces.util.ComponentUtils;
+import org.primefaces.util.ConcurrentLimitedSizeHashMap;
 import org.primefaces.util.SharedStringBuilder;
 
 /**
@@ -43,6 +44,9 @@ public class SearchExpressionFacade {
 
     private static final char[] EXPRESSION_SEPARATORS = new char[] { ',', ' ' };
 
+    // expressions are static attribute values in most cases, so splitting them once is enough
+    private static final ConcurrentLimitedSizeHashMap<String, String[]> SPLIT_CACHE = new ConcurrentLimitedSizeHashMap<String, String[]>(5000);
+
     /**
      * Resolves a list of {@link UIComponent}s for the given expression or expressions.
      *
@@ -162,6 +166,24 @@ public class SearchExpressionFacade {
             return null;
         }
 
+        SearchExpressionMemo memo = SearchExpressionMemo.get(context);
+        if (memo == null) {
+            return resolveClientIdsWithoutMemo(context, source, expressions, hints);
+        }
+
+        String key = SearchExpressionMemo.createKey(source.getClientId(context), expressions, hints);
+        if (memo.containsClientIds(key)) {
+            return memo.getClientIds(key);
+        }
+
+        String clientIds = resolveClientIdsWithoutMemo(context, source, expressions, hints);
+        memo.putClientIds(key, clientIds);
+
+        return clientIds;
+    }
+
+    private static String resolveClientIdsWithoutMemo(FacesContext context, UIComponent source, String expressions, int hints) {
+
         String[] splittedExpressions = splitExpressions(context, source, expressions);
 
         if (splittedExpressions != null && splittedExpressions.length > 0) {
@@ -783,6 +805,7 @@ public class SearchExpressionFacade {
 
 	/**
 	 * Splits the given string by the given separator, but ignoring separators inside parentheses.
+	 * The result is cached for the application and must not be modified.
      *
      * @param context The current {@link FacesContext}.
 	 * @param value The string value.
@@ -795,6 +818,12 @@ public class SearchExpressionFacade {
 			return null;
 		}
 
+		String key = String.valueOf(separators) + '\u0000' + value;
+		String[] cachedTokens = SPLIT_CACHE.get(key);
+		if (cachedTokens != null) {
+			return cachedTokens;
+		}
+
 		List<String> tokens = new ArrayList<String>();
 		StringBuilder buffer = SharedStringBuilder.get(context, SHARED_SPLIT_BUFFER_KEY);
 
@@ -835,7 +864,10 @@ public class SearchExpressionFacade {
 		// lets not forget about part after the separator
 		tokens.add(buffer.toString());
 
-		return tokens.toArray(new String[tokens.size()]);
+		String[] splittedTokens = tokens.toArray(new String[tokens.size()]);
+		SPLIT_CACHE.put(key, splittedTokens);
+
+		return splittedTokens;
 	}
 
 
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.expression;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.FacesContext;
+
+/**
+ * Remembers the resolved clientIds of search expressions for the current request, as the same expressions are resolved
+ * again and again from the same components, e.g. the update and process attributes on every ajax render.
+ *
+ * The results are keyed by the clientId of the source, so sources inside iterating components are resolved per row.
+ * The memo is dropped if the view is replaced or if components are added to or removed from the view, see
+ * {@link SearchExpressionMemoListener}.
+ */
+public class SearchExpressionMemo {
+
+    private static final String KEY = SearchExpressionMemo.class.getName();
+
+    private final UIViewRoot viewRoot;
+
+    private final Map<String, String> clientIds = new HashMap<String, String>();
+
+    private SearchExpressionMemo(UIViewRoot viewRoot) {
+        this.viewRoot = viewRoot;
+    }
+
+    /**
+     * @return the memo of the current view, null if there is no view yet
+     */
+    public static SearchExpressionMemo get(FacesContext context) {
+        UIViewRoot currentViewRoot = context.getViewRoot();
+        if (currentViewRoot == null) {
+            return null;
+        }
+
+        Map<Object, Object> attributes = context.getAttributes();
+        SearchExpressionMemo memo = (SearchExpressionMemo) attributes.get(KEY);
+        if (memo == null || memo.viewRoot != currentViewRoot) {
+            memo = new SearchExpressionMemo(currentViewRoot);
+            attributes.put(KEY, memo);
+        }
+
+        return memo;
+    }
+
+    /**
+     * Drops all remembered results of the current request.
+     */
+    public static void invalidate(FacesContext context) {
+        if (context != null) {
+            context.getAttributes().remove(KEY);
+        }
+    }
+
+    public static String createKey(String sourceClientId, String expressions, int hints) {
+        return new StringBuilder(sourceClientId.length() + expressions.length() + 4)
+                .append(hints).append('\u0000').append(sourceClientId).append('\u0000').append(expressions).toString();
+    }
+
+    public boolean containsClientIds(String key) {
+        return clientIds.containsKey(key);
+    }
+
+    public String getClientIds(String key) {
+        return clientIds.get(key);
+    }
+
+    public void putClientIds(String key, String value) {
+        clientIds.put(key, value);
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.expression;
+
+import javax.faces.context.FacesContext;
+import javax.faces.event.AbortProcessingException;
+import javax.faces.event.SystemEvent;
+import javax.faces.event.SystemEventListener;
+
+/**
+ * Drops the {@link SearchExpressionMemo} of the current request when components are added to or removed from the view.
+ */
+public class SearchExpressionMemoListener implements SystemEventListener {
+
+    public void processEvent(SystemEvent event) throws AbortProcessingException {
+        SearchExpressionMemo.invalidate(FacesContext.getCurrentInstance());
+    }
+
+    public boolean isListenerForSource(Object source) {
+        return true;
+    }
+}
@@ -24,11 +24,14 @@ import javax.faces.context.FacesContext;
 import org.primefaces.expression.MultiSearchExpressionResolver;
 import org.primefaces.expression.SearchExpressionResolver;
 import org.primefaces.util.ComponentTraversalUtils;
+import org.primefaces.util.ConcurrentLimitedSizeHashMap;
 
 public class IdExpressionResolver implements SearchExpressionResolver, MultiSearchExpressionResolver {
 
     private static final Pattern PATTERN = Pattern.compile("@id\\(([\\w-]+)\\)");
 
+    private static final ConcurrentLimitedSizeHashMap<String, String> IDS = new ConcurrentLimitedSizeHashMap<String, String>(1000);
+
     public UIComponent resolveComponent(FacesContext context, UIComponent source, UIComponent last, String expression, int options) {
         throw new FacesException("@id likely returns multiple components, therefore it's not supported in #resolveComponent... expression \"" + expression
                 + "\" referenced from \"" + source.getClientId(context) + "\".");
@@ -42,6 +45,17 @@ public class IdExpressionResolver implements SearchExpressionResolver, MultiSear
     }
 
     protected String extractId(String expression)
+    {
+        String id = IDS.get(expression);
+        if (id == null) {
+            id = matchId(expression);
+            IDS.put(expression, id);
+        }
+
+        return id;
+    }
+
+    private String matchId(String expression)
     {
         try {
             Matcher matcher = PATTERN.matcher(expression);
@@ -23,6 +23,7 @@ import javax.faces.context.FacesContext;
 import org.primefaces.expression.ClientIdSearchExpressionResolver;
 import org.primefaces.expression.SearchExpressionResolver;
 import org.primefaces.expression.SearchExpressionUtils;
+import org.primefaces.util.ConcurrentLimitedSizeHashMap;
 
 /**
  * {@link SearchExpressionResolver} for the "@widgetVar" keyword.
@@ -31,14 +32,23 @@ public class WidgetVarExpressionResolver implements SearchExpressionResolver, Cl
 
     private static final Pattern PATTERN = Pattern.compile("@widgetVar\\((\\w+)\\)");
 
+    private static final ConcurrentLimitedSizeHashMap<String, String> WIDGET_VARS = new ConcurrentLimitedSizeHashMap<String, String>(1000);
+
 	public UIComponent resolveComponent(FacesContext context, UIComponent source, UIComponent last, String expression, int options) {
 
         try {
-            Matcher matcher = PATTERN.matcher(expression);
+            String widgetVar = WIDGET_VARS.get(expression);
+            if (widgetVar == null) {
+                Matcher matcher = PATTERN.matcher(expression);
+                if (matcher.matches()) {
+                    widgetVar = matcher.group(1);
+                    WIDGET_VARS.put(expression, widgetVar);
+                }
+            }
 
-            if (matcher.matches()) {
+            if (widgetVar != null) {
 
-                WidgetVarVisitCallback visitCallback = new WidgetVarVisitCallback(matcher.group(1));
+                WidgetVarVisitCallback visitCallback = new WidgetVarVisitCallback(widgetVar);
                 context.getViewRoot().visitTree(
                         SearchExpressionUtils.createVisitContext(context, options),
                         visitCallback);
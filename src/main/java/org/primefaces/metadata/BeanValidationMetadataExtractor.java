@@ -63,17 +63,24 @@ public class BeanValidationMetadataExtractor {
             ELContext elContext = context.getELContext();
             ValueReference vr = ValueExpressionAnalyzer.getReference(elContext, ve);
             
-            if (vr != null) {
-                Validator validator = requestContext.getApplicationContext().getValidator();
-                Object base = vr.getBase();
-                Object property = vr.getProperty();
+            return extractPropertyDescriptor(requestContext, vr);
+        }
+        
+        return null;
+    }
+
+    public static PropertyDescriptor extractPropertyDescriptor(RequestContext requestContext, ValueReference vr) {
+
+        if (vr != null) {
+            Validator validator = requestContext.getApplicationContext().getValidator();
+            Object base = vr.getBase();
+            Object property = vr.getProperty();
+            
+            if (base != null && property != null) {
+                BeanDescriptor beanDescriptor = validator.getConstraintsForClass(base.getClass());
                 
-                if (base != null && property != null) {
-                    BeanDescriptor beanDescriptor = validator.getConstraintsForClass(base.getClass());
-                    
-                    if (beanDescriptor != null) {
-                        return beanDescriptor.getConstraintsForProperty(property.toString());
-                    }
+                if (beanDescriptor != null) {
+                    return beanDescriptor.getConstraintsForProperty(property.toString());
                 }
             }
         }
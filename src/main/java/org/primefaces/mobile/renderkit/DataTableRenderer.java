@@ -364,7 +364,7 @@ public class DataTableRenderer extends org.primefaces.component.datatable.DataTa
         
         //Preselection
         
-        boolean selected = table.getSelectedRowKeys().contains(rowKey);
+        boolean selected = table.isSelectedRowKey(rowKey);
         
         String userRowStyleClass = table.getRowStyleClass();
         String rowStyleClass = DataTable.MOBILE_ROW_CLASS;
@@ -16,13 +16,17 @@
 package org.primefaces.model;
 
 import java.text.Collator;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
 import java.util.Locale;
 
 import javax.el.MethodExpression;
 import javax.el.ValueExpression;
 import javax.faces.FacesException;
 import javax.faces.context.FacesContext;
+import org.primefaces.el.PropertyPathAccessor;
 
 /**
  * Generic comparator for column sorting.
@@ -37,6 +41,7 @@ public class BeanPropertyComparator implements Comparator {
     private Locale locale;
     private Collator collator;
     private int nullSortOrder;
+    private PropertyPathAccessor accessor;
 
     public BeanPropertyComparator(ValueExpression sortBy, String var, SortOrder sortOrder, MethodExpression sortFunction, boolean caseSensitive, Locale locale, int nullSortOrder) {
         this.sortBy = sortBy;
@@ -47,6 +52,7 @@ public class BeanPropertyComparator implements Comparator {
         this.locale = locale;
         this.collator = Collator.getInstance(locale);
         this.nullSortOrder = nullSortOrder;
+        this.accessor = PropertyPathAccessor.compile(sortBy, var);
     }
 
     @SuppressWarnings("unchecked")
@@ -92,4 +98,106 @@ public class BeanPropertyComparator implements Comparator {
             throw new FacesException(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Sorts the list by evaluating the sortBy expression only once per row (decorate-sort-undecorate),
+     * the resulting order is the same as <code>Collections.sort(list, this)</code>.
+     */
+    public void sort(List list) {
+        sort(list, Arrays.asList(this));
+    }
+
+    /**
+     * Extracts the value to sort the given row by. Strings are converted to their collation keys,
+     * so they can be compared without running the collator again for every comparison.
+     */
+    protected Object extractKey(FacesContext context, Object row) {
+        Object value = PropertyPathAccessor.UNRESOLVABLE;
+        if(accessor != null) {
+            value = accessor.getValue(row);
+        }
+
+        if(value == PropertyPathAccessor.UNRESOLVABLE) {
+            context.getExternalContext().getRequestMap().put(var, row);
+            value = sortBy.getValue(context.getELContext());
+        }
+
+        if(sortFunction == null && value instanceof String) {
+            String text = (String) value;
+
+            return collator.getCollationKey(this.caseSensitive ? text : text.toLowerCase(locale));
+        }
+
+        return value;
+    }
+
+    /**
+     * Compares two keys created by {@link #extractKey(FacesContext, Object)} like {@link #compare(Object, Object)} compares the rows.
+     */
+    @SuppressWarnings("unchecked")
+    protected int compareKeys(FacesContext context, Object value1, Object value2) {
+        try {
+            int result;
+
+            //Empty check
+            if (value1 == null && value2 == null) {
+                return 0;
+            } else if (value1 == null) {
+                result = 1 * nullSortOrder;
+            } else if (value2 == null) {
+                result = -1 * nullSortOrder;
+            } else if (sortFunction == null) {
+                result = ((Comparable) value1).compareTo(value2);
+            } else {
+                result = (Integer) sortFunction.invoke(context.getELContext(), new Object[]{value1, value2});
+            }
+
+            return asc ? result : -1 * result;
+
+        } catch (Exception e) {
+            throw new FacesException(e);
+        }
+    }
+
+    static void sort(List list, final List<BeanPropertyComparator> comparators) {
+        final FacesContext context = FacesContext.getCurrentInstance();
+        final int comparatorCount = comparators.size();
+
+        Object[][] rows = new Object[list.size()][];
+        int index = 0;
+        for(Object row : list) {
+            Object[] keys = new Object[comparatorCount + 1];
+            keys[0] = row;
+            for(int i = 0; i < comparatorCount; i++) {
+                try {
+                    keys[i + 1] = comparators.get(i).extractKey(context, row);
+                }
+                catch (Exception e) {
+                    throw new FacesException(e);
+                }
+            }
+            rows[index++] = keys;
+        }
+
+        // stable like Collections.sort, so rows with equal keys keep their order
+        Arrays.sort(rows, new Comparator<Object[]>() {
+
+            public int compare(Object[] keys1, Object[] keys2) {
+                for(int i = 0; i < comparatorCount; i++) {
+                    int result = comparators.get(i).compareKeys(context, keys1[i + 1], keys2[i + 1]);
+                    if(result != 0) {
+                        return result;
+                    }
+                }
+
+                return 0;
+            }
+        });
+
+        ListIterator iterator = list.listIterator();
+        for(Object[] keys : rows) {
+            iterator.next();
+            iterator.set(keys[0]);
+        }
+    }
+}
@@ -45,4 +45,12 @@ public class ChainedBeanPropertyComparator implements Comparator {
         
         return 0;
     }
+
+    /**
+     * Sorts the list by evaluating the sortBy expressions only once per row,
+     * the resulting order is the same as <code>Collections.sort(list, this)</code>.
+     */
+    public void sort(List list) {
+        BeanPropertyComparator.sort(list, comparators);
+    }
 }
@@ -193,6 +193,13 @@ public class CheckboxTreeNode implements TreeNode, Serializable {
 	}
 
     public String getRowKey() {
+        if(parent != null) {
+            List<TreeNode> siblings = parent.getChildren();
+            if(siblings instanceof TreeNodeList) {
+                ((TreeNodeList) siblings).updateRowKeys();
+            }
+        }
+        
         return rowKey;
     }
 
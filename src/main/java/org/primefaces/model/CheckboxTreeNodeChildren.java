@@ -23,6 +23,10 @@ public class CheckboxTreeNodeChildren extends TreeNodeList {
 
     private TreeNode parent;
     
+    private boolean rowKeysOutdated;
+    
+    private String rowKeysParentRowKey;
+    
     public CheckboxTreeNodeChildren(TreeNode parent) {
         this.parent = parent;
     }
@@ -44,7 +48,7 @@ public class CheckboxTreeNodeChildren extends TreeNodeList {
             eraseParent(node);
             boolean result = super.add(node);
             node.setParent(parent);
-            updateRowKeys(parent);
+            invalidateRowKeys(node);
             updateSelectionState(parent);
             return result;
         }
@@ -62,7 +66,7 @@ public class CheckboxTreeNodeChildren extends TreeNodeList {
             eraseParent(node);
             super.add(index, node);
             node.setParent(parent);
-            updateRowKeys(parent);
+            invalidateRowKeys(node);
             updateSelectionState(parent);
         }
     }
@@ -71,6 +75,7 @@ public class CheckboxTreeNodeChildren extends TreeNodeList {
     public boolean addAll(Collection<? extends TreeNode> collection) {
         Iterator<TreeNode> elements = (new ArrayList<TreeNode>(collection)).iterator();
         boolean changed = false;
+        boolean lazy = true;
         while(elements.hasNext()) {
             TreeNode node = elements.next();
             if(node == null) {
@@ -80,12 +85,13 @@ public class CheckboxTreeNodeChildren extends TreeNodeList {
                 eraseParent(node);
                 super.add(node);
                 node.setParent(parent);
+                lazy = lazy && isLazyRowKeyNode(node);
                 changed = true;
             }
         }
         
         if(changed) {
-            updateRowKeys(parent);
+            invalidateRowKeys(lazy);
             updateSelectionState(parent);
         }
         
@@ -96,6 +102,7 @@ public class CheckboxTreeNodeChildren extends TreeNodeList {
     public boolean addAll(int index, Collection<? extends TreeNode> collection) {
         Iterator<TreeNode> elements = (new ArrayList<TreeNode>(collection)).iterator();
         boolean changed = false;
+        boolean lazy = true;
         while(elements.hasNext()) {
             TreeNode node = elements.next();
             if(node == null) {
@@ -105,12 +112,13 @@ public class CheckboxTreeNodeChildren extends TreeNodeList {
                 eraseParent(node);
                 super.add(index++, node);
                 node.setParent(parent);
+                lazy = lazy && isLazyRowKeyNode(node);
                 changed = true;
             }
         }
         
         if(changed) {
-            updateRowKeys(parent);
+            invalidateRowKeys(lazy);
             updateSelectionState(parent);
         }
         
@@ -134,7 +142,7 @@ public class CheckboxTreeNodeChildren extends TreeNodeList {
             super.set(index, node);
             previous.setParent(null);
             node.setParent(parent);
-            updateRowKeys(parent);
+            invalidateRowKeys(node);
             updateSelectionState(parent);
             return previous;
         }
@@ -161,7 +169,7 @@ public class CheckboxTreeNodeChildren extends TreeNodeList {
             TreeNode previous = get(index);
             super.set(index, node);
             node.setParent(parent);
-            updateRowKeys(parent);
+            invalidateRowKeys(node);
             updateSelectionState(parent);
             return previous;
         }
@@ -170,9 +178,10 @@ public class CheckboxTreeNodeChildren extends TreeNodeList {
     @Override
     public TreeNode remove(int index) {
         TreeNode node = get(index);
+        detachRowKey(index, node);
         node.setParent(null);
         super.remove(index);
-        updateRowKeys(parent);
+        invalidateRowKeys(node);
         updateSelectionState(parent);
         return node;
     }
@@ -184,16 +193,61 @@ public class CheckboxTreeNodeChildren extends TreeNodeList {
             throw new NullPointerException();
         }
         
-        if(super.indexOf(node) != -1) {
-            node.clearParent();
+        int index = super.indexOf(node);
+        if(index == -1) {
+            return false;
         }
         
-        if(super.remove(node)) {
+        detachRowKey(index, node);
+        node.clearParent();
+        super.remove(index);
+        invalidateRowKeys(node);
+        updateSelectionState(parent);
+        return true;
+    }
+    
+    private void invalidateRowKeys(TreeNode node) {
+        invalidateRowKeys(isLazyRowKeyNode(node));
+    }
+    
+    /**
+     * Row keys of lazy nodes are reassigned when one of them is read, other nodes get their row keys right away
+     */
+    private void invalidateRowKeys(boolean lazy) {
+        if(lazy && isLazyRowKeyNode(parent)) {
+            rowKeysOutdated = true;
+        }
+        else {
             updateRowKeys(parent);
-            updateSelectionState(parent);
-            return true;
-        } else {
-            return false;
+        }
+    }
+    
+    /**
+     * Keeps the row key a node had at its position before it is removed
+     */
+    private void detachRowKey(int index, TreeNode node) {
+        if(isLazyRowKeyNode(parent) && isLazyRowKeyNode(node)) {
+            String parentRowKey = getParentRowKey();
+            node.setRowKey((parentRowKey == null) ? String.valueOf(index) : parentRowKey + "_" + index);
+        }
+    }
+    
+    private String getParentRowKey() {
+        return (parent.getParent() == null) ? null : parent.getRowKey();
+    }
+    
+    @Override
+    public void updateRowKeys() {
+        String parentRowKey = getParentRowKey();
+        
+        //parent row keys are reassigned as new strings, e.g. by UITree#updateRowKeys, so they are compared by value
+        if(rowKeysOutdated || !isSameRowKey(parentRowKey, rowKeysParentRowKey)) {
+            rowKeysOutdated = false;
+            rowKeysParentRowKey = parentRowKey;
+            
+            for(int i = 0; i < size(); i++) {
+                get(i).setRowKey((parentRowKey == null) ? String.valueOf(i) : parentRowKey + "_" + i);
+            }
         }
     }
     
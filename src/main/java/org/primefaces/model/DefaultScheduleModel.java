@@ -17,13 +17,16 @@ package org.primefaces.model;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public class DefaultScheduleModel implements ScheduleModel, Serializable {
 
 	private List<ScheduleEvent> events;
     private boolean eventLimit = false;
+    private transient Map<String,Integer> positions;
 
 	public DefaultScheduleModel() {
 		events = new ArrayList<ScheduleEvent>(); 
@@ -37,10 +40,20 @@ public class DefaultScheduleModel implements ScheduleModel, Serializable {
 		event.setId(UUID.randomUUID().toString());
 		
 		events.add(event);
+		
+		if(positions != null) {
+			positions.put(event.getId(), events.size() - 1);
+		}
 	}
 	
 	public boolean deleteEvent(ScheduleEvent event) {
-		return events.remove(event);
+		boolean removed = events.remove(event);
+		
+		if(removed) {
+			positions = null;
+		}
+		
+		return removed;
 	}
 	
 	public List<ScheduleEvent> getEvents() {
@@ -48,24 +61,13 @@ public class DefaultScheduleModel implements ScheduleModel, Serializable {
 	}
 	
 	public ScheduleEvent getEvent(String id) {
-		for(ScheduleEvent event : events) {
-			if(event.getId().equals(id))
-				return event;
-		}
+		int index = indexOf(id);
 		
-		return null;
+		return (index >= 0) ? events.get(index) : null;
 	}
 	
 	public void updateEvent(ScheduleEvent event) {
-		int index = -1;
-		
-		for(int i = 0 ; i < events.size(); i++) {
-			if(events.get(i).getId().equals(event.getId())) {
-				index = i;
-				
-				break;
-			}
-		}
+		int index = indexOf(event.getId());
 		
 		if(index >= 0) {
 			events.set(index, event);
@@ -78,6 +80,39 @@ public class DefaultScheduleModel implements ScheduleModel, Serializable {
 
 	public void clear() {
 		events = new ArrayList<ScheduleEvent>();
+		positions = null;
+	}
+	
+	/**
+	 * Looks up the position of an event by its id in an index, the index is rebuilt if it does not match the events
+	 * anymore, e.g. if the list of events was changed directly.
+	 * 
+	 * @param id	Id of the event
+	 * @return		Position of the first event with the id or -1
+	 */
+	protected int indexOf(String id) {
+		if(id == null) {
+			return -1;
+		}
+		
+		if(positions != null) {
+			Integer position = positions.get(id);
+			if(position != null && position < events.size() && id.equals(events.get(position).getId())) {
+				return position;
+			}
+		}
+		
+		positions = new HashMap<String,Integer>();
+		for(int i = 0; i < events.size(); i++) {
+			String eventId = events.get(i).getId();
+			if(eventId != null && !positions.containsKey(eventId)) {
+				positions.put(eventId, i);
+			}
+		}
+		
+		Integer position = positions.get(id);
+		
+		return (position == null) ? -1 : position;
 	}
 
     public boolean isEventLimit() {
@@ -146,6 +146,13 @@ public class DefaultTreeNode implements TreeNode, Serializable {
 	}
 
     public String getRowKey() {
+        if(parent != null) {
+            List<TreeNode> siblings = parent.getChildren();
+            if(siblings instanceof TreeNodeList) {
+                ((TreeNodeList) siblings).updateRowKeys();
+            }
+        }
+        
         return rowKey;
     }
 
@@ -158,6 +165,7 @@ public class DefaultTreeNode implements TreeNode, Serializable {
 		final int prime = 31;
 		int result = 1;
 		result = prime * result + ((data == null) ? 0 : data.hashCode());
+                String rowKey = getRowKey();
                 result = prime * result + ((rowKey == null) ? 0 : rowKey.hashCode());
 		return result;
 	}
@@ -178,10 +186,11 @@ public class DefaultTreeNode implements TreeNode, Serializable {
 		} else if (!data.equals(other.data))
 			return false;
 
+                String rowKey = getRowKey();
                 if (rowKey == null) {
-                    if (other.rowKey != null)
+                    if (other.getRowKey() != null)
                         return false;
-                } else if (!rowKey.equals(other.rowKey))
+                } else if (!rowKey.equals(other.getRowKey()))
                         return false;
 		
 		return true;
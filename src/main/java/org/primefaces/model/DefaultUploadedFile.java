@@ -16,19 +16,25 @@
 package org.primefaces.model;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 
 import org.apache.commons.fileupload.FileItem;
+import org.apache.commons.fileupload.disk.DiskFileItem;
+import org.primefaces.util.FileUploadUtils;
 
 /**
  * 
  * UploadedFile implementation based on Commons FileUpload FileItem
  */
-public class DefaultUploadedFile implements UploadedFile, Serializable {
+public class DefaultUploadedFile implements StreamingUploadedFile, Serializable {
 
 	private FileItem fileItem;
+    private long maxContentsSize = -1;
 	
 	public DefaultUploadedFile() {}
 
@@ -36,6 +42,14 @@ public class DefaultUploadedFile implements UploadedFile, Serializable {
 		this.fileItem = fileItem;
 	}
 
+    /**
+     * @param maxContentsSize the maximum size {@link #getContents()} loads into memory, -1 for unlimited
+     */
+	public DefaultUploadedFile(FileItem fileItem, long maxContentsSize) {
+		this.fileItem = fileItem;
+        this.maxContentsSize = maxContentsSize;
+	}
+
 	public String getFileName() {
 		return fileItem.getName();
 	}
@@ -49,6 +63,10 @@ public class DefaultUploadedFile implements UploadedFile, Serializable {
 	}
 
 	public byte[] getContents() {
+        if(!fileItem.isInMemory()) {
+            FileUploadUtils.checkContentsSize(fileItem.getSize(), maxContentsSize);
+        }
+        
 		return fileItem.get();
 	}
 
@@ -60,4 +78,44 @@ public class DefaultUploadedFile implements UploadedFile, Serializable {
         fileItem.write(new File(filePath));
     }
 
+    public ReadableByteChannel getChannel() throws IOException {
+        File storeLocation = getStoreLocation();
+        if(storeLocation != null) {
+            return new FileInputStream(storeLocation).getChannel();
+        }
+        
+        return Channels.newChannel(getInputstream());
+    }
+
+    public void transferTo(File target) throws IOException {
+        File storeLocation = getStoreLocation();
+        if(storeLocation != null) {
+            FileUploadUtils.transferTo(storeLocation, target);
+        }
+        else {
+            FileUploadUtils.transferTo(getInputstream(), target);
+        }
+    }
+
+    /**
+     * @return the temporary file if the item was written to disk, otherwise <code>null</code>
+     */
+    protected File getStoreLocation() {
+        if(fileItem instanceof DiskFileItem && !fileItem.isInMemory()) {
+            File storeLocation = ((DiskFileItem) fileItem).getStoreLocation();
+            if(storeLocation != null && storeLocation.exists()) {
+                return storeLocation;
+            }
+        }
+        
+        return null;
+    }
+
+    public long getMaxContentsSize() {
+        return maxContentsSize;
+    }
+
+    public void setMaxContentsSize(long maxContentsSize) {
+        this.maxContentsSize = maxContentsSize;
+    }
 }
@@ -18,6 +18,7 @@ package org.primefaces.model;
 import java.util.Locale;
 import javax.el.MethodExpression;
 import javax.el.ValueExpression;
+import javax.faces.context.FacesContext;
 import org.primefaces.component.api.DynamicColumn;
 
 public class DynamicChainedPropertyComparator extends BeanPropertyComparator {
@@ -37,4 +38,11 @@ public class DynamicChainedPropertyComparator extends BeanPropertyComparator {
         
         return super.compare(obj1, obj2);
     }
+
+    @Override
+    protected Object extractKey(FacesContext context, Object row) {
+        column.applyStatelessModel();
+
+        return super.extractKey(context, row);
+    }
 }
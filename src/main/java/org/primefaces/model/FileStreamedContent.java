@@ -0,0 +1,97 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.model;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+
+/**
+ * StreamedContent backed by a file. Dynamic resources of this type are served with range requests (206) and
+ * ETag validation (304), and the file is copied to the response through its FileChannel.
+ */
+public class FileStreamedContent implements StreamedContent {
+
+    private File file;
+
+    private String contentType;
+
+    private String name;
+
+    private String contentEncoding;
+
+    public FileStreamedContent(File file, String contentType) {
+        this.file = file;
+        this.contentType = contentType;
+    }
+
+    public FileStreamedContent(File file, String contentType, String name) {
+        this(file, contentType);
+        this.name = name;
+    }
+
+    public FileStreamedContent(File file, String contentType, String name, String contentEncoding) {
+        this(file, contentType, name);
+        this.contentEncoding = contentEncoding;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Opens a new stream on each call, so the content can be kept in a view or session scoped bean and streamed again.
+     * The caller has to close it.
+     *
+     * @return the stream of the file or null if the file doesn't exist
+     */
+    public InputStream getStream() {
+        try {
+            return new FileInputStream(file);
+        }
+        catch(FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    public Integer getContentLength() {
+        long length = file.length();
+
+        return (length > Integer.MAX_VALUE) ? null : (int) length;
+    }
+
+    /**
+     * Strong validator of the file built from its length and modification date, like most web servers do.
+     *
+     * @return the quoted ETag
+     */
+    public String getETag() {
+        return "\"" + Long.toHexString(file.length()) + "-" + Long.toHexString(file.lastModified()) + "\"";
+    }
+}
@@ -1,9 +1,15 @@
 package org.primefaces.model;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 public class LazyScheduleModel extends DefaultScheduleModel {
 
+    private boolean cacheLoadedRanges = false;
+    private List<long[]> loadedRanges = new ArrayList<long[]>();
+    private transient List<ScheduleEvent> loadedEvents;
+
 	/**
 	 * Method to be used when implementing lazy loading, implementers should override to fetch events that belong to a particular period
 	 * 
@@ -11,4 +17,135 @@ public class LazyScheduleModel extends DefaultScheduleModel {
 	 * @param end 	End date of period
 	 */
 	public void loadEvents(Date start, Date end) {}
+
+	/**
+	 * Called by the schedule to load the events of the displayed period. By default all events are cleared and the whole period is loaded,
+	 * with cacheLoadedRanges enabled the events are kept and loadEvents is only called for the parts of the period that were not loaded yet.
+	 * 
+	 * @param start	Start date of period
+	 * @param end 	End date of period
+	 */
+	public void lazyLoadEvents(Date start, Date end) {
+		if(!cacheLoadedRanges) {
+			clear();
+			loadEvents(start, end);
+			return;
+		}
+		
+		List<long[]> gaps = getUnloadedRanges(start.getTime(), end.getTime());
+		if(gaps.isEmpty()) {
+			return;
+		}
+		
+		loadedEvents = new ArrayList<ScheduleEvent>(getEvents());
+		try {
+			for(long[] gap : gaps) {
+				loadEvents(new Date(gap[0]), new Date(gap[1]));
+				addLoadedRange(gap[0], gap[1]);
+			}
+		}
+		finally {
+			loadedEvents = null;
+		}
+	}
+	
+	@Override
+	public void addEvent(ScheduleEvent event) {
+		if(loadedEvents != null && isLoaded(event)) {
+			return;
+		}
+		
+		super.addEvent(event);
+	}
+	
+	/**
+	 * Events overlapping several ranges are loaded more than once. An event overlapping a loaded range was already added
+	 * when that range was loaded. An event only touching the bound of a loaded range was added if the model already
+	 * holds an equal one, which is consumed so several equal events, e.g. bookings of different rooms, are all kept.
+	 */
+	private boolean isLoaded(ScheduleEvent event) {
+		Date startDate = event.getStartDate();
+		Date endDate = event.getEndDate();
+		if(startDate == null) {
+			return false;
+		}
+		
+		long start = startDate.getTime();
+		long end = (endDate == null) ? start : endDate.getTime();
+		boolean touching = false;
+		
+		for(long[] range : loadedRanges) {
+			if(start < range[1] && end > range[0]) {
+				return true;
+			}
+			if(start <= range[1] && end >= range[0]) {
+				touching = true;
+			}
+		}
+		
+		return touching && loadedEvents.remove(event);
+	}
+	
+	@Override
+	public void clear() {
+		super.clear();
+		loadedRanges.clear();
+	}
+	
+	/**
+	 * @return the parts of the period that were not loaded yet, ordered by start
+	 */
+	protected List<long[]> getUnloadedRanges(long start, long end) {
+		List<long[]> gaps = new ArrayList<long[]>();
+		long position = start;
+		
+		for(long[] range : loadedRanges) {
+			if(range[1] <= position) {
+				continue;
+			}
+			if(range[0] >= end) {
+				break;
+			}
+			if(range[0] > position) {
+				gaps.add(new long[] {position, range[0]});
+			}
+			position = range[1];
+		}
+		
+		if(position < end) {
+			gaps.add(new long[] {position, end});
+		}
+		
+		return gaps;
+	}
+	
+	/**
+	 * Adds a period to the ordered and disjoint loaded ranges, merging overlapping and adjacent ones.
+	 */
+	protected void addLoadedRange(long start, long end) {
+		int i = 0;
+		while(i < loadedRanges.size() && loadedRanges.get(i)[1] < start) {
+			i++;
+		}
+		
+		while(i < loadedRanges.size() && loadedRanges.get(i)[0] <= end) {
+			long[] range = loadedRanges.remove(i);
+			start = Math.min(start, range[0]);
+			end = Math.max(end, range[1]);
+		}
+		
+		loadedRanges.add(i, new long[] {start, end});
+	}
+
+    public boolean isCacheLoadedRanges() {
+        return cacheLoadedRanges;
+    }
+
+    /**
+     * Keeps loaded events when the schedule navigates, so only periods that were not displayed before are loaded.
+     * Call clear to reload all events, e.g. after they were changed outside of the model.
+     */
+    public void setCacheLoadedRanges(boolean cacheLoadedRanges) {
+        this.cacheLoadedRanges = cacheLoadedRanges;
+    }
 }
\ No newline at end of file
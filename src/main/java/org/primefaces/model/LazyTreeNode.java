@@ -0,0 +1,143 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.model;
+
+import java.util.List;
+
+/**
+ * TreeNode that loads its children on demand to deal with huge trees, like LazyDataModel does for rows.
+ *
+ * Children are loaded when the node is expanded or when they are requested explicitly by {@link #getChildren()}.
+ * Collapsed nodes that are not loaded yet report no children, so traversals of the tree stop there. Use it with
+ * <code>dynamic="true"</code> trees, then only expanded subtrees are loaded and rendered.
+ */
+public abstract class LazyTreeNode extends DefaultTreeNode {
+
+    private boolean loaded;
+
+    private boolean releaseOnCollapse;
+
+    public LazyTreeNode() {
+        super();
+    }
+
+    public LazyTreeNode(Object data) {
+        super(data);
+    }
+
+    public LazyTreeNode(Object data, TreeNode parent) {
+        super(data, parent);
+    }
+
+    public LazyTreeNode(String type, Object data, TreeNode parent) {
+        super(type, data, parent);
+    }
+
+    /**
+     * Loads the children of this node, the returned nodes are added as children so they should be created without a parent.
+     *
+     * @return the children of this node
+     */
+    protected abstract List<TreeNode> load();
+
+    /**
+     * Decides if a node that is not loaded yet is rendered as a leaf, the default assumes it has children.
+     * Override it with a cheap check of the data source, e.g. a count query or <code>File#isDirectory()</code>.
+     *
+     * @return true if the node might have children
+     */
+    protected boolean hasChildren() {
+        return true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean isReleaseOnCollapse() {
+        return releaseOnCollapse;
+    }
+
+    /**
+     * @param releaseOnCollapse true to drop the loaded children when the node is collapsed, they are loaded again on the next expand
+     */
+    public void setReleaseOnCollapse(boolean releaseOnCollapse) {
+        this.releaseOnCollapse = releaseOnCollapse;
+    }
+
+    /**
+     * Drops the loaded children, so the subtree can be garbage collected.
+     */
+    public void release() {
+        if(loaded) {
+            List<TreeNode> children = super.getChildren();
+            for(int i = 0; i < children.size(); i++) {
+                children.get(i).clearParent();
+            }
+
+            loaded = false;
+            setChildren(new TreeNodeChildren(this));
+        }
+    }
+
+    @Override
+    public List<TreeNode> getChildren() {
+        List<TreeNode> children = super.getChildren();
+
+        if(!loaded) {
+            loaded = true;
+
+            List<TreeNode> loadedChildren = load();
+            if(loadedChildren != null) {
+                for(int i = 0; i < loadedChildren.size(); i++) {
+                    TreeNode child = loadedChildren.get(i);
+                    if(child.getParent() != this) {
+                        children.add(child);
+                    }
+                }
+            }
+        }
+
+        return children;
+    }
+
+    @Override
+    public int getChildCount() {
+        if(!loaded && !isExpanded()) {
+            return 0;
+        }
+
+        return getChildren().size();
+    }
+
+    @Override
+    public boolean isLeaf() {
+        if(!loaded) {
+            return !hasChildren();
+        }
+
+        return super.isLeaf();
+    }
+
+    @Override
+    public void setExpanded(boolean expanded) {
+        super.setExpanded(expanded);
+
+        if(!expanded && releaseOnCollapse) {
+            release();
+        }
+    }
+}
@@ -15,20 +15,22 @@
  */
 package org.primefaces.model;
 
-import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import javax.faces.FacesException;
 import javax.servlet.http.Part;
+import org.primefaces.util.FileUploadUtils;
 
-public class NativeUploadedFile implements UploadedFile, Serializable {
-
-    private static final int DEFAULT_BUFFER_SIZE = 1024 * 4;
+public class NativeUploadedFile implements StreamingUploadedFile, Serializable {
 
     private Part part;
     private String filename;
     private byte[] cachedContent;
+    private long maxContentsSize = -1;
 
     public NativeUploadedFile() {}
 
@@ -37,6 +39,14 @@ public class NativeUploadedFile implements UploadedFile, Serializable {
         this.filename = resolveFilename(part);
     }
 
+    /**
+     * @param maxContentsSize the maximum size {@link #getContents()} loads into memory, -1 for unlimited
+     */
+    public NativeUploadedFile(Part part, long maxContentsSize) {
+        this(part);
+        this.maxContentsSize = maxContentsSize;
+    }
+
     public String getFileName() {
         return filename;
     }
@@ -57,14 +67,7 @@ public class NativeUploadedFile implements UploadedFile, Serializable {
         InputStream input = null;
         try {
             input = getInputstream();
-            ByteArrayOutputStream output = new ByteArrayOutputStream();
-            byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
-
-            int n = 0;
-            while (-1 != (n = input.read(buffer))) {
-                output.write(buffer, 0, n);
-            }
-            cachedContent = output.toByteArray();
+            cachedContent = FileUploadUtils.toByteArray(input, getSize(), maxContentsSize);
         }
         catch (IOException ex) {
             cachedContent = null;
@@ -101,7 +104,26 @@ public class NativeUploadedFile implements UploadedFile, Serializable {
         part.write(filePath);
     }
 
+    public ReadableByteChannel getChannel() throws IOException {
+        return Channels.newChannel(getInputstream());
+    }
+
+    /**
+     * The Part API doesn't expose its temporary file, so the content is always copied.
+     */
+    public void transferTo(File target) throws IOException {
+        FileUploadUtils.transferTo(getInputstream(), target);
+    }
+
     public Part getPart() {
         return part;
     }
+
+    public long getMaxContentsSize() {
+        return maxContentsSize;
+    }
+
+    public void setMaxContentsSize(long maxContentsSize) {
+        this.maxContentsSize = maxContentsSize;
+    }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * {@link UploadedFile} which can be processed without loading the whole file into memory.
+ */
+public interface StreamingUploadedFile extends UploadedFile {
+
+    /**
+     * @return a new channel to read the content, has to be closed by the caller
+     * @throws IOException If the content can't be opened.
+     */
+    public ReadableByteChannel getChannel() throws IOException;
+
+    /**
+     * Moves the uploaded file to the given target. Renames the temporary file if possible, otherwise the content
+     * is copied via a {@link java.nio.channels.FileChannel}.
+     * The content can't be read anymore after the temporary file was renamed.
+     *
+     * @param target The target file.
+     * @throws IOException If the file can't be transferred.
+     */
+    public void transferTo(File target) throws IOException;
+}
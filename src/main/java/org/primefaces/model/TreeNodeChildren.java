@@ -23,6 +23,10 @@ public class TreeNodeChildren extends TreeNodeList {
 
     private TreeNode parent;
     
+    private boolean rowKeysOutdated;
+    
+    private String rowKeysParentRowKey;
+    
     public TreeNodeChildren(TreeNode parent) {
         this.parent = parent;
     }
@@ -44,7 +48,7 @@ public class TreeNodeChildren extends TreeNodeList {
             eraseParent(node);
             boolean result = super.add(node);
             node.setParent(parent);
-            updateRowKeys(parent);
+            invalidateRowKeys(node);
             return result;
         }
     }
@@ -61,7 +65,7 @@ public class TreeNodeChildren extends TreeNodeList {
             eraseParent(node);
             super.add(index, node);
             node.setParent(parent);
-            updateRowKeys(parent);
+            invalidateRowKeys(node);
         }
     }
     
@@ -69,6 +73,7 @@ public class TreeNodeChildren extends TreeNodeList {
     public boolean addAll(Collection<? extends TreeNode> collection) {
         Iterator<TreeNode> elements = (new ArrayList<TreeNode>(collection)).iterator();
         boolean changed = false;
+        boolean lazy = true;
         while(elements.hasNext()) {
             TreeNode node = elements.next();
             if(node == null) {
@@ -78,12 +83,13 @@ public class TreeNodeChildren extends TreeNodeList {
                 eraseParent(node);
                 super.add(node);
                 node.setParent(parent);
+                lazy = lazy && isLazyRowKeyNode(node);
                 changed = true;
             }
         }
         
         if(changed) {
-            updateRowKeys(parent);
+            invalidateRowKeys(lazy);
         }
         
         return (changed);
@@ -93,6 +99,7 @@ public class TreeNodeChildren extends TreeNodeList {
     public boolean addAll(int index, Collection<? extends TreeNode> collection) {
         Iterator<TreeNode> elements = (new ArrayList<TreeNode>(collection)).iterator();
         boolean changed = false;
+        boolean lazy = true;
         while(elements.hasNext()) {
             TreeNode node = elements.next();
             if(node == null) {
@@ -102,12 +109,13 @@ public class TreeNodeChildren extends TreeNodeList {
                 eraseParent(node);
                 super.add(index++, node);
                 node.setParent(parent);
+                lazy = lazy && isLazyRowKeyNode(node);
                 changed = true;
             }
         }
         
         if(changed) {
-            updateRowKeys(parent);
+            invalidateRowKeys(lazy);
         }
         
         return (changed);
@@ -130,7 +138,7 @@ public class TreeNodeChildren extends TreeNodeList {
             super.set(index, node);
             previous.setParent(null);
             node.setParent(parent);
-            updateRowKeys(parent);
+            invalidateRowKeys(node);
             return previous;
         }
     }
@@ -156,7 +164,7 @@ public class TreeNodeChildren extends TreeNodeList {
             TreeNode previous = get(index);
             super.set(index, node);
             node.setParent(parent);
-            updateRowKeys(parent);
+            invalidateRowKeys(node);
             return previous;
         }
     }
@@ -164,9 +172,10 @@ public class TreeNodeChildren extends TreeNodeList {
     @Override
     public TreeNode remove(int index) {
         TreeNode node = get(index);
+        detachRowKey(index, node);
         node.setParent(null);
         super.remove(index);
-        updateRowKeys(parent);
+        invalidateRowKeys(node);
         return node;
     }
 
@@ -177,15 +186,60 @@ public class TreeNodeChildren extends TreeNodeList {
             throw new NullPointerException();
         }
         
-        if(super.indexOf(node) != -1) {
-            node.clearParent();
+        int index = super.indexOf(node);
+        if(index == -1) {
+            return false;
         }
         
-        if(super.remove(node)) {
+        detachRowKey(index, node);
+        node.clearParent();
+        super.remove(index);
+        invalidateRowKeys(node);
+        return true;
+    }
+    
+    private void invalidateRowKeys(TreeNode node) {
+        invalidateRowKeys(isLazyRowKeyNode(node));
+    }
+    
+    /**
+     * Row keys of lazy nodes are reassigned when one of them is read, other nodes get their row keys right away
+     */
+    private void invalidateRowKeys(boolean lazy) {
+        if(lazy && isLazyRowKeyNode(parent)) {
+            rowKeysOutdated = true;
+        }
+        else {
             updateRowKeys(parent);
-            return true;
-        } else {
-            return false;
+        }
+    }
+    
+    /**
+     * Keeps the row key a node had at its position before it is removed
+     */
+    private void detachRowKey(int index, TreeNode node) {
+        if(isLazyRowKeyNode(parent) && isLazyRowKeyNode(node)) {
+            String parentRowKey = getParentRowKey();
+            node.setRowKey((parentRowKey == null) ? String.valueOf(index) : parentRowKey + "_" + index);
+        }
+    }
+    
+    private String getParentRowKey() {
+        return (parent.getParent() == null) ? null : parent.getRowKey();
+    }
+    
+    @Override
+    public void updateRowKeys() {
+        String parentRowKey = getParentRowKey();
+        
+        //parent row keys are reassigned as new strings, e.g. by UITree#updateRowKeys, so they are compared by value
+        if(rowKeysOutdated || !isSameRowKey(parentRowKey, rowKeysParentRowKey)) {
+            rowKeysOutdated = false;
+            rowKeysParentRowKey = parentRowKey;
+            
+            for(int i = 0; i < size(); i++) {
+                get(i).setRowKey((parentRowKey == null) ? String.valueOf(i) : parentRowKey + "_" + i);
+            }
         }
     }
     
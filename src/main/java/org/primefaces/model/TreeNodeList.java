@@ -28,5 +28,23 @@ public class TreeNodeList extends ArrayList<TreeNode> {
     public TreeNode setSibling(int index, TreeNode node) {
         throw new UnsupportedOperationException();
     }
+
+    /**
+     * Assigns the row keys of the children if they are outdated, a plain list doesn't track row keys.
+     */
+    public void updateRowKeys() {
+        
+    }
+
+    /**
+     * @return true if the node asks its siblings list to update the row keys when its row key is read
+     */
+    protected static boolean isLazyRowKeyNode(TreeNode node) {
+        return (node instanceof DefaultTreeNode) || (node instanceof CheckboxTreeNode);
+    }
+
+    protected static boolean isSameRowKey(String rowKey, String other) {
+        return (rowKey == null) ? (other == null) : rowKey.equals(other);
+    }
 }
 
@@ -15,16 +15,20 @@
  */
 package org.primefaces.model;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import javax.faces.FacesWrapper;
 import javax.faces.component.StateHolder;
 import javax.faces.context.FacesContext;
+import org.primefaces.util.FileUploadUtils;
 
 /**
  * Wrapper to avoid a UploadedFile to beeing saved in the ViewState.
  */
-public class UploadedFileWrapper implements UploadedFile, FacesWrapper<UploadedFile>, StateHolder {
+public class UploadedFileWrapper implements StreamingUploadedFile, FacesWrapper<UploadedFile>, StateHolder {
 
     private UploadedFile wrapped;
 
@@ -66,6 +70,27 @@ public class UploadedFileWrapper implements UploadedFile, FacesWrapper<UploadedF
         getWrapped().write(filePath);
     }
 
+    @Override
+    public ReadableByteChannel getChannel() throws IOException {
+        UploadedFile file = getWrapped();
+        if (file instanceof StreamingUploadedFile) {
+            return ((StreamingUploadedFile) file).getChannel();
+        }
+
+        return Channels.newChannel(file.getInputstream());
+    }
+
+    @Override
+    public void transferTo(File target) throws IOException {
+        UploadedFile file = getWrapped();
+        if (file instanceof StreamingUploadedFile) {
+            ((StreamingUploadedFile) file).transferTo(target);
+        }
+        else {
+            FileUploadUtils.transferTo(file.getInputstream(), target);
+        }
+    }
+
     @Override
     public UploadedFile getWrapped() {
         return wrapped;
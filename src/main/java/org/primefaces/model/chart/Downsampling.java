@@ -0,0 +1,137 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.model.chart;
+
+/**
+ * Algorithms to reduce the points of a series, which is ordered by x, before it is sent to the client.
+ */
+public enum Downsampling {
+
+    /**
+     * Largest-Triangle-Three-Buckets, keeps the visual shape of the line with the given number of points.
+     */
+    LTTB {
+
+        @Override
+        public int[] sample(double[] x, double[] y, int size, int threshold) {
+            if(threshold >= size || threshold < 3) {
+                return null;
+            }
+
+            int[] sampled = new int[threshold];
+            double bucketSize = (double) (size - 2) / (threshold - 2);
+            int a = 0;
+            sampled[0] = 0;
+
+            for(int i = 0; i < threshold - 2; i++) {
+                // average of the next bucket
+                int averageStart = (int) ((i + 1) * bucketSize) + 1;
+                int averageEnd = Math.min((int) ((i + 2) * bucketSize) + 1, size);
+                double averageX = 0;
+                double averageY = 0;
+                for(int j = averageStart; j < averageEnd; j++) {
+                    averageX += x[j];
+                    averageY += y[j];
+                }
+                averageX /= (averageEnd - averageStart);
+                averageY /= (averageEnd - averageStart);
+
+                // point of the current bucket with the largest triangle
+                int rangeStart = (int) (i * bucketSize) + 1;
+                int rangeEnd = (int) ((i + 1) * bucketSize) + 1;
+                double maxArea = -1;
+                int next = rangeStart;
+                for(int j = rangeStart; j < rangeEnd; j++) {
+                    double area = Math.abs((x[a] - averageX) * (y[j] - y[a]) - (x[a] - x[j]) * (averageY - y[a]));
+                    if(area > maxArea) {
+                        maxArea = area;
+                        next = j;
+                    }
+                }
+
+                sampled[i + 1] = next;
+                a = next;
+            }
+
+            sampled[threshold - 1] = size - 1;
+
+            return sampled;
+        }
+    },
+
+    /**
+     * Keeps the minimum and the maximum of each bucket, so spikes are never lost. Two points are kept per bucket.
+     */
+    MIN_MAX {
+
+        @Override
+        public int[] sample(double[] x, double[] y, int size, int threshold) {
+            if(threshold >= size || threshold < 4) {
+                return null;
+            }
+
+            int buckets = (threshold - 2) / 2;
+            double bucketSize = (double) (size - 2) / buckets;
+            int[] sampled = new int[buckets * 2 + 2];
+            int count = 0;
+            sampled[count++] = 0;
+
+            for(int i = 0; i < buckets; i++) {
+                int start = (int) (i * bucketSize) + 1;
+                int end = Math.min((int) ((i + 1) * bucketSize) + 1, size - 1);
+                if(start >= end) {
+                    continue;
+                }
+
+                int min = start;
+                int max = start;
+                for(int j = start + 1; j < end; j++) {
+                    if(y[j] < y[min]) {
+                        min = j;
+                    }
+                    if(y[j] > y[max]) {
+                        max = j;
+                    }
+                }
+
+                // keep the order of x
+                sampled[count++] = Math.min(min, max);
+                if(min != max) {
+                    sampled[count++] = Math.max(min, max);
+                }
+            }
+
+            sampled[count++] = size - 1;
+
+            if(count < sampled.length) {
+                int[] trimmed = new int[count];
+                System.arraycopy(sampled, 0, trimmed, 0, count);
+                return trimmed;
+            }
+
+            return sampled;
+        }
+    };
+
+    /**
+     * @param x         x values, ascending
+     * @param y         y values
+     * @param size      number of points in the arrays
+     * @param threshold maximum number of points to keep, e.g. the width of the chart in pixels
+     * @return indexes of the points to keep in ascending order or null to keep all points
+     */
+    public abstract int[] sample(double[] x, double[] y, int size, int threshold);
+}
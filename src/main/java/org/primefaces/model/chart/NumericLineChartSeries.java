@@ -0,0 +1,159 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.model.chart;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Line series with numeric x values kept in primitive arrays instead of a map of boxed numbers, for series with a large
+ * number of points. Points are expected to be added in ascending order of x.
+ *
+ * Optionally the series is downsampled while rendering, pass the width of the chart in pixels as threshold.
+ */
+public class NumericLineChartSeries extends LineChartSeries {
+
+    private double[] xValues;
+
+    private double[] yValues;
+
+    private int size;
+
+    private Downsampling downsampling;
+
+    private int threshold;
+
+    public NumericLineChartSeries() {
+        this(null);
+    }
+
+    public NumericLineChartSeries(String title) {
+        super(title);
+        this.xValues = new double[16];
+        this.yValues = new double[16];
+    }
+
+    public NumericLineChartSeries(String title, double[] xValues, double[] yValues) {
+        super(title);
+        setValues(xValues, yValues);
+    }
+
+    /**
+     * Appends a point, use <code>Double.NaN</code> as y for a gap.
+     */
+    public void add(double x, double y) {
+        if(size == xValues.length) {
+            int capacity = size + (size >> 1) + 1;
+            double[] newXValues = new double[capacity];
+            double[] newYValues = new double[capacity];
+            System.arraycopy(xValues, 0, newXValues, 0, size);
+            System.arraycopy(yValues, 0, newYValues, 0, size);
+            xValues = newXValues;
+            yValues = newYValues;
+        }
+
+        xValues[size] = x;
+        yValues[size] = y;
+        size++;
+    }
+
+    /**
+     * Replaces all points, the arrays are used as they are and not copied.
+     */
+    public void setValues(double[] xValues, double[] yValues) {
+        if(xValues == null || yValues == null || xValues.length != yValues.length) {
+            throw new IllegalArgumentException("x and y values must have the same length.");
+        }
+
+        this.xValues = xValues;
+        this.yValues = yValues;
+        this.size = xValues.length;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public double getX(int index) {
+        return xValues[index];
+    }
+
+    public double getY(int index) {
+        return yValues[index];
+    }
+
+    public Downsampling getDownsampling() {
+        return downsampling;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @param downsampling algorithm to reduce the points or null to render all points
+     * @param threshold    maximum number of points to render, e.g. the width of the chart in pixels
+     */
+    public void setDownsampling(Downsampling downsampling, int threshold) {
+        this.downsampling = downsampling;
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return indexes of the points to render or null to render all points
+     */
+    public int[] getSampledIndexes() {
+        if(downsampling == null) {
+            return null;
+        }
+
+        return downsampling.sample(xValues, yValues, size, threshold);
+    }
+
+    @Override
+    public void set(Object x, Number y) {
+        if(!(x instanceof Number)) {
+            throw new IllegalArgumentException("NumericLineChartSeries only supports numeric x values.");
+        }
+
+        add(((Number) x).doubleValue(), (y == null) ? Double.NaN : y.doubleValue());
+    }
+
+    /**
+     * @return a copy of the points, changes to the map are not reflected in the series
+     */
+    @Override
+    public Map<Object, Number> getData() {
+        Map<Object, Number> data = new LinkedHashMap<Object, Number>();
+        for(int i = 0; i < size; i++) {
+            data.put(xValues[i], Double.isNaN(yValues[i]) ? null : yValues[i]);
+        }
+
+        return data;
+    }
+
+    @Override
+    public void setData(Map<Object, Number> data) {
+        xValues = new double[(data == null) ? 16 : data.size()];
+        yValues = new double[xValues.length];
+        size = 0;
+        if(data != null) {
+            for(Map.Entry<Object, Number> entry : data.entrySet()) {
+                set(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.model.filter;
+
+import java.util.Locale;
+
+/**
+ * {@link FilterConstraint} that can prepare its filter value once and then match many values.
+ * A compiled matcher must return the same result as {@link #applies(Object, Object, Locale)} for the same arguments.
+ */
+public interface CompilableFilterConstraint extends FilterConstraint {
+
+    public FilterMatcher compile(Object filter, Locale locale);
+}
@@ -21,7 +21,7 @@ import java.util.Iterator;
 import java.util.Locale;
 import javax.faces.FacesException;
 
-public class InFilterConstraint implements FilterConstraint {
+public class InFilterConstraint implements CompilableFilterConstraint {
 
     public boolean applies(Object value, Object filter, Locale locale) {
         if(filter == null) {
@@ -32,15 +32,48 @@ public class InFilterConstraint implements FilterConstraint {
             return false;
         }
         
-        Collection<?> collection = null;
+        return contains(toCollection(filter), value);
+    }
+
+    public FilterMatcher compile(final Object filter, Locale locale) {
+        final Collection<?> collection = (filter == null) ? null : toCollectionOrNull(filter);
+
+        return new FilterMatcher() {
+
+            public boolean matches(Object value) {
+                if(filter == null) {
+                    return true;
+                }
+
+                if(value == null) {
+                    return false;
+                }
+
+                return contains((collection == null) ? toCollection(filter) : collection, value);
+            }
+        };
+    }
+
+    protected Collection<?> toCollection(Object filter) {
+        Collection<?> collection = toCollectionOrNull(filter);
+        if(collection == null) {
+            throw new FacesException("Filter value must be an array or a collection when using \"in\" filter constraint.");
+        }
+
+        return collection;
+    }
+
+    private Collection<?> toCollectionOrNull(Object filter) {
         if(filter.getClass().isArray()) {
-            collection = Arrays.asList((Object[])filter);
+            return Arrays.asList((Object[])filter);
         } else if(filter instanceof Collection) {
-            collection = (Collection<?>) filter;
+            return (Collection<?>) filter;
         } else {
-            throw new FacesException("Filter value must be an array or a collection when using \"in\" filter constraint.");
+            return null;
         }
-        
+    }
+
+    private boolean contains(Collection<?> collection, Object value) {
         if(collection != null && !collection.isEmpty()) {
             for (Iterator<? extends Object> it = collection.iterator(); it.hasNext();) {
                 Object object = it.next();
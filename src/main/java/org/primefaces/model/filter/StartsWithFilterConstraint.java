@@ -15,22 +15,10 @@
  */
 package org.primefaces.model.filter;
 
-import java.util.Locale;
-import org.primefaces.util.Constants;
+public class StartsWithFilterConstraint extends StringFilterConstraint {
 
-public class StartsWithFilterConstraint implements FilterConstraint {
-
-    public boolean applies(Object value, Object filter, Locale locale) {
-        String filterText = (filter == null) ? null : filter.toString().trim().toLowerCase(locale);
-         
-        if(filterText == null || filterText.equals(Constants.EMPTY_STRING)) {
-            return true;
-        }
-        
-        if(value == null) {
-            return false;
-        }
-        
-        return value.toString().toLowerCase(locale).startsWith(filterText);
+    @Override
+    protected boolean matches(String value, String filterText) {
+        return value.startsWith(filterText);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.model.filter;
+
+import java.util.Locale;
+import org.primefaces.util.Constants;
+
+/**
+ * Base class of the text based constraints, the filter is trimmed and both values are compared in lower case.
+ */
+public abstract class StringFilterConstraint implements CompilableFilterConstraint {
+
+    public boolean applies(Object value, Object filter, Locale locale) {
+        String filterText = normalize(filter, locale);
+
+        if(filterText == null) {
+            return true;
+        }
+
+        if(value == null) {
+            return false;
+        }
+
+        return matches(value.toString().toLowerCase(locale), filterText);
+    }
+
+    public FilterMatcher compile(Object filter, final Locale locale) {
+        final String filterText = normalize(filter, locale);
+
+        return new FilterMatcher() {
+
+            public boolean matches(Object value) {
+                if(filterText == null) {
+                    return true;
+                }
+
+                if(value == null) {
+                    return false;
+                }
+
+                return StringFilterConstraint.this.matches(value.toString().toLowerCase(locale), filterText);
+            }
+        };
+    }
+
+    /**
+     * @param value lower cased value
+     * @param filterText trimmed and lower cased filter, never empty
+     */
+    protected abstract boolean matches(String value, String filterText);
+
+    /**
+     * @return trimmed and lower cased filter or <code>null</code> if the filter is empty
+     */
+    protected String normalize(Object filter, Locale locale) {
+        String filterText = (filter == null) ? null : filter.toString().trim().toLowerCase(locale);
+
+        if(filterText == null || filterText.equals(Constants.EMPTY_STRING)) {
+            return null;
+        }
+
+        return filterText;
+    }
+}
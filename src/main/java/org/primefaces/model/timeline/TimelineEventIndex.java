@@ -0,0 +1,438 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.model.timeline;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index over the events of a {@link TimelineModel}. It maps each event to its position and keeps the events of each group
+ * in an interval tree ordered by start date, so overlapping events and the events of a time range are found in
+ * O((k + 1) log n) for k results, without scanning all events.
+ *
+ * Dates and groups are captured when an event is indexed, changes of an event have to be passed through
+ * {@link TimelineModel#update(TimelineEvent)} to be picked up. Positions are looked up by identity first, as the hash
+ * code of an event follows its mutable data.
+ */
+class TimelineEventIndex {
+
+    private static final Comparator<Entry> START_COMPARATOR = new Comparator<Entry>() {
+
+        public int compare(Entry a, Entry b) {
+            if(a.start != b.start) {
+                return (a.start < b.start) ? -1 : 1;
+            }
+
+            return (a.sequence < b.sequence) ? -1 : ((a.sequence == b.sequence) ? 0 : 1);
+        }
+    };
+
+    private final Map<String, GroupIndex> groups = new HashMap<String, GroupIndex>();
+
+    private final Map<TimelineEvent, Entry> entries = new IdentityHashMap<TimelineEvent, Entry>();
+
+    private final Map<TimelineEvent, Integer> identityPositions = new IdentityHashMap<TimelineEvent, Integer>();
+
+    private final Map<TimelineEvent, Integer> positions = new HashMap<TimelineEvent, Integer>();
+
+    private boolean positionsValid;
+
+    private long sequence;
+
+    private int modCount;
+
+    TimelineEventIndex(List<TimelineEvent> events, int modCount) {
+        for(int i = 0; i < events.size(); i++) {
+            addEntry(events.get(i));
+        }
+
+        this.modCount = modCount;
+    }
+
+    int getModCount() {
+        return modCount;
+    }
+
+    void setModCount(int modCount) {
+        this.modCount = modCount;
+    }
+
+    /**
+     * @return the position of the given instance, else of an event equal to it, or -1
+     */
+    int indexOf(List<TimelineEvent> events, TimelineEvent event) {
+        if(!positionsValid) {
+            identityPositions.clear();
+            positions.clear();
+            for(int i = events.size() - 1; i >= 0; i--) {
+                identityPositions.put(events.get(i), i);
+                positions.put(events.get(i), i);
+            }
+
+            positionsValid = true;
+        }
+
+        Integer position = identityPositions.get(event);
+        if(position != null) {
+            return position;
+        }
+
+        // the data of an indexed event may have changed since, so a hit is verified and a miss falls back to a scan
+        position = positions.get(event);
+        if(position != null && events.get(position).equals(event)) {
+            return position;
+        }
+
+        for(int i = 0; i < events.size(); i++) {
+            if(events.get(i).equals(event)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    void added(TimelineEvent event, int position) {
+        addEntry(event);
+
+        if(positionsValid) {
+            if(!identityPositions.containsKey(event)) {
+                identityPositions.put(event, position);
+            }
+
+            if(!positions.containsKey(event)) {
+                positions.put(event, position);
+            }
+        }
+    }
+
+    void replaced(TimelineEvent previous, TimelineEvent event, int position) {
+        removeEntry(previous);
+        addEntry(event);
+
+        if(!positionsValid || previous == event) {
+            return;
+        }
+
+        if(!previous.equals(event) || entries.containsKey(previous)) {
+            // the first position of an event changed or the previous instance is still at other positions
+            positionsValid = false;
+            return;
+        }
+
+        identityPositions.remove(previous);
+        Integer current = identityPositions.get(event);
+        if(current == null || current > position) {
+            identityPositions.put(event, position);
+        }
+    }
+
+    void removed(TimelineEvent event) {
+        removeEntry(event);
+        positionsValid = false;
+    }
+
+    /**
+     * Collects the events of a group that may overlap the given closed range, callers check the exact overlap.
+     */
+    void collectCandidates(String group, long from, long to, List<TimelineEvent> candidates) {
+        GroupIndex groupIndex = groups.get(group);
+        if(groupIndex == null) {
+            return;
+        }
+
+        for(int i = 0; i < groupIndex.irregular.size(); i++) {
+            candidates.add(groupIndex.irregular.get(i).event);
+        }
+
+        groupIndex.byStart.collect(from, to, candidates);
+    }
+
+    /**
+     * Collects the events of all groups that may overlap the given closed range.
+     */
+    void collectCandidates(long from, long to, List<TimelineEvent> candidates) {
+        for(String group : groups.keySet()) {
+            collectCandidates(group, from, to, candidates);
+        }
+    }
+
+    private void addEntry(TimelineEvent event) {
+        Entry entry = entries.get(event);
+        if(entry != null) {
+            // same instance added more than once
+            entry.count++;
+            return;
+        }
+
+        long start = event.getStartDate().getTime();
+        long end = (event.getEndDate() == null) ? start : event.getEndDate().getTime();
+        entry = new Entry(event, event.getGroup(), start, end, sequence++);
+        entries.put(event, entry);
+
+        GroupIndex groupIndex = groups.get(entry.group);
+        if(groupIndex == null) {
+            groupIndex = new GroupIndex();
+            groups.put(entry.group, groupIndex);
+        }
+
+        if(end < start) {
+            groupIndex.irregular.add(entry);
+        }
+        else {
+            groupIndex.byStart.add(entry);
+        }
+    }
+
+    private void removeEntry(TimelineEvent event) {
+        Entry entry = entries.get(event);
+        if(entry == null) {
+            return;
+        }
+
+        if(entry.count > 1) {
+            entry.count--;
+            return;
+        }
+
+        entries.remove(event);
+
+        GroupIndex groupIndex = groups.get(entry.group);
+        if(entry.end < entry.start) {
+            groupIndex.irregular.remove(entry);
+        }
+        else {
+            groupIndex.byStart.remove(entry);
+        }
+
+        if(groupIndex.byStart.isEmpty() && groupIndex.irregular.isEmpty()) {
+            groups.remove(entry.group);
+        }
+    }
+
+    private static class GroupIndex {
+
+        private final EntryTree byStart = new EntryTree();
+
+        private final List<Entry> irregular = new ArrayList<Entry>();
+    }
+
+    /**
+     * AVL tree of entries ordered by start date, each node knows the latest end date of its subtree. A query skips the
+     * subtrees ending before the range and stops at the first entry starting after it.
+     */
+    private static class EntryTree {
+
+        private Node root;
+
+        void add(Entry entry) {
+            root = insert(root, entry);
+        }
+
+        void remove(Entry entry) {
+            root = delete(root, entry);
+        }
+
+        boolean isEmpty() {
+            return root == null;
+        }
+
+        /**
+         * Collects the events of the entries overlapping the given closed range, ordered by start date.
+         */
+        void collect(long from, long to, List<TimelineEvent> events) {
+            collect(root, from, to, events);
+        }
+
+        private static void collect(Node node, long from, long to, List<TimelineEvent> events) {
+            if(node == null || node.maxEnd < from) {
+                return;
+            }
+
+            collect(node.left, from, to, events);
+
+            if(node.entry.start > to) {
+                return;
+            }
+
+            if(node.entry.end >= from) {
+                for(int i = 0; i < node.entry.count; i++) {
+                    events.add(node.entry.event);
+                }
+            }
+
+            collect(node.right, from, to, events);
+        }
+
+        private static Node insert(Node node, Entry entry) {
+            if(node == null) {
+                return new Node(entry);
+            }
+
+            if(START_COMPARATOR.compare(entry, node.entry) < 0) {
+                node.left = insert(node.left, entry);
+            }
+            else {
+                node.right = insert(node.right, entry);
+            }
+
+            return balance(node);
+        }
+
+        private static Node delete(Node node, Entry entry) {
+            if(node == null) {
+                return null;
+            }
+
+            int cmp = START_COMPARATOR.compare(entry, node.entry);
+            if(cmp < 0) {
+                node.left = delete(node.left, entry);
+            }
+            else if(cmp > 0) {
+                node.right = delete(node.right, entry);
+            }
+            else {
+                if(node.left == null) {
+                    return node.right;
+                }
+                if(node.right == null) {
+                    return node.left;
+                }
+
+                Node min = node.right;
+                while(min.left != null) {
+                    min = min.left;
+                }
+                node.entry = min.entry;
+                node.right = deleteMin(node.right);
+            }
+
+            return balance(node);
+        }
+
+        private static Node deleteMin(Node node) {
+            if(node.left == null) {
+                return node.right;
+            }
+
+            node.left = deleteMin(node.left);
+
+            return balance(node);
+        }
+
+        private static Node balance(Node node) {
+            update(node);
+
+            int balance = height(node.left) - height(node.right);
+            if(balance > 1) {
+                if(height(node.left.left) < height(node.left.right)) {
+                    node.left = rotateLeft(node.left);
+                }
+                return rotateRight(node);
+            }
+            if(balance < -1) {
+                if(height(node.right.right) < height(node.right.left)) {
+                    node.right = rotateRight(node.right);
+                }
+                return rotateLeft(node);
+            }
+
+            return node;
+        }
+
+        private static Node rotateRight(Node node) {
+            Node left = node.left;
+            node.left = left.right;
+            left.right = node;
+            update(node);
+            update(left);
+
+            return left;
+        }
+
+        private static Node rotateLeft(Node node) {
+            Node right = node.right;
+            node.right = right.left;
+            right.left = node;
+            update(node);
+            update(right);
+
+            return right;
+        }
+
+        private static void update(Node node) {
+            node.height = 1 + Math.max(height(node.left), height(node.right));
+
+            long maxEnd = node.entry.end;
+            if(node.left != null && node.left.maxEnd > maxEnd) {
+                maxEnd = node.left.maxEnd;
+            }
+            if(node.right != null && node.right.maxEnd > maxEnd) {
+                maxEnd = node.right.maxEnd;
+            }
+            node.maxEnd = maxEnd;
+        }
+
+        private static int height(Node node) {
+            return (node == null) ? 0 : node.height;
+        }
+    }
+
+    private static class Node {
+
+        private Entry entry;
+
+        private Node left;
+
+        private Node right;
+
+        private int height = 1;
+
+        private long maxEnd;
+
+        Node(Entry entry) {
+            this.entry = entry;
+            this.maxEnd = entry.end;
+        }
+    }
+
+    private static class Entry {
+
+        private final TimelineEvent event;
+
+        private final String group;
+
+        private final long start;
+
+        private final long end;
+
+        private final long sequence;
+
+        private int count = 1;
+
+        Entry(TimelineEvent event, String group, long start, long end, long sequence) {
+            this.event = event;
+            this.group = group;
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -19,7 +19,10 @@ package org.primefaces.model.timeline;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.TreeSet;
 import org.primefaces.component.timeline.TimelineUpdater;
@@ -29,6 +32,25 @@ public class TimelineModel implements Serializable {
 
     private static final long serialVersionUID = 20130316L;
 
+    /**
+     * orders by start date and then by end date, events without end date first
+     */
+    private static final Comparator<TimelineEvent> START_END_COMPARATOR = new Comparator<TimelineEvent>() {
+
+        public int compare(TimelineEvent a, TimelineEvent b) {
+            int result = a.getStartDate().compareTo(b.getStartDate());
+            if (result != 0) {
+                return result;
+            }
+
+            if (a.getEndDate() == null) {
+                return (b.getEndDate() == null) ? 0 : -1;
+            }
+
+            return (b.getEndDate() == null) ? 1 : a.getEndDate().compareTo(b.getEndDate());
+        }
+    };
+
     /**
      * list of events
      */
@@ -39,12 +61,17 @@ public class TimelineModel implements Serializable {
      */
     private List<TimelineGroup> groups;
 
+    /**
+     * positions and start dates of the events, built on demand
+     */
+    private transient TimelineEventIndex eventIndex;
+
     public TimelineModel() {
-        events = new ArrayList<TimelineEvent>();
+        events = new EventList();
     }
 
     public TimelineModel(List<TimelineEvent> events) {
-        this.events = new ArrayList<TimelineEvent>();
+        this.events = new EventList();
 
         if (events != null && !events.isEmpty()) {
             for (TimelineEvent event : events) {
@@ -64,7 +91,7 @@ public class TimelineModel implements Serializable {
      * @param event event to be added
      */
     public void add(TimelineEvent event) {
-        events.add(event);
+        add(event, null);
     }
 
     /**
@@ -87,8 +114,14 @@ public class TimelineModel implements Serializable {
      * @param timelineUpdater TimelineUpdater instance to add the event in UI
      */
     public void add(TimelineEvent event, TimelineUpdater timelineUpdater) {
+        TimelineEventIndex index = getValidEventIndex();
         events.add(event);
 
+        if (index != null) {
+            index.added(event, events.size() - 1);
+            index.setModCount(((EventList) events).getModCount());
+        }
+
         if (timelineUpdater != null) {
             // update UI
             timelineUpdater.add(event);
@@ -149,7 +182,13 @@ public class TimelineModel implements Serializable {
     public void update(TimelineEvent event, TimelineUpdater timelineUpdater) {
         int index = getIndex(event);
         if (index >= 0) {
-            events.set(index, event);
+            TimelineEventIndex eventIndex = getValidEventIndex();
+            TimelineEvent previous = events.set(index, event);
+
+            if (eventIndex != null) {
+                eventIndex.replaced(previous, event, index);
+                eventIndex.setModCount(((EventList) events).getModCount());
+            }
 
             if (timelineUpdater != null) {
                 // update UI
@@ -199,7 +238,13 @@ public class TimelineModel implements Serializable {
     public void delete(TimelineEvent event, TimelineUpdater timelineUpdater) {
         int index = getIndex(event);
         if (index >= 0) {
-            events.remove(event);
+            TimelineEventIndex eventIndex = getValidEventIndex();
+            TimelineEvent previous = events.remove(index);
+
+            if (eventIndex != null) {
+                eventIndex.removed(previous);
+                eventIndex.setModCount(((EventList) events).getModCount());
+            }
 
             if (timelineUpdater != null) {
                 // update UI
@@ -225,9 +270,50 @@ public class TimelineModel implements Serializable {
      */
     public void deleteAll(Collection<TimelineEvent> events, TimelineUpdater timelineUpdater) {
         if (events != null && !events.isEmpty()) {
+            TimelineEventIndex index = getEventIndex();
+            if (index == null || events.size() == 1 || new HashSet<TimelineEvent>(events).size() != events.size()) {
+                for (TimelineEvent event : events) {
+                    delete(event, timelineUpdater);
+                }
+
+                return;
+            }
+
+            // resolve all positions before removing, the UI gets the positions as if the events were deleted one by one
+            List<Integer> removedPositions = new ArrayList<Integer>();
             for (TimelineEvent event : events) {
-                delete(event, timelineUpdater);
+                int position = index.indexOf(this.events, event);
+                if (position < 0) {
+                    continue;
+                }
+
+                int removedBefore = -(Collections.binarySearch(removedPositions, position) + 1);
+                removedPositions.add(removedBefore, position);
+
+                if (timelineUpdater != null) {
+                    // update UI
+                    timelineUpdater.delete(position - removedBefore);
+                }
             }
+
+            if (removedPositions.isEmpty()) {
+                return;
+            }
+
+            // compact the list in one pass
+            int write = 0;
+            int next = 0;
+            for (int read = 0; read < this.events.size(); read++) {
+                if (next < removedPositions.size() && removedPositions.get(next) == read) {
+                    index.removed(this.events.get(read));
+                    next++;
+                } else {
+                    this.events.set(write++, this.events.get(read));
+                }
+            }
+
+            this.events.subList(write, this.events.size()).clear();
+            index.setModCount(((EventList) this.events).getModCount());
         }
     }
 
@@ -281,8 +367,18 @@ public class TimelineModel implements Serializable {
             return null;
         }
 
+        List<TimelineEvent> candidates = events;
+        TimelineEventIndex index = getEventIndex();
+        if (index != null && (event.getEndDate() == null || !event.getEndDate().before(event.getStartDate()))) {
+            // only events of the same group starting before the end of the given one can overlap
+            long start = event.getStartDate().getTime();
+            long end = (event.getEndDate() == null) ? start : event.getEndDate().getTime();
+            candidates = new ArrayList<TimelineEvent>();
+            index.collectCandidates(event.getGroup(), start, end, candidates);
+        }
+
         List<TimelineEvent> overlappedEvents = null;
-        for (TimelineEvent e : events) {
+        for (TimelineEvent e : candidates) {
             if (e.equals(event)) {
                 // given event should not be included
                 continue;
@@ -357,14 +453,14 @@ public class TimelineModel implements Serializable {
             }
         }
 
-        // order events according to their start / end dates
-        TreeSet<TimelineEvent> orderedEvents = new TreeSet<TimelineEvent>(new TimelineEventComparator());
-        orderedEvents.add(event);
-        orderedEvents.addAll(events);
+        // find the earliest start date and the largest end date
+        Date startDate = event.getStartDate();
+        Date endDate = event.getEndDate();
+        for (TimelineEvent e : events) {
+            if (e.getStartDate().before(startDate)) {
+                startDate = e.getStartDate();
+            }
 
-        // find the largest end date
-        Date endDate = null;
-        for (TimelineEvent e : orderedEvents) {
             if (endDate == null && e.getEndDate() != null) {
                 endDate = e.getEndDate();
             } else if (endDate != null && e.getEndDate() != null && endDate.before(e.getEndDate())) {
@@ -373,7 +469,7 @@ public class TimelineModel implements Serializable {
         }
 
         TimelineEvent mergedEvent =
-                new TimelineEvent(event.getData(), orderedEvents.first().getStartDate(), endDate, event.isEditable(),
+                new TimelineEvent(event.getData(), startDate, endDate, event.isEditable(),
                         event.getGroup(), event.getStyleClass());
 
         // merge...
@@ -392,6 +488,64 @@ public class TimelineModel implements Serializable {
         return events;
     }
 
+    /**
+     * Gets the events of a group which overlap the given time range, e.g. to serve only the visible window of a lazy timeline.
+     * Events without end date are treated as points in time. Events are ordered by their start / end dates.
+     *
+     * @param group name of the group or null for events without group
+     * @param from  start of the time range (inclusive)
+     * @param to    end of the time range (inclusive)
+     * @return List<TimelineEvent> list of events
+     */
+    public List<TimelineEvent> getEvents(String group, Date from, Date to) {
+        return getEvents(group, true, from, to);
+    }
+
+    /**
+     * Gets the events of all groups which overlap the given time range. Events without end date are treated as points in time.
+     * Events are ordered by their start / end dates.
+     *
+     * @param from start of the time range (inclusive)
+     * @param to   end of the time range (inclusive)
+     * @return List<TimelineEvent> list of events
+     */
+    public List<TimelineEvent> getEvents(Date from, Date to) {
+        return getEvents(null, false, from, to);
+    }
+
+    private List<TimelineEvent> getEvents(String group, boolean filterGroup, Date from, Date to) {
+        long fromTime = from.getTime();
+        long toTime = to.getTime();
+        List<TimelineEvent> candidates = events;
+
+        TimelineEventIndex index = getEventIndex();
+        if (index != null) {
+            candidates = new ArrayList<TimelineEvent>();
+            if (filterGroup) {
+                index.collectCandidates(group, fromTime, toTime, candidates);
+            } else {
+                index.collectCandidates(fromTime, toTime, candidates);
+            }
+        }
+
+        List<TimelineEvent> result = new ArrayList<TimelineEvent>();
+        for (TimelineEvent e : candidates) {
+            if (filterGroup && (group == null ? e.getGroup() != null : !group.equals(e.getGroup()))) {
+                continue;
+            }
+
+            long start = e.getStartDate().getTime();
+            long end = (e.getEndDate() == null) ? start : e.getEndDate().getTime();
+            if (Math.min(start, end) <= toTime && Math.max(start, end) >= fromTime) {
+                result.add(e);
+            }
+        }
+
+        Collections.sort(result, START_END_COMPARATOR);
+
+        return result;
+    }
+
     /**
      * Sets events into this model
      *
@@ -452,6 +606,11 @@ public class TimelineModel implements Serializable {
     public int getIndex(TimelineEvent event) {
         int index = -1;
 
+        TimelineEventIndex eventIndex = getEventIndex();
+        if (eventIndex != null) {
+            return (event == null) ? -1 : eventIndex.indexOf(events, event);
+        }
+
         if (event != null) {
             for (int i = 0; i < events.size(); i++) {
                 if (events.get(i).equals(event)) {
@@ -465,6 +624,34 @@ public class TimelineModel implements Serializable {
         return index;
     }
 
+    /**
+     * @return the index of the events, rebuilt if the list of events was changed outside of this model, or null if the events
+     *         are kept in a list that was passed to {@link #setEvents(List)}
+     */
+    private TimelineEventIndex getEventIndex() {
+        if (!(events instanceof EventList)) {
+            return null;
+        }
+
+        int modCount = ((EventList) events).getModCount();
+        if (eventIndex == null || eventIndex.getModCount() != modCount) {
+            eventIndex = new TimelineEventIndex(events, modCount);
+        }
+
+        return eventIndex;
+    }
+
+    /**
+     * @return the index of the events if it is up to date, so it can be maintained incrementally
+     */
+    private TimelineEventIndex getValidEventIndex() {
+        if (eventIndex != null && events instanceof EventList && eventIndex.getModCount() == ((EventList) events).getModCount()) {
+            return eventIndex;
+        }
+
+        return null;
+    }
+
     private boolean isOverlapping(TimelineEvent event1, TimelineEvent event2) {
         if (event1.getEndDate() == null && event2.getEndDate() == null) {
             return event1.getStartDate().equals(event2.getStartDate());
@@ -487,4 +674,22 @@ public class TimelineModel implements Serializable {
                     || (event1.getStartDate().before(event2.getStartDate()) && event1.getEndDate().after(event2.getEndDate()));
         }
     }
+
+    /**
+     * List of events which counts all modifications, so changes outside of the model invalidate the index
+     */
+    private static class EventList extends ArrayList<TimelineEvent> {
+
+        private static final long serialVersionUID = 1L;
+
+        int getModCount() {
+            return modCount;
+        }
+
+        @Override
+        public TimelineEvent set(int index, TimelineEvent element) {
+            modCount++;
+            return super.set(index, element);
+        }
+    }
 }
@@ -22,9 +22,10 @@ import org.atmosphere.cpr.Broadcaster;
 import org.atmosphere.cpr.BroadcasterListener;
 import org.atmosphere.cpr.BroadcasterListenerAdapter;
 import org.atmosphere.cpr.MetaBroadcaster;
-import org.primefaces.json.JSONException;
-import org.primefaces.json.JSONObject;
+import org.primefaces.util.FastStringWriter;
+import org.primefaces.util.JSONWriter;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -94,42 +95,19 @@ public class PushContextImpl extends AsyncSupportListenerAdapter implements Push
     }
 
     private String toJSON(Object data) {
+        FastStringWriter json = new FastStringWriter(64);
         try {
-            StringBuilder jsonBuilder = new StringBuilder();
-            jsonBuilder.append("{");
-
-            if(isBean(data)) {
-                jsonBuilder.append("\"").append("data").append("\":").append(new JSONObject(data).toString());
-            } 
-            else {
-                String json = new JSONObject().put("data", data).toString();
-
-                jsonBuilder.append(json.substring(1, json.length() - 1));
+            JSONWriter writer = new JSONWriter(json).write("{");
+            if(data != null) {
+                writer.writeName("data").writeObject(data);
             }
-
-            jsonBuilder.append("}");
-
-            return jsonBuilder.toString();
+            writer.write("}");
         }
-
-        catch(JSONException e) {
-            System.out.println(e.getMessage());
-            
+        catch(IOException e) {
             throw new RuntimeException(e);
         }
-        
-    }
-    
-    private boolean isBean(Object value) {
-        if(value == null) {
-            return false;
-        }
-
-        if(value instanceof Boolean || value instanceof String || value instanceof Number) {
-            return false;
-        }
 
-        return true;
+        return json.toString();
     }
 
     @Override
@@ -15,11 +15,12 @@
  */
 package org.primefaces.push.impl;
 
+import java.io.IOException;
 import java.util.Map;
 import org.atmosphere.config.managed.Encoder;
-import org.primefaces.json.JSONException;
-import org.primefaces.json.JSONObject;
 import org.primefaces.util.BeanUtils;
+import org.primefaces.util.FastStringWriter;
+import org.primefaces.util.JSONWriter;
 
 public class JSONEncoder implements Encoder<Object, String> {
 
@@ -30,22 +31,18 @@ public class JSONEncoder implements Encoder<Object, String> {
             return null;
         }
         
+        if(object instanceof Map || BeanUtils.isBean(object.getClass())) {
+            return JSONWriter.toJSON(object);
+        }
+        
+        FastStringWriter json = new FastStringWriter(64);
         try {
-            String json;
-            
-            if(object instanceof Map) {
-                json = new JSONObject((Map) object).toString();
-            }
-            else if (BeanUtils.isBean(object.getClass())) {
-                json = new JSONObject(object).toString();
-            }  else {
-                json = new JSONObject().put(PRIMITIVE_DATA, object).toString();
-            }
-
-            return json;
-        } 
-        catch (JSONException e) {
+            new JSONWriter(json).write("{").writeName(PRIMITIVE_DATA).writeObject(object).write("}");
+        }
+        catch(IOException e) {
             throw new RuntimeException(e);
         }
+        
+        return json.toString();
     }
 }
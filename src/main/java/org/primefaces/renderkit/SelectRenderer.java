@@ -16,14 +16,52 @@
 package org.primefaces.renderkit;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.faces.component.UIComponent;
+import javax.faces.component.UIInput;
 import javax.faces.context.FacesContext;
 import javax.faces.convert.Converter;
+import javax.faces.event.PhaseId;
 import javax.faces.model.SelectItem;
 import javax.faces.model.SelectItemGroup;
 
 public class SelectRenderer extends InputRenderer {
+
+    private static final String SELECT_ITEMS = SelectRenderer.class.getName() + ".SELECT_ITEMS";
+    private static final String SELECTED_VALUES = SelectRenderer.class.getName() + ".SELECTED_VALUES";
+
+    /**
+     * The select items are computed once per component and row while rendering, the renderers ask for them multiple times.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected List<SelectItem> getSelectItems(FacesContext context, UIInput component) {
+        if(context.getCurrentPhaseId() != PhaseId.RENDER_RESPONSE) {
+            return super.getSelectItems(context, component);
+        }
+
+        Map<Object,Object> attributes = context.getAttributes();
+        Map<String,List<SelectItem>> selectItemsMap = (Map<String,List<SelectItem>>) attributes.get(SELECT_ITEMS);
+        if(selectItemsMap == null) {
+            selectItemsMap = new HashMap<String,List<SelectItem>>();
+            attributes.put(SELECT_ITEMS, selectItemsMap);
+        }
+
+        String clientId = component.getClientId(context);
+        List<SelectItem> selectItems = selectItemsMap.get(clientId);
+        if(selectItems == null) {
+            selectItems = super.getSelectItems(context, component);
+            selectItemsMap.put(clientId, selectItems);
+        }
+
+        return selectItems;
+    }
     
     protected boolean isSelected(FacesContext context, UIComponent component, Object itemValue, Object valueArray, Converter converter) {
         if(itemValue == null && valueArray == null) {
@@ -35,38 +73,105 @@ public class SelectRenderer extends InputRenderer {
                 return valueArray.equals(itemValue);
             }
             
-            int length = Array.getLength(valueArray);
-            for(int i = 0; i < length; i++) {
-                Object value = Array.get(valueArray, i);
-                
-                if(value == null && itemValue == null) {
-                    return true;
+            SelectedValues selectedValues = getSelectedValues(context, component, valueArray, converter);
+            if(itemValue == null) {
+                return selectedValues.containsNull;
+            }
+
+            // the item value is converted once per type of the selected values instead of once per selected value
+            for(Map.Entry<Class<?>,Collection<Object>> entry : selectedValues.valuesByType.entrySet()) {
+                Class<?> type = entry.getKey();
+                Object compareValue;
+                if (converter == null) {
+                    compareValue = coerceToModelType(context, itemValue, type);
                 } 
                 else {
-                    if((value == null) ^ (itemValue == null)) {
-                        continue;
-                    }
+                    compareValue = itemValue;
                     
-                    Object compareValue;
-                    if (converter == null) {
-                        compareValue = coerceToModelType(context, itemValue, value.getClass());
-                    } 
-                    else {
-                        compareValue = itemValue;
-                        
-                        if (compareValue instanceof String && !(value instanceof String)) {
-                            compareValue = converter.getAsObject(context, component, (String) compareValue);
-                        }
+                    if (compareValue instanceof String && type != String.class) {
+                        compareValue = converter.getAsObject(context, component, (String) compareValue);
                     }
+                }
 
-                    if (value.equals(compareValue)) {
-                        return (true);
-                    }
+                if (SelectedValues.contains(entry.getValue(), compareValue)) {
+                    return true;
                 }
             }
         }
         return false;
     }
+
+    /**
+     * @return the selected values grouped by type, reused while the options of the same values are rendered
+     */
+    protected SelectedValues getSelectedValues(FacesContext context, UIComponent component, Object valueArray, Converter converter) {
+        Map<Object,Object> attributes = context.getAttributes();
+        SelectedValues selectedValues = (SelectedValues) attributes.get(SELECTED_VALUES);
+
+        if(selectedValues == null || selectedValues.valueArray != valueArray || selectedValues.component != component
+                || selectedValues.converter != converter) {
+            selectedValues = new SelectedValues(component, valueArray, converter);
+            attributes.put(SELECTED_VALUES, selectedValues);
+        }
+
+        return selectedValues;
+    }
+
+    protected static class SelectedValues {
+
+        private final UIComponent component;
+        private final Object valueArray;
+        private final Converter converter;
+        private final Map<Class<?>,Collection<Object>> valuesByType = new LinkedHashMap<Class<?>,Collection<Object>>();
+        private boolean containsNull = false;
+
+        SelectedValues(UIComponent component, Object valueArray, Converter converter) {
+            this.component = component;
+            this.valueArray = valueArray;
+            this.converter = converter;
+
+            int length = Array.getLength(valueArray);
+            for(int i = 0; i < length; i++) {
+                Object value = Array.get(valueArray, i);
+                if(value == null) {
+                    containsNull = true;
+                    continue;
+                }
+
+                Collection<Object> values = valuesByType.get(value.getClass());
+                if(values == null) {
+                    values = overridesHashCode(value.getClass()) ? new HashSet<Object>() : new ArrayList<Object>();
+                    valuesByType.put(value.getClass(), values);
+                }
+                values.add(value);
+            }
+        }
+
+        static boolean contains(Collection<Object> values, Object compareValue) {
+            if(values instanceof HashSet) {
+                return values.contains(compareValue);
+            }
+
+            for(Object value : values) {
+                if(value.equals(compareValue)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Values that only override equals can't be looked up by hash.
+         */
+        private static boolean overridesHashCode(Class<?> type) {
+            try {
+                return type.getMethod("hashCode").getDeclaringClass() != Object.class;
+            }
+            catch(NoSuchMethodException e) {
+                return false;
+            }
+        }
+    }
     
     protected int countSelectItems(List<SelectItem> selectItems) {
         if (selectItems == null) {
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread safe alternative to {@link LimitedSizeHashMap}.
+ * 
+ * Reads don't lock and don't write to a shared counter, they stamp the entry with the current write count unless it
+ * already has it. If a write exceeds the maximum size, the writing thread evicts the least recently used of a small
+ * sample of entries, taken from an iterator that moves on over the map from one eviction to the next. Maps not larger
+ * than the sample are evicted in exact LRU order, larger ones approximately. The size may exceed the maximum for a
+ * short time while another thread is evicting.
+ */
+public class ConcurrentLimitedSizeHashMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int EVICTION_SAMPLE_SIZE = 16;
+
+    private final int maxSize;
+    private final ConcurrentHashMap<K, Node<V>> map;
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private transient Iterator<Map.Entry<K, Node<V>>> evictionIterator;
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    public ConcurrentLimitedSizeHashMap(int maxSize) {
+        this.maxSize = maxSize;
+        this.map = new ConcurrentHashMap<K, Node<V>>(Math.min(maxSize, 1 << 16) + 1);
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<V> node = map.get(key);
+        if(node == null) {
+            return null;
+        }
+
+        touch(node);
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Node<V> previous = map.put(key, new Node<V>(value, clock.incrementAndGet()));
+        evictIfNecessary();
+
+        return (previous == null) ? null : previous.value;
+    }
+
+    public V putIfAbsent(K key, V value) {
+        Node<V> node = new Node<V>(value, clock.incrementAndGet());
+        Node<V> previous = map.putIfAbsent(key, node);
+        if(previous != null) {
+            touch(previous);
+            return previous.value;
+        }
+
+        evictIfNecessary();
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Node<V> previous = map.remove(key);
+
+        return (previous == null) ? null : previous.value;
+    }
+
+    public boolean remove(Object key, Object value) {
+        Node<V> node = map.get(key);
+
+        return node != null && eq(node.value, value) && map.remove(key, node);
+    }
+
+    public boolean replace(K key, V oldValue, V newValue) {
+        Node<V> node = map.get(key);
+
+        return node != null && eq(node.value, oldValue) && map.replace(key, node, new Node<V>(newValue, clock.incrementAndGet()));
+    }
+
+    public V replace(K key, V value) {
+        Node<V> previous = map.replace(key, new Node<V>(value, clock.incrementAndGet()));
+
+        return (previous == null) ? null : previous.value;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if(entrySet == null) {
+            entrySet = new EntrySet();
+        }
+
+        return entrySet;
+    }
+
+    /**
+     * Marks the node as used after all writes so far. The clock only advances on writes, so repeated reads of an entry
+     * don't write to it again and reads never write to the clock.
+     */
+    private void touch(Node<V> node) {
+        long access = clock.get() + 1;
+        if(node.access != access) {
+            node.access = access;
+        }
+    }
+
+    private void evictIfNecessary() {
+        if(map.size() <= maxSize || !evictionLock.tryLock()) {
+            return;
+        }
+
+        try {
+            // entries might be replaced or removed concurrently, so an eviction can fail
+            int attempts = 2 * (map.size() - maxSize) + 1;
+            while(map.size() > maxSize && attempts-- > 0) {
+                Map.Entry<K, Node<V>> eldest = null;
+                int size = map.size();
+                int sampleSize = Math.min(EVICTION_SAMPLE_SIZE, size);
+                if(sampleSize == size) {
+                    // sample every entry once
+                    evictionIterator = null;
+                }
+
+                for(int i = 0; i < sampleSize; i++) {
+                    if(evictionIterator == null || !evictionIterator.hasNext()) {
+                        evictionIterator = map.entrySet().iterator();
+                        if(!evictionIterator.hasNext()) {
+                            return;
+                        }
+                    }
+
+                    Map.Entry<K, Node<V>> entry = evictionIterator.next();
+                    if(eldest == null || entry.getValue().access < eldest.getValue().access) {
+                        eldest = entry;
+                    }
+                }
+
+                map.remove(eldest.getKey(), eldest.getValue());
+            }
+        }
+        finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static boolean eq(Object value1, Object value2) {
+        return (value1 == null) ? value2 == null : value1.equals(value2);
+    }
+
+    private static class Node<V> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final V value;
+        private volatile long access;
+
+        Node(V value, long access) {
+            this.value = value;
+            this.access = access;
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            final Iterator<Map.Entry<K, Node<V>>> iterator = map.entrySet().iterator();
+
+            return new Iterator<Map.Entry<K, V>>() {
+
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                public Map.Entry<K, V> next() {
+                    final Map.Entry<K, Node<V>> entry = iterator.next();
+
+                    return new AbstractMap.SimpleEntry<K, V>(entry.getKey(), entry.getValue().value) {
+
+                        private static final long serialVersionUID = 1L;
+
+                        @Override
+                        public V setValue(V value) {
+                            ConcurrentLimitedSizeHashMap.this.put(entry.getKey(), value);
+                            return super.setValue(value);
+                        }
+                    };
+                }
+
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+    }
+}
@@ -34,11 +34,18 @@ public class Constants {
         public static final String PFV_KEY = "primefaces.CLIENT_SIDE_VALIDATION";
         public static final String UPLOADER = "primefaces.UPLOADER";
         public static final String CACHE_PROVIDER = "primefaces.CACHE_PROVIDER";
+        public static final String CACHE_MAX_ENTRIES = "primefaces.CACHE_MAX_ENTRIES";
+        public static final String CACHE_MAX_BYTES = "primefaces.CACHE_MAX_BYTES";
+        public static final String CACHE_TIME_TO_LIVE = "primefaces.CACHE_TIME_TO_LIVE";
+        public static final String CACHE_EVICTION_POLICY = "primefaces.CACHE_EVICTION_POLICY";
         public static final String TRANSFORM_METADATA = "primefaces.TRANSFORM_METADATA";
         public static final String LEGACY_WIDGET_NAMESPACE = "primefaces.LEGACY_WIDGET_NAMESPACE";
         public static final String BEAN_VALIDATION_DISABLED = "javax.faces.validator.DISABLE_DEFAULT_BEAN_VALIDATOR";
         public static final String INTERPOLATE_CLIENT_SIDE_VALIDATION_MESSAGES = "primefaces.INTERPOLATE_CLIENT_SIDE_VALIDATION_MESSAGES";
         public static final String EARLY_POST_PARAM_EVALUATION = "primefaces.EARLY_POST_PARAM_EVALUATION";
+        public static final String EXPORT_THREADS = "primefaces.EXPORT_THREADS";
+        public static final String UPLOAD_MAX_CONTENTS_SIZE = "primefaces.UPLOAD_MAX_CONTENTS_SIZE";
+        public static final String DEFER_WIDGETS = "primefaces.DEFER_WIDGETS";
     }
 
     public static class RequestParams {
@@ -65,6 +72,7 @@ public class Constants {
     public static final String DYNAMIC_CONTENT_CACHE_PARAM = "pfdrid_c";
     public static final String DYNAMIC_CONTENT_TYPE_PARAM = "pfdrt";
     public static final String DYNAMIC_RESOURCES_MAPPING = "primefaces.dynamicResourcesMapping";
+    public static final String DYNAMIC_RESOURCES_ETAGS = "primefaces.dynamicResourcesETags";
     
     public static final String BARCODE_MAPPING = "primefaces.barcodeMapping";
     
@@ -63,7 +63,7 @@ public class DynamicContentSrcBuilder {
                 Map<String,Object> session = context.getExternalContext().getSessionMap();
                 Map<String,String> dynamicResourcesMapping = (Map) session.get(Constants.DYNAMIC_RESOURCES_MAPPING);
                 if(dynamicResourcesMapping == null) {
-                    dynamicResourcesMapping = new LimitedSizeHashMap<String, String>(200);
+                    dynamicResourcesMapping = new ConcurrentLimitedSizeHashMap<String, String>(200);
                     session.put(Constants.DYNAMIC_RESOURCES_MAPPING, dynamicResourcesMapping);
                 }
                 
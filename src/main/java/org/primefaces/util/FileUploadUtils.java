@@ -0,0 +1,141 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import javax.faces.FacesException;
+import org.primefaces.model.StreamingUploadedFile;
+
+public class FileUploadUtils {
+
+    private FileUploadUtils() {
+    }
+
+    /**
+     * Copies the channel into the target file, the channel is closed afterwards.
+     */
+    public static void transferTo(ReadableByteChannel source, File target) throws IOException {
+        FileOutputStream output = new FileOutputStream(target);
+        try {
+            FileChannel targetChannel = output.getChannel();
+            long position = 0;
+            long transferred;
+
+            if(source instanceof FileChannel) {
+                FileChannel sourceChannel = (FileChannel) source;
+                long size = sourceChannel.size();
+                while(position < size) {
+                    position += sourceChannel.transferTo(position, size - position, targetChannel);
+                }
+            }
+            else {
+                while((transferred = targetChannel.transferFrom(source, position, Long.MAX_VALUE - position)) > 0) {
+                    position += transferred;
+                }
+            }
+        }
+        finally {
+            output.close();
+            source.close();
+        }
+    }
+
+    /**
+     * Renames the source file or copies it if it can't be renamed, e.g. because it resides on another filesystem.
+     */
+    public static void transferTo(File source, File target) throws IOException {
+        if(source.renameTo(target)) {
+            return;
+        }
+
+        transferTo(new FileInputStream(source).getChannel(), target);
+    }
+
+    public static void transferTo(InputStream source, File target) throws IOException {
+        transferTo(Channels.newChannel(source), target);
+    }
+
+    /**
+     * Reads the stream into an array of the expected size, so the content is copied only once.
+     *
+     * @param size the expected size or -1 if unknown
+     * @param maxSize the maximum size which can be loaded into memory or -1 if unlimited
+     */
+    public static byte[] toByteArray(InputStream input, long size, long maxSize) throws IOException {
+        checkContentsSize(size, maxSize);
+
+        if(size < 0 || size > Integer.MAX_VALUE) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            copy(input, output, maxSize);
+            return output.toByteArray();
+        }
+
+        byte[] contents = new byte[(int) size];
+        int offset = 0;
+        int n;
+        while(offset < contents.length && (n = input.read(contents, offset, contents.length - offset)) != -1) {
+            offset += n;
+        }
+
+        if(offset < contents.length) {
+            byte[] truncated = new byte[offset];
+            System.arraycopy(contents, 0, truncated, 0, offset);
+            return truncated;
+        }
+
+        // the size was wrong, read the remaining bytes
+        int next = input.read();
+        if(next == -1) {
+            return contents;
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(contents.length + 8192);
+        output.write(contents);
+        output.write(next);
+        copy(input, output, maxSize < 0 ? -1 : maxSize - contents.length - 1);
+        return output.toByteArray();
+    }
+
+    /**
+     * @throws FacesException if the contents exceed the given maximum size
+     */
+    public static void checkContentsSize(long size, long maxSize) {
+        if(maxSize >= 0 && size > maxSize) {
+            throw new FacesException("Uploaded file of " + size + " bytes exceeds the limit of " + maxSize + " bytes for loading it into memory, "
+                    + "use getInputstream() or " + StreamingUploadedFile.class.getSimpleName() + ".transferTo(File) instead. "
+                    + "The limit can be configured via the context param " + Constants.ContextParams.UPLOAD_MAX_CONTENTS_SIZE + ".");
+        }
+    }
+
+    private static void copy(InputStream input, ByteArrayOutputStream output, long maxSize) throws IOException {
+        byte[] buffer = new byte[8192];
+        long count = 0;
+        int n;
+        while((n = input.read(buffer)) != -1) {
+            count += n;
+            checkContentsSize(count, maxSize);
+            output.write(buffer, 0, n);
+        }
+    }
+}
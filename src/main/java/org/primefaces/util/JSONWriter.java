@@ -0,0 +1,468 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.primefaces.json.JSONArray;
+import org.primefaces.json.JSONException;
+import org.primefaces.json.JSONObject;
+import org.primefaces.json.JSONString;
+
+/**
+ * Writes objects as JSON straight to a {@link Writer}, without building a {@link JSONObject} tree first.
+ *
+ * Values are converted like {@link JSONObject#wrap(Object)} does, beans are written with their getters. The getters of
+ * a class are looked up once and cached, instead of reflecting on every object. The cache doesn't strongly reference
+ * the classes, so it doesn't keep the class loader of a redeployed application loaded.
+ * Optionally the output is escaped for XML while writing, e.g. for the extensions of a partial response.
+ */
+public class JSONWriter {
+
+    private static final Map<ClassKey, Property[]> PROPERTIES = new ConcurrentLimitedSizeHashMap<ClassKey, Property[]>(1000);
+
+    private final Writer writer;
+
+    public JSONWriter(Writer writer) {
+        this(writer, false);
+    }
+
+    public JSONWriter(Writer writer, boolean escapeXml) {
+        this.writer = escapeXml ? new XmlEscapingWriter(writer) : writer;
+    }
+
+    /**
+     * @return the object or value as JSON
+     */
+    public static String toJSON(Object value) {
+        FastStringWriter out = new FastStringWriter(256);
+        try {
+            new JSONWriter(out).writeObject(value);
+        }
+        catch(IOException e) {
+            // not thrown by FastStringWriter
+            throw new JSONException(e);
+        }
+
+        return out.toString();
+    }
+
+    /**
+     * Writes a quoted name followed by a colon, to write the members of an object.
+     */
+    public JSONWriter writeName(String name) throws IOException {
+        JSONObject.quote(name, writer);
+        writer.write(':');
+
+        return this;
+    }
+
+    public JSONWriter write(String raw) throws IOException {
+        writer.write(raw);
+
+        return this;
+    }
+
+    /**
+     * Writes maps, collections and arrays as JSON objects and arrays, other values that are no numbers, booleans or strings
+     * are written as beans, including classes of the JDK. This matches <code>new JSONObject(Object)</code> for beans.
+     */
+    public JSONWriter writeObject(Object value) throws IOException {
+        if(value instanceof Number) {
+            writeNumber((Number) value);
+            return this;
+        }
+
+        if(value == null || value instanceof Boolean || value instanceof String
+                || value instanceof Map || value instanceof Collection || value.getClass().isArray()
+                || value instanceof JSONObject || value instanceof JSONArray || value instanceof JSONString) {
+            return writeValue(value);
+        }
+
+        writeBean(value);
+
+        return this;
+    }
+
+    /**
+     * Writes a value like <code>JSONObject.wrap(value)</code> would be written, beans outside of the JDK are written with
+     * their getters and other classes of the JDK as their quoted <code>toString()</code>.
+     */
+    public JSONWriter writeValue(Object value) throws IOException {
+        if(value == null || JSONObject.NULL.equals(value)) {
+            writer.write("null");
+        }
+        else if(value instanceof String) {
+            JSONObject.quote((String) value, writer);
+        }
+        else if(value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long
+                || value instanceof BigInteger) {
+            writer.write(value.toString());
+        }
+        else if(value instanceof Double || value instanceof Float || value instanceof BigDecimal) {
+            writeNumber((Number) value);
+        }
+        else if(value instanceof Boolean) {
+            writer.write(value.toString());
+        }
+        else if(value instanceof Character) {
+            JSONObject.quote(value.toString(), writer);
+        }
+        else if(value instanceof JSONObject) {
+            ((JSONObject) value).write(writer);
+        }
+        else if(value instanceof JSONArray) {
+            ((JSONArray) value).write(writer);
+        }
+        else if(value instanceof JSONString) {
+            writeJSONString((JSONString) value);
+        }
+        else if(value instanceof Map) {
+            writeMap((Map<?, ?>) value);
+        }
+        else if(value instanceof Collection) {
+            writeCollection((Collection<?>) value);
+        }
+        else if(value.getClass().isArray()) {
+            writeArray(value);
+        }
+        else if(isJDKClass(value.getClass())) {
+            JSONObject.quote(value.toString(), writer);
+        }
+        else {
+            writeBean(value);
+        }
+
+        return this;
+    }
+
+    protected void writeNumber(Number number) throws IOException {
+        try {
+            writer.write(JSONObject.numberToString(number));
+        }
+        catch(JSONException e) {
+            // not finite
+            writer.write("null");
+        }
+    }
+
+    protected void writeJSONString(JSONString value) throws IOException {
+        String json;
+        try {
+            json = value.toJSONString();
+        }
+        catch(Exception e) {
+            throw new JSONException(e);
+        }
+
+        if(json == null) {
+            JSONObject.quote(value.toString(), writer);
+        }
+        else {
+            writer.write(json);
+        }
+    }
+
+    protected void writeMap(Map<?, ?> map) throws IOException {
+        writer.write('{');
+
+        boolean first = true;
+        for(Map.Entry<?, ?> entry : map.entrySet()) {
+            if(entry.getValue() != null) {
+                if(!first) {
+                    writer.write(',');
+                }
+                writeName(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue());
+                first = false;
+            }
+        }
+
+        writer.write('}');
+    }
+
+    protected void writeCollection(Collection<?> collection) throws IOException {
+        writer.write('[');
+
+        boolean first = true;
+        for(Object item : collection) {
+            if(!first) {
+                writer.write(',');
+            }
+            writeValue(item);
+            first = false;
+        }
+
+        writer.write(']');
+    }
+
+    protected void writeArray(Object array) throws IOException {
+        writer.write('[');
+
+        for(int i = 0, length = Array.getLength(array); i < length; i++) {
+            if(i > 0) {
+                writer.write(',');
+            }
+            writeValue(Array.get(array, i));
+        }
+
+        writer.write(']');
+    }
+
+    protected void writeBean(Object bean) throws IOException {
+        writer.write('{');
+
+        boolean first = true;
+        for(Property property : getProperties(bean.getClass())) {
+            Object value;
+            try {
+                value = property.getValue(bean);
+            }
+            catch(Exception e) {
+                // skipped like JSONObject does
+                continue;
+            }
+
+            if(value != null) {
+                if(!first) {
+                    writer.write(',');
+                }
+                writeName(property.name);
+                writeValue(value);
+                first = false;
+            }
+        }
+
+        writer.write('}');
+    }
+
+    protected static boolean isJDKClass(Class<?> type) {
+        if(type.getClassLoader() == null) {
+            return true;
+        }
+
+        String name = type.getName();
+
+        return name.startsWith("java.") || name.startsWith("javax.");
+    }
+
+    /**
+     * Finds the getters of a class with the same rules as <code>new JSONObject(Object)</code>.
+     */
+    protected static Property[] getProperties(Class<?> type) {
+        ClassKey classKey = new ClassKey(type);
+        Property[] properties = PROPERTIES.get(classKey);
+        if(properties != null) {
+            return properties;
+        }
+
+        Map<String, Method> getters = new LinkedHashMap<String, Method>();
+        Method[] methods = (type.getClassLoader() != null) ? type.getMethods() : type.getDeclaredMethods();
+        for(Method method : methods) {
+            if(!Modifier.isPublic(method.getModifiers()) || method.getParameterTypes().length > 0) {
+                continue;
+            }
+
+            String name = method.getName();
+            String key = "";
+            if(name.startsWith("get")) {
+                if(!"getClass".equals(name) && !"getDeclaringClass".equals(name)) {
+                    key = name.substring(3);
+                }
+            }
+            else if(name.startsWith("is")) {
+                key = name.substring(2);
+            }
+
+            if(key.length() > 0 && Character.isUpperCase(key.charAt(0))) {
+                if(key.length() == 1) {
+                    key = key.toLowerCase();
+                }
+                else if(!Character.isUpperCase(key.charAt(1))) {
+                    key = key.substring(0, 1).toLowerCase() + key.substring(1);
+                }
+
+                getters.put(key, method);
+            }
+        }
+
+        properties = new Property[getters.size()];
+        int i = 0;
+        for(Map.Entry<String, Method> getter : getters.entrySet()) {
+            properties[i++] = new Property(getter.getKey(), getter.getValue());
+        }
+
+        PROPERTIES.put(classKey, properties);
+
+        return properties;
+    }
+
+    /**
+     * The getter is only softly referenced, as it strongly references its class. It is looked up again by name if it
+     * was collected.
+     */
+    protected static class Property {
+
+        private final String name;
+
+        private final String getterName;
+
+        private volatile SoftReference<Method> getter;
+
+        Property(String name, Method getter) {
+            this.name = name;
+            this.getterName = getter.getName();
+            this.getter = new SoftReference<Method>(getter);
+        }
+
+        Object getValue(Object bean) throws Exception {
+            Method method = getter.get();
+            if(method == null) {
+                method = bean.getClass().getMethod(getterName);
+                getter = new SoftReference<Method>(method);
+            }
+
+            return method.invoke(bean, (Object[]) null);
+        }
+    }
+
+    /**
+     * Identifies a class by identity without strongly referencing it.
+     */
+    private static class ClassKey {
+
+        private final WeakReference<Class<?>> type;
+
+        private final int hashCode;
+
+        ClassKey(Class<?> type) {
+            this.type = new WeakReference<Class<?>>(type);
+            this.hashCode = System.identityHashCode(type);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(this == obj) {
+                return true;
+            }
+
+            if(!(obj instanceof ClassKey)) {
+                return false;
+            }
+
+            Class<?> clazz = type.get();
+
+            return clazz != null && clazz == ((ClassKey) obj).type.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Escapes like {@link ComponentUtils#escapeXml(String)} while writing.
+     */
+    private static class XmlEscapingWriter extends Writer {
+
+        private final Writer writer;
+
+        XmlEscapingWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            switch(c) {
+                case '&':
+                    writer.write("&amp;");
+                    break;
+                case '<':
+                    writer.write("&lt;");
+                    break;
+                case '>':
+                    writer.write("&gt;");
+                    break;
+                case '\'':
+                    writer.write("&apos;");
+                    break;
+                default:
+                    writer.write(c);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            int start = off;
+            int end = off + len;
+            for(int i = off; i < end; i++) {
+                char c = str.charAt(i);
+                if(c == '&' || c == '<' || c == '>' || c == '\'') {
+                    if(i > start) {
+                        writer.write(str, start, i - start);
+                    }
+                    write(c);
+                    start = i + 1;
+                }
+            }
+
+            if(end > start) {
+                writer.write(str, start, end - start);
+            }
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            int start = off;
+            int end = off + len;
+            for(int i = off; i < end; i++) {
+                char c = cbuf[i];
+                if(c == '&' || c == '<' || c == '>' || c == '\'') {
+                    if(i > start) {
+                        writer.write(cbuf, start, i - start);
+                    }
+                    write(c);
+                    start = i + 1;
+                }
+            }
+
+            if(end > start) {
+                writer.write(cbuf, start, end - start);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -18,6 +18,9 @@ package org.primefaces.util;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+/**
+ * Not thread safe, use {@link ConcurrentLimitedSizeHashMap} if the map is shared between requests.
+ */
 public class LimitedSizeHashMap<K, V> extends LinkedHashMap<K, V> {
 
     private final int maxSize;
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.util;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Copies streamed content to the response.
+ */
+public class StreamUtils {
+
+    public static final int BUFFER_SIZE = 65536;
+
+    private StreamUtils() {
+    }
+
+    /**
+     * Copies the stream, file streams are copied through their FileChannel.
+     */
+    public static void copy(InputStream input, OutputStream output) throws IOException {
+        if(input instanceof FileInputStream) {
+            FileChannel channel = ((FileInputStream) input).getChannel();
+            long position = channel.position();
+            copy(channel, position, channel.size() - position, output);
+            return;
+        }
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length;
+        while((length = input.read(buffer)) != -1) {
+            output.write(buffer, 0, length);
+        }
+    }
+
+    /**
+     * Copies a range of the file with {@link FileChannel#transferTo(long, long, WritableByteChannel)}, which reads through
+     * a direct buffer instead of a heap byte array.
+     */
+    public static void copy(FileChannel channel, long position, long length, OutputStream output) throws IOException {
+        WritableByteChannel target = Channels.newChannel(output);
+        long end = position + length;
+
+        while(position < end) {
+            long transferred = channel.transferTo(position, end - position, target);
+            if(transferred <= 0) {
+                // file was truncated meanwhile
+                break;
+            }
+
+            position += transferred;
+        }
+    }
+}
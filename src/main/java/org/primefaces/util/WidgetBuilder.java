@@ -18,18 +18,36 @@ package org.primefaces.util;
 import java.io.IOException;
 
 import javax.faces.context.FacesContext;
+import javax.faces.context.ResponseWriter;
 
 /**
  * Helper to generate javascript code of an ajax call
+ *
+ * If deferred, the init scripts are not rendered after each component in an own script block, but collected for the
+ * whole request and rendered at once by {@link #renderDeferredScripts()} at the end of the body, or as one eval of a
+ * partial response.
  */
 public class WidgetBuilder {
 
     protected boolean endFunction = false;
     protected FacesContext context;
+    protected boolean deferred = false;
+    protected FastStringWriter deferredScripts;
+    protected ResponseWriter deferredWriter;
+    protected ResponseWriter originalWriter;
         
     public WidgetBuilder(FacesContext context) {
     	this.context = context;
     }
+
+    public WidgetBuilder(FacesContext context, boolean deferred) {
+    	this.context = context;
+    	this.deferred = deferred;
+
+    	if (deferred) {
+    	    deferredScripts = new FastStringWriter(4096);
+    	}
+    }
     
     /**
      *
@@ -80,19 +98,83 @@ public class WidgetBuilder {
         return this;
     }
 
+    /**
+     * Always rendered inline, also if deferred: the load event of the target, e.g. a cached image, might already be
+     * fired at the end of the body.
+     */
     public WidgetBuilder initWithComponentLoad(String widgetClass, String widgetVar, String id, String targetId) throws IOException {
     	
-    	this.renderScriptBlock(id);
-    	context.getResponseWriter().write("$(PrimeFaces.escapeClientId(\"" + targetId + "\")).load(function(){");
+    	this.renderScriptBlock(id, false);
+    	ResponseWriter writer = context.getResponseWriter();
+    	writer.write("$(PrimeFaces.escapeClientId(\"");
+    	writer.write(targetId);
+    	writer.write("\")).load(function(){");
     	this.init(widgetClass, widgetVar, id, true);
         
         return this;
     }
     
     private void renderScriptBlock(String id) throws IOException {
-        context.getResponseWriter().startElement("script", null);
-        context.getResponseWriter().writeAttribute("id", id + "_s", null);
-        context.getResponseWriter().writeAttribute("type", "text/javascript", null);
+        renderScriptBlock(id, deferred);
+    }
+
+    private void renderScriptBlock(String id, boolean defer) throws IOException {
+        ResponseWriter writer = context.getResponseWriter();
+
+        if (defer) {
+            // renderers also write parts of the script with the response writer, e.g. the behaviors
+            if (deferredWriter == null) {
+                deferredWriter = writer.cloneWithWriter(deferredScripts);
+            }
+            originalWriter = writer;
+            context.setResponseWriter(deferredWriter);
+            return;
+        }
+
+        writer.startElement("script", null);
+        writer.writeAttribute("id", id + "_s", null);
+        writer.writeAttribute("type", "text/javascript", null);
+    }
+
+    public boolean isDeferred() {
+        return deferred;
+    }
+
+    /**
+     * Returns the init scripts collected since the last call and clears them.
+     *
+     * @return the scripts or null if there are none
+     */
+    public String takeDeferredScripts() {
+        if (deferredScripts == null || deferredScripts.getBuffer().length() == 0) {
+            return null;
+        }
+
+        String scripts = deferredScripts.toString();
+        deferredScripts.getBuffer().setLength(0);
+
+        return scripts;
+    }
+
+    /**
+     * Renders the collected init scripts as one script block.
+     */
+    public void renderDeferredScripts() throws IOException {
+        String scripts = takeDeferredScripts();
+        if (scripts != null) {
+            renderScripts(scripts);
+        }
+    }
+
+    /**
+     * Renders the given init scripts as one script block.
+     */
+    public void renderScripts(String scripts) throws IOException {
+        ResponseWriter writer = context.getResponseWriter();
+        writer.startElement("script", null);
+        writer.writeAttribute("type", "text/javascript", null);
+        writer.write(scripts);
+        writer.endElement("script");
     }
 
     public WidgetBuilder attr(String name, String value) throws IOException {
@@ -262,6 +344,12 @@ public class WidgetBuilder {
             context.getResponseWriter().write("});");
         }
         
-        context.getResponseWriter().endElement("script");
+        if (originalWriter != null) {
+            context.setResponseWriter(originalWriter);
+            originalWriter = null;
+        }
+        else {
+            context.getResponseWriter().endElement("script");
+        }
     }
 }
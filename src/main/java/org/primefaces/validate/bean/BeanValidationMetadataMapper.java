@@ -17,15 +17,21 @@ package org.primefaces.validate.bean;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.el.PropertyNotFoundException;
+import javax.el.ValueExpression;
+import javax.el.ValueReference;
 import javax.faces.FacesException;
 import javax.faces.component.UIComponent;
 import javax.faces.context.FacesContext;
@@ -44,16 +50,30 @@ import javax.validation.constraints.Past;
 import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Size;
 import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
 
 import org.primefaces.context.RequestContext;
+import org.primefaces.el.ValueExpressionAnalyzer;
 import org.primefaces.metadata.BeanValidationMetadataExtractor;
+import org.primefaces.util.ConcurrentLimitedSizeHashMap;
 
 public class BeanValidationMetadataMapper {
 
     private static final Logger LOG = Logger.getLogger(BeanValidationMetadataMapper.class.getName());
 
     private static final Map<Class<? extends Annotation>, ClientValidationConstraint> CONSTRAINT_MAPPING =
-            new HashMap<Class<? extends Annotation>, ClientValidationConstraint>();
+            new ConcurrentHashMap<Class<? extends Annotation>, ClientValidationConstraint>();
+
+    // instances of the ClientValidationConstraints of custom constraints, by their @ClientConstraint(resolvedBy)
+    private static final Map<Class<?>, ClientValidationConstraint> RESOLVED_CONSTRAINTS =
+            new ConcurrentHashMap<Class<?>, ClientValidationConstraint>();
+
+    // resolved metadata by bean class, property and locale of the interpolated messages
+    private static final Map<MetadataKey, BeanValidationMetadata> METADATA_CACHE =
+            new ConcurrentLimitedSizeHashMap<MetadataKey, BeanValidationMetadata>(10000);
+
+    // cached for properties without client side metadata
+    private static final BeanValidationMetadata NO_METADATA = new BeanValidationMetadata();
     
     static {
         CONSTRAINT_MAPPING.put(NotNull.class, new NotNullClientValidationConstraint());
@@ -71,105 +91,207 @@ public class BeanValidationMetadataMapper {
         CONSTRAINT_MAPPING.put(Pattern.class, new PatternClientValidationConstraint());
     }
     
+    /**
+     * Resolves the metadata of the bean property bound to the value of the component. The metadata is cached by the class
+     * of the bean, the property and the locale, as it is the same for all components bound to the property, e.g. in every
+     * row of a table. The returned metadata must not be modified.
+     */
     public static BeanValidationMetadata resolveValidationMetadata(FacesContext context, UIComponent component, RequestContext requestContext)
             throws IOException {
 
+        ValueExpression ve = component.getValueExpression("value");
+        if (ve == null) {
+            return null;
+        }
+
+        try {
+            ValueReference vr = ValueExpressionAnalyzer.getReference(context.getELContext(), ve);
+            if (vr == null || vr.getBase() == null || vr.getProperty() == null) {
+                return null;
+            }
+
+            boolean interpolateClientSideValidationMessages = requestContext.getApplicationContext().getConfig().isInterpolateClientSideValidationMessages();
+            Locale locale = interpolateClientSideValidationMessages ? context.getViewRoot().getLocale() : null;
+
+            return resolveValidationMetadata(requestContext, vr, locale, interpolateClientSideValidationMessages);
+        }
+        catch (PropertyNotFoundException e) {
+            String message = "Skip resolving of CSV BV metadata for component \"" + component.getClientId(context) + "\" because"
+                    + " the ValueExpression of the \"value\" attribute"
+                    + " isn't resolvable completely (e.g. a sub-expression returns null)";
+            LOG.log(Level.FINE, message);
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the cached metadata of the referenced bean property or null if it has no client side constraints
+     */
+    protected static BeanValidationMetadata resolveValidationMetadata(RequestContext requestContext, ValueReference vr, Locale locale,
+            boolean interpolateClientSideValidationMessages) {
+
+        MetadataKey key = new MetadataKey(vr.getBase().getClass(), vr.getProperty(), locale);
+
+        BeanValidationMetadata beanValidationMetadata = METADATA_CACHE.get(key);
+        if (beanValidationMetadata == null) {
+            PropertyDescriptor propertyDescriptor = BeanValidationMetadataExtractor.extractPropertyDescriptor(requestContext, vr);
+            Set<ConstraintDescriptor<?>> constraints = (propertyDescriptor == null) ? null : propertyDescriptor.getConstraintDescriptors();
+
+            beanValidationMetadata = resolveValidationMetadata(requestContext, constraints, interpolateClientSideValidationMessages);
+            METADATA_CACHE.put(key, beanValidationMetadata);
+        }
+
+        return (beanValidationMetadata == NO_METADATA) ? null : beanValidationMetadata;
+    }
+
+    protected static BeanValidationMetadata resolveValidationMetadata(RequestContext requestContext, Set<ConstraintDescriptor<?>> constraints,
+            boolean interpolateClientSideValidationMessages) {
+
         Map<String,Object> metadata = null;
         List<String> validatorIds = null;
-        
-        try {
-            // get BV ConstraintDescriptors
-            Set<ConstraintDescriptor<?>> constraints = BeanValidationMetadataExtractor.extractAllConstraintDescriptors(
-                    context, requestContext, component.getValueExpression("value"));
-
-            if (constraints != null && !constraints.isEmpty()) {
-              
-                boolean interpolateClientSideValidationMessages = requestContext.getApplicationContext().getConfig().isInterpolateClientSideValidationMessages();
-                
-                MessageInterpolator messageInterpolator = null;
-                if (interpolateClientSideValidationMessages) {
-                    messageInterpolator = requestContext.getApplicationContext().getValidatorFactory().getMessageInterpolator();
-                }
 
-                // loop BV ConstraintDescriptors
-                for (ConstraintDescriptor<?> constraintDescriptor : constraints) {
-                    Class<?> annotationType = constraintDescriptor.getAnnotation().annotationType();
-                    
-                    // lookup ClientValidationConstraint by constraint annotation (e.g. @NotNull)
-                    ClientValidationConstraint clientValidationConstraint = CONSTRAINT_MAPPING.get(annotationType);
-
-                    // mapping available? Otherwise try to lookup custom constraint
-                    if (clientValidationConstraint == null) {
-                        // custom constraint must use @ClientConstraint to map the ClientValidationConstraint
-                        ClientConstraint clientConstraint = annotationType.getAnnotation(ClientConstraint.class);
-
-                        if (clientConstraint != null) {
-                            Class<?> resolvedBy = clientConstraint.resolvedBy();
-
-                            if (resolvedBy != null) {
-                                try {
-                                    // TODO AppScoped instances? CDI?
-                                    // instantiate ClientValidationConstraint
-                                    clientValidationConstraint = (ClientValidationConstraint) resolvedBy.newInstance();
-                                }
-                                catch (Exception e) {
-                                    throw new FacesException("Could not instantiate ClientValidationConstraint!", e);
-                                }
-                            }
+        if (constraints != null && !constraints.isEmpty()) {
+
+            MessageInterpolator messageInterpolator = null;
+            if (interpolateClientSideValidationMessages) {
+                messageInterpolator = requestContext.getApplicationContext().getValidatorFactory().getMessageInterpolator();
+            }
+
+            // loop BV ConstraintDescriptors
+            for (ConstraintDescriptor<?> constraintDescriptor : constraints) {
+                Class<?> annotationType = constraintDescriptor.getAnnotation().annotationType();
+
+                // lookup ClientValidationConstraint by constraint annotation (e.g. @NotNull)
+                ClientValidationConstraint clientValidationConstraint = CONSTRAINT_MAPPING.get(annotationType);
+
+                // mapping available? Otherwise try to lookup custom constraint
+                if (clientValidationConstraint == null) {
+                    // custom constraint must use @ClientConstraint to map the ClientValidationConstraint
+                    ClientConstraint clientConstraint = annotationType.getAnnotation(ClientConstraint.class);
+
+                    if (clientConstraint != null) {
+                        Class<?> resolvedBy = clientConstraint.resolvedBy();
+
+                        if (resolvedBy != null) {
+                            clientValidationConstraint = getResolvedConstraint(resolvedBy);
                         }
                     }
+                }
 
-                    if (clientValidationConstraint != null) {
+                if (clientValidationConstraint != null) {
 
-                        String validatorId = clientValidationConstraint.getValidatorId();
+                    String validatorId = clientValidationConstraint.getValidatorId();
 
-                        Map<String, Object> constraintMetadata;
+                    Map<String, Object> constraintMetadata;
 
-                        if (interpolateClientSideValidationMessages) {
-                            MessageInterpolatingConstraintWrapper interpolatingConstraint =
-                                    new MessageInterpolatingConstraintWrapper(messageInterpolator, constraintDescriptor);
-                            constraintMetadata = clientValidationConstraint.getMetadata(interpolatingConstraint);
-                        }
-                        else {
-                            constraintMetadata = clientValidationConstraint.getMetadata(constraintDescriptor);
-                        }
+                    if (interpolateClientSideValidationMessages) {
+                        MessageInterpolatingConstraintWrapper interpolatingConstraint =
+                                new MessageInterpolatingConstraintWrapper(messageInterpolator, constraintDescriptor);
+                        constraintMetadata = clientValidationConstraint.getMetadata(interpolatingConstraint);
+                    }
+                    else {
+                        constraintMetadata = clientValidationConstraint.getMetadata(constraintDescriptor);
+                    }
 
-                        if (constraintMetadata != null) {
-                            if (metadata == null) {
-                                metadata = new HashMap<String, Object>();
-                            }
-                            metadata.putAll(constraintMetadata);
+                    if (constraintMetadata != null) {
+                        if (metadata == null) {
+                            metadata = new HashMap<String, Object>();
                         }
+                        metadata.putAll(constraintMetadata);
+                    }
 
-                        if (validatorId != null) {
-                            if (validatorIds == null) {
-                                validatorIds = new ArrayList<String>();
-                            }
-                            validatorIds.add(validatorId);
+                    if (validatorId != null) {
+                        if (validatorIds == null) {
+                            validatorIds = new ArrayList<String>();
                         }
+                        validatorIds.add(validatorId);
                     }
                 }
             }
         }
-        catch (PropertyNotFoundException e) {
-            String message = "Skip resolving of CSV BV metadata for component \"" + component.getClientId(context) + "\" because"
-                    + " the ValueExpression of the \"value\" attribute"
-                    + " isn't resolvable completely (e.g. a sub-expression returns null)";
-            LOG.log(Level.FINE, message);
-        }
 
         if (metadata == null && validatorIds == null) {
-            return null;
+            return NO_METADATA;
+        }
+
+        // shared by all requests
+        return new BeanValidationMetadata(
+                (metadata == null) ? null : Collections.unmodifiableMap(metadata),
+                (validatorIds == null) ? null : Collections.unmodifiableList(validatorIds));
+    }
+
+    /**
+     * The ClientValidationConstraints of custom constraints are created once and shared like the built-in ones.
+     */
+    private static ClientValidationConstraint getResolvedConstraint(Class<?> resolvedBy) {
+        ClientValidationConstraint clientValidationConstraint = RESOLVED_CONSTRAINTS.get(resolvedBy);
+
+        if (clientValidationConstraint == null) {
+            try {
+                // instantiate ClientValidationConstraint
+                clientValidationConstraint = (ClientValidationConstraint) resolvedBy.newInstance();
+            }
+            catch (Exception e) {
+                throw new FacesException("Could not instantiate ClientValidationConstraint!", e);
+            }
+
+            RESOLVED_CONSTRAINTS.put(resolvedBy, clientValidationConstraint);
         }
 
-        return new BeanValidationMetadata(metadata, validatorIds);
+        return clientValidationConstraint;
     }
     
     public static void registerConstraintMapping(Class<? extends Annotation> constraint, ClientValidationConstraint clientValidationConstraint) {
         CONSTRAINT_MAPPING.put(constraint, clientValidationConstraint);
+        METADATA_CACHE.clear();
     }
     
     public static ClientValidationConstraint removeConstraintMapping(Class<? extends Annotation> constraint) {
-        return CONSTRAINT_MAPPING.remove(constraint);
+        ClientValidationConstraint clientValidationConstraint = CONSTRAINT_MAPPING.remove(constraint);
+        METADATA_CACHE.clear();
+
+        return clientValidationConstraint;
+    }
+
+    /**
+     * Identifies the bean class by identity, so equally named classes of different class loaders don't share metadata.
+     * The class is only weakly referenced, so the cache doesn't keep a redeployed application loaded.
+     */
+    private static class MetadataKey {
+
+        private final WeakReference<Class<?>> beanClass;
+        private final Object property;
+        private final Locale locale;
+        private final int hashCode;
+
+        MetadataKey(Class<?> beanClass, Object property, Locale locale) {
+            this.beanClass = new WeakReference<Class<?>>(beanClass);
+            this.property = property;
+            this.locale = locale;
+            this.hashCode = 31 * (31 * System.identityHashCode(beanClass) + property.hashCode()) + ((locale == null) ? 0 : locale.hashCode());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof MetadataKey)) {
+                return false;
+            }
+
+            MetadataKey other = (MetadataKey) obj;
+            Class<?> clazz = beanClass.get();
+
+            return clazz != null && clazz == other.beanClass.get() && property.equals(other.property)
+                    && (locale == null ? other.locale == null : locale.equals(other.locale));
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
     }
 }
\ No newline at end of file
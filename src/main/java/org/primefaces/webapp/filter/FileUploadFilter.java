@@ -17,6 +17,8 @@ package org.primefaces.webapp.filter;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.faces.context.FacesContext;
@@ -24,6 +26,7 @@ import javax.faces.context.FacesContext;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
@@ -33,9 +36,10 @@ import org.apache.commons.fileupload.FileItemFactory;
 import org.apache.commons.fileupload.disk.DiskFileItemFactory;
 import org.apache.commons.fileupload.servlet.FileCleanerCleanup;
 import org.apache.commons.fileupload.servlet.ServletFileUpload;
-import org.apache.commons.io.FileCleaningTracker;
 import org.primefaces.util.Constants;
 import org.primefaces.webapp.MultipartRequest;
+import org.primefaces.webapp.upload.StoredFileItemFactory;
+import org.primefaces.webapp.upload.UploadStorage;
 
 public class FileUploadFilter implements Filter {
 
@@ -45,9 +49,22 @@ public class FileUploadFilter implements Filter {
 
 	private final static String UPLOAD_DIRECTORY_PARAM = "uploadDirectory";
 
-	private String thresholdSize;
+	private final static String REQUEST_QUOTA_PARAM = "requestQuota";
 
-	private String uploadDir;
+	private final static String SESSION_QUOTA_PARAM = "sessionQuota";
+
+	private final static String GLOBAL_QUOTA_PARAM = "globalQuota";
+
+	private final static String DELETE_FILES_AFTER_REQUEST_PARAM = "deleteFilesAfterRequest";
+
+    /**
+     * Servlet context attribute holding the {@link UploadStorage}, e.g. to monitor the bytes in flight.
+     */
+    public final static String UPLOAD_STORAGE_ATTRIBUTE = UploadStorage.class.getName();
+
+    private UploadStorage uploadStorage;
+
+    private ServletContext servletContext;
 
     private boolean bypass;
 
@@ -65,8 +82,11 @@ public class FileUploadFilter implements Filter {
             bypass = false;
         }
 
-		thresholdSize = filterConfig.getInitParameter(THRESHOLD_SIZE_PARAM);
-		uploadDir = filterConfig.getInitParameter(UPLOAD_DIRECTORY_PARAM);
+        if (!bypass) {
+            servletContext = filterConfig.getServletContext();
+            uploadStorage = createUploadStorage(filterConfig);
+            servletContext.setAttribute(UPLOAD_STORAGE_ATTRIBUTE, uploadStorage);
+        }
 
 		if (logger.isLoggable(Level.FINE)) {
 			logger.fine("FileUploadFilter initiated successfully");
@@ -87,14 +107,22 @@ public class FileUploadFilter implements Filter {
 				logger.fine("Parsing file upload request");
             }
 
-			ServletFileUpload servletFileUpload = new ServletFileUpload(createFileItemFactory(httpServletRequest));
-			MultipartRequest multipartRequest = new MultipartRequest(httpServletRequest, servletFileUpload);
+            FileItemFactory fileItemFactory = createFileItemFactory(httpServletRequest);
+            try {
+                ServletFileUpload servletFileUpload = new ServletFileUpload(fileItemFactory);
+                MultipartRequest multipartRequest = new MultipartRequest(httpServletRequest, servletFileUpload);
+
+                if (logger.isLoggable(Level.FINE)) {
+                    logger.fine("File upload request parsed succesfully, continuing with filter chain with a wrapped multipart request");
+                }
 
-			if (logger.isLoggable(Level.FINE)) {
-				logger.fine("File upload request parsed succesfully, continuing with filter chain with a wrapped multipart request");
+                filterChain.doFilter(multipartRequest, response);
+            }
+            finally {
+                if (fileItemFactory instanceof StoredFileItemFactory) {
+                    ((StoredFileItemFactory) fileItemFactory).release();
+                }
             }
-
-			filterChain.doFilter(multipartRequest, response);
 		}
         else {
 			filterChain.doFilter(request, response);
@@ -105,6 +133,13 @@ public class FileUploadFilter implements Filter {
 		if (logger.isLoggable(Level.FINE)) {
 			logger.fine("Destroying FileUploadFilter");
         }
+        
+        if (servletContext != null && servletContext.getAttribute(UPLOAD_STORAGE_ATTRIBUTE) == uploadStorage) {
+            servletContext.removeAttribute(UPLOAD_STORAGE_ATTRIBUTE);
+        }
+
+        uploadStorage = null;
+        servletContext = null;
 	}
 
     private boolean detectJSF22() {
@@ -125,21 +160,48 @@ public class FileUploadFilter implements Filter {
         }
     }
 
-    protected FileItemFactory createFileItemFactory(HttpServletRequest httpServletRequest)
-    {
-        DiskFileItemFactory diskFileItemFactory = new DiskFileItemFactory();
-        if (thresholdSize != null) {
-            diskFileItemFactory.setSizeThreshold(Integer.valueOf(thresholdSize));
-        }
+    /**
+     * Creates the storage shared by all requests, override to plug in a custom storage.
+     */
+    protected UploadStorage createUploadStorage(FilterConfig filterConfig) {
+        String thresholdSize = filterConfig.getInitParameter(THRESHOLD_SIZE_PARAM);
+        String uploadDir = filterConfig.getInitParameter(UPLOAD_DIRECTORY_PARAM);
+        
+        List<File> directories = new ArrayList<File>();
         if (uploadDir != null) {
-            diskFileItemFactory.setRepository(new File(uploadDir));
-        }
-
-        FileCleaningTracker fileCleaningTracker = FileCleanerCleanup.getFileCleaningTracker(httpServletRequest.getSession().getServletContext());
-        if (fileCleaningTracker != null) {
-            diskFileItemFactory.setFileCleaningTracker(fileCleaningTracker);
+            for (String directory : uploadDir.split(",")) {
+                if (directory.trim().length() > 0) {
+                    directories.add(new File(directory.trim()));
+                }
+            }
         }
         
-        return diskFileItemFactory;
+        UploadStorage storage = new UploadStorage(
+                (thresholdSize == null) ? DiskFileItemFactory.DEFAULT_SIZE_THRESHOLD : Integer.valueOf(thresholdSize),
+                directories.toArray(new File[directories.size()]),
+                getQuota(filterConfig, REQUEST_QUOTA_PARAM),
+                getQuota(filterConfig, SESSION_QUOTA_PARAM),
+                getQuota(filterConfig, GLOBAL_QUOTA_PARAM),
+                Boolean.parseBoolean(filterConfig.getInitParameter(DELETE_FILES_AFTER_REQUEST_PARAM)));
+
+        // null without the FileCleanerCleanup listener, the temp files are then deleted when their items are finalized
+        storage.setFileCleaningTracker(FileCleanerCleanup.getFileCleaningTracker(filterConfig.getServletContext()));
+
+        return storage;
+    }
+    
+    private long getQuota(FilterConfig filterConfig, String param) {
+        String value = filterConfig.getInitParameter(param);
+        
+        return (value == null) ? UploadStorage.UNLIMITED : Long.parseLong(value.trim());
+    }
+
+    /**
+     * Creates the factory for the file items of a request. The quota reserved by a {@link StoredFileItemFactory}
+     * is released at the end of the request, its temporary files only if <code>deleteFilesAfterRequest</code> is set.
+     */
+    protected FileItemFactory createFileItemFactory(HttpServletRequest httpServletRequest)
+    {
+        return uploadStorage.createFileItemFactory(httpServletRequest);
     }
 }
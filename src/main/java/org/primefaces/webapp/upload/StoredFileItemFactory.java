@@ -0,0 +1,131 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.webapp.upload;
+
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.fileupload.FileItem;
+import org.apache.commons.fileupload.FileItemFactory;
+import org.apache.commons.fileupload.disk.DiskFileItem;
+import org.apache.commons.io.FileCleaningTracker;
+
+/**
+ * Creates the file items of a single multipart request and keeps track of them,
+ * so their quota can be released deterministically at the end of the request.
+ * The temporary files are only deleted at the end of the request if {@link UploadStorage#isDeleteFilesAfterRequest()},
+ * otherwise they are deleted by the {@link FileCleaningTracker} of the storage or when the item is garbage collected,
+ * so an {@link org.primefaces.model.UploadedFile} can still be read in a later request.
+ * Not thread safe, as a request is parsed by a single thread.
+ */
+public class StoredFileItemFactory implements FileItemFactory {
+
+    private final UploadStorage storage;
+    private final String sessionId;
+    private final List<StoredFileItem> items = new ArrayList<StoredFileItem>();
+    private long reservedBytes;
+
+    public StoredFileItemFactory(UploadStorage storage, String sessionId) {
+        this.storage = storage;
+        this.sessionId = sessionId;
+    }
+
+    public FileItem createItem(String fieldName, String contentType, boolean isFormField, String fileName) {
+        StoredFileItem item = new StoredFileItem(fieldName, contentType, isFormField, fileName, storage.getSizeThreshold(), storage.nextDirectory());
+        items.add(item);
+        if(!isFormField) {
+            storage.fileCreated();
+        }
+
+        FileCleaningTracker tracker = storage.getFileCleaningTracker();
+        if(tracker != null) {
+            tracker.track(item.getTempFile(), item);
+        }
+
+        return item;
+    }
+
+    /**
+     * Releases the reserved quota and deletes the temporary files of the request, if enabled by the storage.
+     */
+    public void release() {
+        boolean delete = storage.isDeleteFilesAfterRequest();
+        for(int i = 0; i < items.size(); i++) {
+            StoredFileItem item = items.get(i);
+            if(delete) {
+                item.delete();
+            }
+
+            if(!item.isFormField()) {
+                storage.fileReleased();
+            }
+        }
+
+        items.clear();
+        storage.release(sessionId, reservedBytes);
+        reservedBytes = 0;
+    }
+
+    public long getReservedBytes() {
+        return reservedBytes;
+    }
+
+    private void reserve(long bytes) throws IOException {
+        storage.reserve(sessionId, reservedBytes, bytes);
+        reservedBytes += bytes;
+    }
+
+    private class StoredFileItem extends DiskFileItem {
+
+        private static final long serialVersionUID = 1L;
+
+        public StoredFileItem(String fieldName, String contentType, boolean isFormField, String fileName, int sizeThreshold, File repository) {
+            super(fieldName, contentType, isFormField, fileName, sizeThreshold, repository);
+        }
+
+        @Override
+        protected File getTempFile() {
+            return super.getTempFile();
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            return new QuotaOutputStream(super.getOutputStream());
+        }
+    }
+
+    private class QuotaOutputStream extends FilterOutputStream {
+
+        public QuotaOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            reserve(1);
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            reserve(len);
+            out.write(b, off, len);
+        }
+    }
+}
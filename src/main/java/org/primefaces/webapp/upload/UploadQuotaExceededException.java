@@ -0,0 +1,37 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.webapp.upload;
+
+import java.io.IOException;
+
+/**
+ * Thrown while parsing a multipart request if it exceeds the request, session or global quota of the {@link UploadStorage}.
+ */
+public class UploadQuotaExceededException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long quota;
+
+    public UploadQuotaExceededException(String message, long quota) {
+        super(message);
+        this.quota = quota;
+    }
+
+    public long getQuota() {
+        return quota;
+    }
+}
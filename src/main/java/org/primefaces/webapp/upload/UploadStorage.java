@@ -0,0 +1,254 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.webapp.upload;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+import org.apache.commons.io.FileCleaningTracker;
+
+/**
+ * Storage for the temporary files of multipart requests, shared by all requests of a FileUploadFilter.
+ * 
+ * Enforces byte quotas per request, per session and for all requests, spreads the temporary files
+ * round robin across the configured directories and counts the bytes in flight.
+ * A quota of -1 means unlimited.
+ */
+public class UploadStorage {
+
+    public static final long UNLIMITED = -1;
+
+    private final int sizeThreshold;
+    private final File[] directories;
+    private final long requestQuota;
+    private final long sessionQuota;
+    private final long globalQuota;
+    private final boolean deleteFilesAfterRequest;
+    private volatile FileCleaningTracker fileCleaningTracker;
+
+    private final AtomicInteger nextDirectory = new AtomicInteger();
+    private final AtomicLong bytesInFlight = new AtomicLong();
+    private final AtomicLong peakBytesInFlight = new AtomicLong();
+    private final AtomicInteger filesInFlight = new AtomicInteger();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final ConcurrentMap<String, SessionUsage> sessionUsages = new ConcurrentHashMap<String, SessionUsage>();
+
+    /**
+     * @param sizeThreshold size in bytes above which files are written to disk
+     * @param directories the directories for temporary files, the default temp directory is used if empty
+     */
+    public UploadStorage(int sizeThreshold, File[] directories, long requestQuota, long sessionQuota, long globalQuota) {
+        this(sizeThreshold, directories, requestQuota, sessionQuota, globalQuota, false);
+    }
+
+    /**
+     * @param deleteFilesAfterRequest whether the temporary files are deleted at the end of the request, uploads have to
+     * be consumed or moved during the request then
+     */
+    public UploadStorage(int sizeThreshold, File[] directories, long requestQuota, long sessionQuota, long globalQuota,
+            boolean deleteFilesAfterRequest) {
+        this.sizeThreshold = sizeThreshold;
+        this.directories = (directories == null) ? new File[0] : directories.clone();
+        this.requestQuota = requestQuota;
+        this.sessionQuota = sessionQuota;
+        this.globalQuota = globalQuota;
+        this.deleteFilesAfterRequest = deleteFilesAfterRequest;
+    }
+
+    /**
+     * @return a factory for the file items of a single request, {@link StoredFileItemFactory#release()} has to be called
+     * at the end of the request to release the quota
+     */
+    public StoredFileItemFactory createFileItemFactory(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+
+        return new StoredFileItemFactory(this, (session == null) ? null : session.getId());
+    }
+
+    protected File nextDirectory() {
+        if(directories.length == 0) {
+            return null;
+        }
+
+        int index = (nextDirectory.getAndIncrement() & Integer.MAX_VALUE) % directories.length;
+
+        return directories[index];
+    }
+
+    /**
+     * Reserves the bytes of a request on the session and global quota.
+     * 
+     * @param requestBytes the bytes already reserved by the request
+     */
+    protected void reserve(String sessionId, long requestBytes, long bytes) throws UploadQuotaExceededException {
+        if(requestQuota != UNLIMITED && requestBytes + bytes > requestQuota) {
+            rejectedCount.incrementAndGet();
+            throw new UploadQuotaExceededException("Upload exceeds the request quota of " + requestQuota + " bytes", requestQuota);
+        }
+
+        if(sessionId != null && sessionQuota != UNLIMITED && !reserveSession(sessionId, bytes)) {
+            rejectedCount.incrementAndGet();
+            throw new UploadQuotaExceededException("Upload exceeds the session quota of " + sessionQuota + " bytes", sessionQuota);
+        }
+
+        long total;
+        while(true) {
+            long current = bytesInFlight.get();
+            total = current + bytes;
+            if(globalQuota != UNLIMITED && total > globalQuota) {
+                if(sessionId != null && sessionQuota != UNLIMITED) {
+                    releaseSession(sessionId, bytes);
+                }
+
+                rejectedCount.incrementAndGet();
+                throw new UploadQuotaExceededException("Upload exceeds the global quota of " + globalQuota + " bytes", globalQuota);
+            }
+
+            if(bytesInFlight.compareAndSet(current, total)) {
+                break;
+            }
+        }
+
+        long peak = peakBytesInFlight.get();
+        while(total > peak && !peakBytesInFlight.compareAndSet(peak, total)) {
+            peak = peakBytesInFlight.get();
+        }
+    }
+
+    protected void release(String sessionId, long bytes) {
+        if(bytes == 0) {
+            return;
+        }
+
+        bytesInFlight.addAndGet(-bytes);
+
+        if(sessionId != null && sessionQuota != UNLIMITED) {
+            releaseSession(sessionId, bytes);
+        }
+    }
+
+    private boolean reserveSession(String sessionId, long bytes) {
+        while(true) {
+            SessionUsage usage = sessionUsages.get(sessionId);
+            if(usage == null) {
+                SessionUsage newUsage = new SessionUsage();
+                usage = sessionUsages.putIfAbsent(sessionId, newUsage);
+                if(usage == null) {
+                    usage = newUsage;
+                }
+            }
+
+            synchronized(usage) {
+                if(usage.removed) {
+                    continue;
+                }
+
+                if(usage.bytes + bytes > sessionQuota) {
+                    return false;
+                }
+
+                usage.bytes += bytes;
+                return true;
+            }
+        }
+    }
+
+    private void releaseSession(String sessionId, long bytes) {
+        SessionUsage usage = sessionUsages.get(sessionId);
+        if(usage == null) {
+            return;
+        }
+
+        synchronized(usage) {
+            usage.bytes -= bytes;
+            if(usage.bytes <= 0) {
+                usage.removed = true;
+                sessionUsages.remove(sessionId, usage);
+            }
+        }
+    }
+
+    protected void fileCreated() {
+        filesInFlight.incrementAndGet();
+    }
+
+    protected void fileReleased() {
+        filesInFlight.decrementAndGet();
+    }
+
+    public int getSizeThreshold() {
+        return sizeThreshold;
+    }
+
+    public long getRequestQuota() {
+        return requestQuota;
+    }
+
+    public long getSessionQuota() {
+        return sessionQuota;
+    }
+
+    public long getGlobalQuota() {
+        return globalQuota;
+    }
+
+    public boolean isDeleteFilesAfterRequest() {
+        return deleteFilesAfterRequest;
+    }
+
+    public FileCleaningTracker getFileCleaningTracker() {
+        return fileCleaningTracker;
+    }
+
+    /**
+     * @param fileCleaningTracker deletes the temporary files once their items are garbage collected, may be null
+     */
+    public void setFileCleaningTracker(FileCleaningTracker fileCleaningTracker) {
+        this.fileCleaningTracker = fileCleaningTracker;
+    }
+
+    /**
+     * @return the bytes of all requests which are currently uploaded or not yet released
+     */
+    public long getBytesInFlight() {
+        return bytesInFlight.get();
+    }
+
+    public long getPeakBytesInFlight() {
+        return peakBytesInFlight.get();
+    }
+
+    public int getFilesInFlight() {
+        return filesInFlight.get();
+    }
+
+    /**
+     * @return the number of uploads rejected because of an exceeded quota
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    private static class SessionUsage {
+
+        private long bytes;
+        private boolean removed;
+    }
+}
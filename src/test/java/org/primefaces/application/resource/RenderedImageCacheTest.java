@@ -0,0 +1,71 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.application.resource;
+
+import static org.junit.Assert.*;
+
+import java.io.OutputStream;
+
+import org.junit.Test;
+
+public class RenderedImageCacheTest {
+
+    private static class CountingRenderer implements RenderedImageCache.Renderer {
+
+        private final int size;
+        private int count;
+
+        CountingRenderer(int size) {
+            this.size = size;
+        }
+
+        public void render(OutputStream out) throws Exception {
+            count++;
+            out.write(new byte[size]);
+        }
+    }
+
+    @Test
+    public void shouldRenderOncePerKey() throws Exception {
+        RenderedImageCache cache = new RenderedImageCache(10, 100);
+        CountingRenderer renderer = new CountingRenderer(10);
+
+        byte[] image = cache.get(RenderedImageCache.createKey("code128", "png", 0, "123"), renderer);
+        assertEquals(10, image.length);
+        assertSame(image, cache.get(RenderedImageCache.createKey("code128", "png", 0, "123"), renderer));
+        assertEquals(1, renderer.count);
+
+        cache.get(RenderedImageCache.createKey("code128", "svg", 0, "123"), renderer);
+        assertEquals(2, renderer.count);
+    }
+
+    @Test
+    public void shouldNotCacheLargeImages() throws Exception {
+        RenderedImageCache cache = new RenderedImageCache(10, 100);
+        CountingRenderer renderer = new CountingRenderer(101);
+
+        cache.get("large", renderer);
+        cache.get("large", renderer);
+
+        assertEquals(2, renderer.count);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldSeparateKeyParts() {
+        assertFalse(RenderedImageCache.createKey("a", "bc").equals(RenderedImageCache.createKey("ab", "c")));
+    }
+}
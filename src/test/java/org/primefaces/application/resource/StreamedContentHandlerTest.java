@@ -0,0 +1,179 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.application.resource;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.primefaces.mock.ExternalContextMock;
+import org.primefaces.model.FileStreamedContent;
+import org.primefaces.util.Constants;
+
+public class StreamedContentHandlerTest {
+
+    private static class ResponseExternalContext extends ExternalContextMock {
+
+        private final Map<String, String> requestHeaders = new HashMap<String, String>();
+        private final Map<String, String> responseHeaders = new HashMap<String, String>();
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        private int status = 200;
+        private int contentLength = -1;
+
+        @Override
+        public Map<String, String> getRequestHeaderMap() {
+            return requestHeaders;
+        }
+
+        @Override
+        public void setResponseHeader(String name, String value) {
+            responseHeaders.put(name, value);
+        }
+
+        @Override
+        public void setResponseStatus(int status) {
+            this.status = status;
+        }
+
+        @Override
+        public void setResponseContentLength(int length) {
+            this.contentLength = length;
+        }
+
+        @Override
+        public OutputStream getResponseOutputStream() throws IOException {
+            return output;
+        }
+    }
+
+    private File file;
+    private FileStreamedContent content;
+    private ResponseExternalContext externalContext;
+    private Map<String, Object> session;
+    private boolean streamOpened;
+
+    @Before
+    public void setup() throws IOException {
+        file = File.createTempFile("streamed", ".bin");
+        OutputStream output = new FileOutputStream(file);
+        try {
+            output.write("0123456789".getBytes("US-ASCII"));
+        }
+        finally {
+            output.close();
+        }
+
+        nextRequest();
+        session = new HashMap<String, Object>();
+    }
+
+    @After
+    public void cleanup() {
+        file.delete();
+    }
+
+    private void nextRequest() {
+        content = new FileStreamedContent(file, "application/octet-stream");
+        externalContext = new ResponseExternalContext();
+    }
+
+    private String handle(boolean cache) throws IOException {
+        InputStream stream = new StreamedContentHandler().handleFile(externalContext, content, session, "key", cache);
+        streamOpened = (stream != null);
+        if(stream != null) {
+            stream.close();
+        }
+
+        return externalContext.output.toString("US-ASCII");
+    }
+
+    @Test
+    public void shouldServeWholeFile() throws IOException {
+        assertEquals("0123456789", handle(false));
+        assertEquals(200, externalContext.status);
+        assertEquals(10, externalContext.contentLength);
+        assertEquals("bytes", externalContext.responseHeaders.get("Accept-Ranges"));
+        assertEquals(content.getETag(), externalContext.responseHeaders.get("ETag"));
+    }
+
+    @Test
+    public void shouldServeSameContentAgain() throws IOException {
+        assertEquals("0123456789", handle(false));
+
+        externalContext = new ResponseExternalContext();
+        assertEquals("0123456789", handle(false));
+
+        InputStream stream = content.getStream();
+        try {
+            assertEquals('0', stream.read());
+        }
+        finally {
+            stream.close();
+        }
+    }
+
+    @Test
+    public void shouldServeRanges() throws IOException {
+        externalContext.requestHeaders.put("Range", "bytes=2-4");
+        assertEquals("234", handle(false));
+        assertEquals(206, externalContext.status);
+        assertEquals("bytes 2-4/10", externalContext.responseHeaders.get("Content-Range"));
+        assertEquals(3, externalContext.contentLength);
+
+        nextRequest();
+        externalContext.requestHeaders.put("Range", "bytes=-3");
+        assertEquals("789", handle(false));
+
+        nextRequest();
+        externalContext.requestHeaders.put("Range", "bytes=8-");
+        assertEquals("89", handle(false));
+
+        nextRequest();
+        externalContext.requestHeaders.put("Range", "bytes=20-");
+        assertEquals("", handle(false));
+        assertEquals(416, externalContext.status);
+        assertEquals("bytes */10", externalContext.responseHeaders.get("Content-Range"));
+    }
+
+    @Test
+    public void shouldIgnoreRangeOfOtherVersion() throws IOException {
+        externalContext.requestHeaders.put("Range", "bytes=2-4");
+        externalContext.requestHeaders.put("If-Range", "\"other\"");
+
+        assertEquals("0123456789", handle(false));
+        assertEquals(200, externalContext.status);
+    }
+
+    @Test
+    public void shouldAnswerNotModified() throws IOException {
+        externalContext.requestHeaders.put("If-None-Match", content.getETag());
+
+        assertEquals("", handle(true));
+        assertEquals(304, externalContext.status);
+        assertFalse(streamOpened);
+        assertEquals(content.getETag(), ((Map) session.get(Constants.DYNAMIC_RESOURCES_ETAGS)).get("key"));
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.cache;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class LocalCacheProviderTest {
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        LocalCacheProvider provider = new LocalCacheProvider(2, 0, 0, EvictionPolicy.LRU);
+
+        provider.put("region", "a", "A");
+        provider.put("region", "b", "B");
+        provider.get("region", "a");
+        provider.put("region", "c", "C");
+
+        assertEquals("A", provider.get("region", "a"));
+        assertNull(provider.get("region", "b"));
+        assertEquals("C", provider.get("region", "c"));
+        assertEquals(1, provider.getStats("region").getEvictionCount());
+    }
+
+    @Test
+    public void shouldEvictLeastFrequentlyUsed() {
+        LocalCacheProvider provider = new LocalCacheProvider(2, 0, 0, EvictionPolicy.LFU);
+
+        provider.put("region", "a", "A");
+        provider.put("region", "b", "B");
+        provider.get("region", "a");
+        provider.get("region", "a");
+        provider.get("region", "b");
+        provider.put("region", "c", "C");
+
+        assertEquals("A", provider.get("region", "a"));
+        assertNull(provider.get("region", "b"));
+        assertEquals("C", provider.get("region", "c"));
+    }
+
+    @Test
+    public void shouldRespectMaxBytes() {
+        LocalCacheProvider provider = new LocalCacheProvider(0, 1000, 0, EvictionPolicy.LRU);
+
+        provider.put("region", "a", new byte[400]);
+        provider.put("region", "b", new byte[400]);
+        provider.put("region", "c", new byte[400]);
+
+        assertNull(provider.get("region", "a"));
+        assertNotNull(provider.get("region", "c"));
+        assertTrue(provider.getStats("region").getEstimatedBytes() <= 1000);
+    }
+
+    @Test
+    public void shouldExpireEntries() throws InterruptedException {
+        LocalCacheProvider provider = new LocalCacheProvider(0, 0, 10, EvictionPolicy.LRU);
+
+        provider.put("region", "a", "A");
+        Thread.sleep(20);
+
+        assertNull(provider.get("region", "a"));
+        assertEquals(1, provider.getStats("region").getExpirationCount());
+        assertEquals(0, provider.getStats("region").getSize());
+    }
+
+    @Test
+    public void shouldCountHitsAndMisses() {
+        LocalCacheProvider provider = new LocalCacheProvider(10, 0, 0, EvictionPolicy.LRU);
+
+        provider.put("region", "a", "A");
+        provider.get("region", "a");
+        provider.get("region", "a");
+        provider.get("region", "b");
+
+        CacheStats stats = provider.getStats("region");
+        assertEquals(2, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getPutCount());
+    }
+
+    @Test
+    public void shouldKeepRegionsSeparated() {
+        LocalCacheProvider provider = new LocalCacheProvider(1, 0, 0, EvictionPolicy.LRU);
+        provider.configureRegion("large", 10, 0, 0, EvictionPolicy.LRU);
+
+        provider.put("small", "a", "A");
+        provider.put("small", "b", "B");
+        provider.put("large", "a", "A");
+        provider.put("large", "b", "B");
+
+        assertNull(provider.get("small", "a"));
+        assertEquals("A", provider.get("large", "a"));
+        assertEquals("B", provider.get("large", "b"));
+
+        provider.clear();
+        assertNull(provider.get("large", "a"));
+    }
+
+    @Test
+    public void shouldRankFrequencyOfReadsBeforeEviction() {
+        LocalCacheProvider provider = new LocalCacheProvider(3, 0, 0, EvictionPolicy.LFU);
+
+        provider.put("region", "a", "A");
+        provider.put("region", "b", "B");
+        provider.put("region", "c", "C");
+        provider.get("region", "a");
+        provider.get("region", "a");
+        provider.get("region", "c");
+        provider.put("region", "d", "D");
+        assertNull(provider.get("region", "b"));
+
+        // d was ranked first when it was added, its reads move it behind c
+        provider.get("region", "d");
+        provider.get("region", "d");
+        provider.put("region", "e", "E");
+
+        assertEquals("A", provider.get("region", "a"));
+        assertNull(provider.get("region", "c"));
+        assertEquals("D", provider.get("region", "d"));
+        assertEquals("E", provider.get("region", "e"));
+    }
+
+    @Test
+    public void shouldNotLockReadsWithoutAccessOrder() throws Exception {
+        assertReadWhileLocked(new LocalCacheProvider(10, 0, 0, EvictionPolicy.LFU));
+        assertReadWhileLocked(new LocalCacheProvider(0, 0, 60000, EvictionPolicy.LRU));
+    }
+
+    private void assertReadWhileLocked(final LocalCacheProvider provider) throws Exception {
+        provider.put("region", "a", "A");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            synchronized(provider.getRegion("region")) {
+                Future<Object> value = executor.submit(new Callable<Object>() {
+
+                    public Object call() throws Exception {
+                        return provider.get("region", "a");
+                    }
+                });
+
+                assertEquals("A", value.get(5, TimeUnit.SECONDS));
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, provider.getStats("region").getHitCount());
+    }
+}
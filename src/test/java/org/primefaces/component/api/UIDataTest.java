@@ -0,0 +1,203 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.component.api;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Map;
+import javax.faces.component.html.HtmlForm;
+import javax.faces.component.html.HtmlInputText;
+import javax.faces.context.FacesContext;
+import javax.faces.event.PhaseId;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.primefaces.component.column.Column;
+import org.primefaces.component.datatable.DataTable;
+import org.primefaces.mock.FacesContextMock;
+
+public class UIDataTest {
+
+    private static class RowStateTable extends DataTable {
+
+        Map<String, SavedState[]> getSavedRowStates() {
+            return (Map<String, SavedState[]>) getStateHelper().get(UIData.PropertyKeys.saved);
+        }
+
+        void beforePhase(PhaseId phaseId, FacesContext context) {
+            if(phaseId == PhaseId.APPLY_REQUEST_VALUES) {
+                preDecode(context);
+            }
+            else if(phaseId == PhaseId.PROCESS_VALIDATIONS) {
+                preValidate(context);
+            }
+            else if(phaseId == PhaseId.UPDATE_MODEL_VALUES) {
+                preUpdate(context);
+            }
+            else {
+                preEncode(context);
+            }
+        }
+    }
+
+    private FacesContext context;
+    private RowStateTable table;
+    private Column column;
+    private HtmlInputText input;
+    private HtmlForm form;
+
+    @Before
+    public void init() {
+        context = new FacesContextMock();
+
+        table = new RowStateTable();
+        table.setId("tbl");
+        table.setVar("row");
+        table.setValue(Arrays.asList("a", "b", "c"));
+
+        input = new HtmlInputText();
+        input.setId("in");
+        form = new HtmlForm();
+        form.setId("form");
+
+        column = new Column();
+        column.setId("col");
+        column.getChildren().add(input);
+        column.getChildren().add(form);
+        table.getChildren().add(column);
+    }
+
+    @After
+    public void destroy() {
+        context.release();
+    }
+
+    @Test
+    public void shouldSaveAndRestoreStateOfRows() {
+        table.setRowIndex(0);
+        assertEquals("tbl:0:in", input.getClientId(context));
+        input.setSubmittedValue("x");
+
+        table.setRowIndex(1);
+        assertEquals("tbl:1:in", input.getClientId(context));
+        assertNull(input.getSubmittedValue());
+        input.setValue("y");
+        input.setValid(false);
+        form.setSubmitted(true);
+
+        table.setRowIndex(0);
+        assertEquals("x", input.getSubmittedValue());
+        assertNull(input.getLocalValue());
+        assertTrue(input.isValid());
+        assertFalse(form.isSubmitted());
+
+        table.setRowIndex(1);
+        assertNull(input.getSubmittedValue());
+        assertEquals("y", input.getLocalValue());
+        assertTrue(input.isLocalValueSet());
+        assertFalse(input.isValid());
+        assertTrue(form.isSubmitted());
+
+        table.setRowIndex(-1);
+        assertEquals("tbl:in", input.getClientId(context));
+        assertNull(input.getLocalValue());
+        assertFalse(form.isSubmitted());
+    }
+
+    @Test
+    public void shouldNotStoreRowsWithDefaultState() {
+        for(int i = 0; i < 3; i++) {
+            table.setRowIndex(i);
+        }
+        table.setRowIndex(-1);
+        assertNull(table.getSavedRowStates());
+
+        table.setRowIndex(1);
+        input.setSubmittedValue("x");
+        table.setRowIndex(2);
+        table.setRowIndex(-1);
+
+        Map<String, SavedState[]> saved = table.getSavedRowStates();
+        assertEquals(1, saved.size());
+        SavedState[] states = saved.get("1");
+        assertEquals(2, states.length);
+        assertEquals("x", states[0].getSubmittedValue());
+        assertNull(states[1]);
+
+        table.setRowIndex(1);
+        input.setSubmittedValue(null);
+        table.setRowIndex(-1);
+        saved = table.getSavedRowStates();
+        assertTrue(saved == null || saved.isEmpty());
+    }
+
+    @Test
+    public void shouldKeepStateOfNestedRowsPerOuterRow() {
+        RowStateTable inner = new RowStateTable();
+        inner.setId("inner");
+        inner.setValue(Arrays.asList("1", "2"));
+        Column innerColumn = new Column();
+        HtmlInputText innerInput = new HtmlInputText();
+        innerInput.setId("nested");
+        innerColumn.getChildren().add(innerInput);
+        inner.getChildren().add(innerColumn);
+        column.getChildren().add(inner);
+
+        table.setRowIndex(0);
+        inner.setRowIndex(0);
+        assertEquals("tbl:0:inner:0:nested", innerInput.getClientId(context));
+        innerInput.setSubmittedValue("x");
+        inner.setRowIndex(-1);
+
+        table.setRowIndex(1);
+        inner.setRowIndex(0);
+        assertEquals("tbl:1:inner:0:nested", innerInput.getClientId(context));
+        assertNull(innerInput.getSubmittedValue());
+        inner.setRowIndex(-1);
+
+        table.setRowIndex(0);
+        inner.setRowIndex(0);
+        assertEquals("x", innerInput.getSubmittedValue());
+    }
+
+    @Test
+    public void shouldResetFlattenedDescendantsBeforeEachPhase() {
+        for(PhaseId phaseId : Arrays.asList(PhaseId.APPLY_REQUEST_VALUES, PhaseId.PROCESS_VALIDATIONS, PhaseId.UPDATE_MODEL_VALUES,
+                PhaseId.RENDER_RESPONSE)) {
+            assertResetBefore(phaseId);
+        }
+    }
+
+    private void assertResetBefore(PhaseId phaseId) {
+        table.setRowIndex(0);
+
+        HtmlInputText added = new HtmlInputText();
+        added.setId("added" + column.getChildCount());
+        column.getChildren().add(added);
+        table.beforePhase(phaseId, context);
+
+        added.setSubmittedValue("x");
+        table.setRowIndex(1);
+        assertNull(added.getSubmittedValue());
+
+        table.setRowIndex(0);
+        assertEquals("x", added.getSubmittedValue());
+        added.setSubmittedValue(null);
+        table.setRowIndex(-1);
+    }
+}
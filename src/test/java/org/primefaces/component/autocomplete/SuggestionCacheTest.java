@@ -0,0 +1,81 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.component.autocomplete;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class SuggestionCacheTest {
+
+    private static final long TIMEOUT = 60000;
+
+    private static final SuggestionCache.Narrowing STARTS_WITH = new SuggestionCache.Narrowing() {
+
+        public List<Object> narrow(List<Object> suggestions, String query) {
+            List<Object> narrowed = new ArrayList<Object>();
+            for(Object suggestion : suggestions) {
+                if(suggestion.toString().startsWith(query)) {
+                    narrowed.add(suggestion);
+                }
+            }
+            return narrowed;
+        }
+    };
+
+    @Test
+    public void shouldReturnExactHits() {
+        SuggestionCache cache = new SuggestionCache(10);
+        cache.put("ns", "ab", Integer.MAX_VALUE, Arrays.asList("abc", "abd"));
+
+        assertEquals(Arrays.asList("abc", "abd"), cache.get("ns", "ab", Integer.MAX_VALUE, 1, TIMEOUT, null));
+        assertNull(cache.get("other", "ab", Integer.MAX_VALUE, 1, TIMEOUT, null));
+        assertNull(cache.get("ns", "ab", 5, 1, TIMEOUT, null));
+        assertNull(cache.get("ns", "abc", Integer.MAX_VALUE, 1, TIMEOUT, null));
+    }
+
+    @Test
+    public void shouldNarrowCompleteResults() {
+        SuggestionCache cache = new SuggestionCache(10);
+        cache.put("ns", "a", 4, Arrays.asList("abc", "abd", "ax"));
+
+        assertEquals(Arrays.asList("abc", "abd"), cache.get("ns", "ab", 4, 1, TIMEOUT, STARTS_WITH));
+        assertEquals(Arrays.asList("abd"), cache.get("ns", "abd", 4, 1, TIMEOUT, STARTS_WITH));
+        assertNull(cache.get("ns", "b", 4, 1, TIMEOUT, STARTS_WITH));
+    }
+
+    @Test
+    public void shouldNotNarrowTruncatedResults() {
+        SuggestionCache cache = new SuggestionCache(10);
+        List<Object> cached = cache.put("ns", "a", 2, Arrays.asList("abc", "abd", "ax"));
+
+        assertEquals(Arrays.asList("abc", "abd"), cached);
+        assertNull(cache.get("ns", "ab", 2, 1, TIMEOUT, STARTS_WITH));
+    }
+
+    @Test
+    public void shouldExpireEntries() {
+        SuggestionCache cache = new SuggestionCache(10);
+        cache.put("ns", "a", Integer.MAX_VALUE, Arrays.asList("abc"));
+
+        assertNull(cache.get("ns", "a", Integer.MAX_VALUE, 1, -1, STARTS_WITH));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.component.cache;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.faces.component.UIComponentBase;
+import javax.faces.context.FacesContext;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.primefaces.cache.CacheProvider;
+import org.primefaces.cache.DefaultCacheProvider;
+import org.primefaces.context.RequestContext;
+import org.primefaces.mock.CollectingResponseWriter;
+import org.primefaces.mock.FacesContextMock;
+import org.primefaces.mock.pf.ApplicationContextMock;
+import org.primefaces.mock.pf.PrimeConfigurationMock;
+import org.primefaces.mock.pf.RequestContextMock;
+
+public class UICacheRendererTest {
+
+    /**
+     * Writes the number of its render, the first render blocks until it is released.
+     */
+    private static class Fragment extends UIComponentBase {
+
+        private final AtomicInteger renders = new AtomicInteger();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        Fragment() {
+            setRendererType(null);
+        }
+
+        @Override
+        public String getFamily() {
+            return "test";
+        }
+
+        @Override
+        public void encodeBegin(FacesContext context) throws IOException {
+            int render = renders.incrementAndGet();
+            if(render == 1) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+                catch(InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            context.getResponseWriter().write("v" + render);
+        }
+    }
+
+    private volatile long renderWaitTimeout = UICacheRenderer.RENDER_WAIT_TIMEOUT;
+    private UICacheRenderer renderer;
+    private CacheProvider cacheProvider;
+    private UICache uiCache;
+    private Fragment fragment;
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        renderer = new UICacheRenderer() {
+
+            @Override
+            protected long getRenderWaitTimeout() {
+                return renderWaitTimeout;
+            }
+        };
+        cacheProvider = new DefaultCacheProvider();
+
+        uiCache = new UICache();
+        uiCache.setRegion("region");
+        uiCache.setKey("key");
+        fragment = new Fragment();
+        uiCache.getChildren().add(fragment);
+
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @After
+    public void destroy() {
+        fragment.release.countDown();
+        executor.shutdownNow();
+    }
+
+    private String encode() throws IOException {
+        CollectingResponseWriter writer = new CollectingResponseWriter();
+        FacesContextMock context = new FacesContextMock(writer);
+        ApplicationContextMock applicationContext = new ApplicationContextMock(context, new PrimeConfigurationMock(context)) {
+
+            @Override
+            public CacheProvider getCacheProvider() {
+                return cacheProvider;
+            }
+        };
+        RequestContext.setCurrentInstance(new RequestContextMock(context, applicationContext), context);
+
+        try {
+            renderer.encodeChildren(context, uiCache);
+
+            return writer.toString();
+        }
+        finally {
+            RequestContext.setCurrentInstance(null, context);
+            context.release();
+        }
+    }
+
+    private Future<String> encodeAsync() {
+        return executor.submit(new Callable<String>() {
+
+            public String call() throws Exception {
+                return encode();
+            }
+        });
+    }
+
+    private static CachedFragment fragment(String content, long age, long timeToLive, long staleTimeToLive) {
+        return new CachedFragment(content.toCharArray(), System.currentTimeMillis() - age, timeToLive, staleTimeToLive);
+    }
+
+    @Test
+    public void shouldRenderConcurrentMissesOnce() throws Exception {
+        List<Future<String>> results = new ArrayList<Future<String>>();
+        for(int i = 0; i < 8; i++) {
+            results.add(encodeAsync());
+        }
+
+        assertTrue(fragment.started.await(5, TimeUnit.SECONDS));
+        // let the other requests wait for the rendering one
+        Thread.sleep(100);
+        fragment.release.countDown();
+
+        for(Future<String> result : results) {
+            assertEquals("v1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, fragment.renders.get());
+        assertEquals("v1", cacheProvider.get("region", "key").toString());
+    }
+
+    @Test
+    public void shouldServeStaleFragmentWhileOneRequestRefreshesIt() throws Exception {
+        uiCache.setTimeToLive(60);
+        uiCache.setStaleTimeToLive(60);
+        cacheProvider.put("region", "key", fragment("old", 2000, 1000, 60000));
+
+        Future<String> refreshing = encodeAsync();
+        assertTrue(fragment.started.await(5, TimeUnit.SECONDS));
+
+        assertEquals("old", encode());
+        assertEquals("old", encode());
+        assertEquals(1, fragment.renders.get());
+
+        fragment.release.countDown();
+        assertEquals("v1", refreshing.get(5, TimeUnit.SECONDS));
+        assertEquals("v1", encode());
+        assertEquals(1, fragment.renders.get());
+    }
+
+    @Test
+    public void shouldExpireWithoutStaleTimeToLive() throws Exception {
+        CachedFragment cached = new CachedFragment("old".toCharArray(), 0, 1000, 0);
+        assertFalse(cached.isStale(999));
+        assertFalse(cached.isExpired(999));
+        assertTrue(cached.isStale(1000));
+        assertTrue(cached.isExpired(1000));
+
+        CachedFragment eternal = new CachedFragment("old".toCharArray(), 0, 0, 0);
+        assertFalse(eternal.isStale(Long.MAX_VALUE));
+        assertFalse(eternal.isExpired(Long.MAX_VALUE));
+
+        fragment.release.countDown();
+        cacheProvider.put("region", "key", fragment("old", 2000, 1000, 0));
+
+        assertEquals("v1", encode());
+        assertEquals(1, fragment.renders.get());
+    }
+
+    @Test
+    public void shouldRenderItselfAfterWaitTimeout() throws Exception {
+        renderWaitTimeout = 50;
+
+        Future<String> rendering = encodeAsync();
+        assertTrue(fragment.started.await(5, TimeUnit.SECONDS));
+
+        long begin = System.currentTimeMillis();
+        assertEquals("v2", encode());
+        assertTrue(System.currentTimeMillis() - begin >= 40);
+        assertFalse(rendering.isDone());
+
+        fragment.release.countDown();
+        assertEquals("v1", rendering.get(5, TimeUnit.SECONDS));
+        // the own render of the waiting request isn't cached
+        assertEquals("v1", encode());
+        assertEquals(2, fragment.renders.get());
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.component.chart.renderer;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class LineRendererTest {
+
+    private static String append(double value) {
+        char[] buffer = new char[32];
+        int position = LineRenderer.appendNumber(buffer, 0, value);
+
+        return new String(buffer, 0, position);
+    }
+
+    @Test
+    public void shouldWriteIntegralValuesAsDigits() {
+        assertEquals("0", append(0));
+        assertEquals("0", append(-0.0));
+        assertEquals("42", append(42));
+        assertEquals("-1234567", append(-1234567));
+        assertEquals("9007199254740992", append(9007199254740992d));
+        assertEquals("-9007199254740992", append(-9007199254740992d));
+    }
+
+    @Test
+    public void shouldWriteOtherValuesAsDouble() {
+        assertEquals("1.5", append(1.5));
+        assertEquals("-0.25", append(-0.25));
+        assertEquals(Double.toString(9007199254740994d), append(9007199254740994d));
+        assertEquals(Double.toString(1e300), append(1e300));
+    }
+
+    @Test
+    public void shouldNotOverflowAtLongRange() {
+        assertEquals(Double.toString(Long.MIN_VALUE), append(Long.MIN_VALUE));
+        assertEquals(Double.toString(Long.MAX_VALUE), append(Long.MAX_VALUE));
+        assertEquals(Double.toString(-1e19), append(-1e19));
+    }
+
+    @Test
+    public void shouldWriteNullForNaNAndInfinity() {
+        assertEquals("null", append(Double.NaN));
+        assertEquals("null", append(Double.POSITIVE_INFINITY));
+        assertEquals("null", append(Double.NEGATIVE_INFINITY));
+    }
+}
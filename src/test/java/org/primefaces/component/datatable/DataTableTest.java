@@ -0,0 +1,159 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.component.datatable;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import javax.faces.context.FacesContext;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.primefaces.mock.FacesContextMock;
+
+import de.odysseus.el.ExpressionFactoryImpl;
+import de.odysseus.el.util.SimpleContext;
+
+public class DataTableTest {
+
+    private static class Item {
+
+        private String key;
+
+        Item(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Reads the rowKey from the current var, as the mocked context doesn't evaluate EL, and counts the evaluations.
+     */
+    private static class RowKeyTable extends DataTable {
+
+        private int rowKeyEvaluations;
+
+        RowKeyTable() {
+            setValueExpression("rowKey", new ExpressionFactoryImpl().createValueExpression(new SimpleContext(), "#{item.key}", Object.class));
+        }
+
+        @Override
+        public Object getRowKey() {
+            rowKeyEvaluations++;
+            Item item = (Item) getFacesContext().getExternalContext().getRequestMap().get(getVar());
+
+            return item.key;
+        }
+    }
+
+    private FacesContext context;
+    private RowKeyTable table;
+    private List<Item> items;
+
+    @Before
+    public void init() {
+        context = new FacesContextMock();
+
+        items = new ArrayList<Item>(Arrays.asList(new Item("1"), new Item("2"), new Item("3")));
+        table = new RowKeyTable();
+        table.setId("tbl");
+        table.setVar("item");
+        table.setValue(items);
+    }
+
+    @After
+    public void destroy() {
+        context.release();
+    }
+
+    @Test
+    public void shouldFindRowDataByRowKey() {
+        assertSame(items.get(1), table.getRowData("2"));
+        assertEquals(3, table.rowKeyEvaluations);
+
+        assertSame(items.get(2), table.getRowData("3"));
+        assertSame(items.get(0), table.getRowData("1"));
+        // each hit of the index only verifies the rowKey of the found row
+        assertEquals(5, table.rowKeyEvaluations);
+
+        assertNull(table.getRowData("4"));
+        assertNull(context.getExternalContext().getRequestMap().get("item"));
+    }
+
+    @Test
+    public void shouldNotReturnReplacedRow() {
+        assertSame(items.get(1), table.getRowData("2"));
+
+        // replaced between decode and invoke application, the list and its size are unchanged
+        Item replacement = new Item("2");
+        items.set(1, replacement);
+        assertSame(replacement, table.getRowData("2"));
+
+        Item added = new Item("4");
+        items.set(2, added);
+        assertSame(added, table.getRowData("4"));
+        assertNull(table.getRowData("3"));
+
+        items.get(0).key = "5";
+        assertNull(table.getRowData("1"));
+        assertSame(items.get(0), table.getRowData("5"));
+    }
+
+    @Test
+    public void shouldNotReturnReplacedRowOfOtherCollections() {
+        LinkedHashSet<Item> set = new LinkedHashSet<Item>(items);
+        table.setValue(set);
+        assertSame(items.get(1), table.getRowData("2"));
+
+        items.get(1).key = "4";
+        assertNull(table.getRowData("2"));
+        assertSame(items.get(1), table.getRowData("4"));
+    }
+
+    @Test
+    public void shouldRebuildRowKeyIndexBeforeEncode() {
+        assertSame(items.get(0), table.getRowData("1"));
+        assertEquals(3, table.rowKeyEvaluations);
+
+        table.preEncode(context);
+        assertSame(items.get(0), table.getRowData("1"));
+        assertEquals(6, table.rowKeyEvaluations);
+    }
+
+    @Test
+    public void shouldCheckSelectedRowKeys() {
+        assertFalse(table.isSelectedRowKey("1"));
+
+        table.setSelectionMode("multiple");
+        table.setSelection(Arrays.asList(items.get(0), items.get(2)));
+        table.findSelectedRowKeys();
+        assertTrue(table.isSelectedRowKey("1"));
+        assertFalse(table.isSelectedRowKey("2"));
+        assertTrue(table.isSelectedRowKey("3"));
+
+        table.getSelectedRowKeys().add("2");
+        assertTrue(table.isSelectedRowKey("2"));
+
+        table.setSelection(Arrays.asList(items.get(1)));
+        table.findSelectedRowKeys();
+        assertFalse(table.isSelectedRowKey("1"));
+        assertTrue(table.isSelectedRowKey("2"));
+        assertFalse(table.isSelectedRowKey("3"));
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.component.export;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+public class CSVExporterTest {
+
+    @Test
+    public void shouldEscapeDoubleQuotes() throws IOException {
+        assertEquals("", escape(null));
+        assertEquals("", escape(""));
+        assertEquals("plain, text", escape("plain, text"));
+        assertEquals("\"\"", escape("\""));
+        assertEquals("a \"\"quoted\"\" value", escape("a \"quoted\" value"));
+        assertEquals("\"\"\"\"end", escape("\"\"end"));
+    }
+
+    @Test
+    public void shouldQuoteColumnValue() throws IOException {
+        StringWriter writer = new StringWriter();
+        new CSVExporter().addColumnValue(writer, "5\" disk");
+
+        assertEquals("\"5\"\" disk\"", writer.toString());
+    }
+
+    private String escape(String value) throws IOException {
+        StringWriter writer = new StringWriter();
+        CSVExporter.writeEscaped(writer, value);
+
+        return writer.toString();
+    }
+}
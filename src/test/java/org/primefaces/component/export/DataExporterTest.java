@@ -0,0 +1,52 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.component.export;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import javax.el.ValueExpression;
+
+import org.junit.Test;
+
+import de.odysseus.el.ExpressionFactoryImpl;
+import de.odysseus.el.util.SimpleContext;
+
+public class DataExporterTest {
+
+    @Test
+    public void shouldSaveAndRestoreLazyChunkSize() {
+        ValueExpression lazyChunkSize = new ExpressionFactoryImpl().createValueExpression(new SimpleContext(), "1000", Object.class);
+        DataExporter exporter = new DataExporter();
+        exporter.setLazyChunkSize(lazyChunkSize);
+
+        Object[] state = (Object[]) exporter.saveState(null);
+        assertEquals(11, state.length);
+        assertSame(lazyChunkSize, state[10]);
+
+        DataExporter restored = new DataExporter();
+        restored.restoreState(null, state);
+        assertSame(lazyChunkSize, ((Object[]) restored.saveState(null))[10]);
+    }
+
+    @Test
+    public void shouldRestoreStateWithoutLazyChunkSize() {
+        DataExporter restored = new DataExporter();
+        restored.restoreState(null, Arrays.copyOf(new Object[11], 10));
+
+        assertNull(((Object[]) restored.saveState(null))[10]);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.component.export;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.faces.context.FacesContext;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.primefaces.component.datatable.DataTable;
+import org.primefaces.mock.FacesContextMock;
+import org.primefaces.model.LazyDataModel;
+import org.primefaces.model.SortOrder;
+
+public class ExporterTest {
+
+    /**
+     * Serves the numbers from 0 to size - 1 and records the loaded pages as "first:pageSize".
+     */
+    private static class NumberModel extends LazyDataModel<Integer> {
+
+        private final List<String> loads = new ArrayList<String>();
+
+        NumberModel(int size) {
+            setRowCount(size);
+        }
+
+        @Override
+        public List<Integer> load(int first, int pageSize, String sortField, SortOrder sortOrder, Map<String, Object> filters) {
+            loads.add(first + ":" + pageSize);
+
+            List<Integer> page = new ArrayList<Integer>();
+            for(int i = first; i < Math.min(first + pageSize, getRowCount()); i++) {
+                page.add(i);
+            }
+
+            return page;
+        }
+    }
+
+    /**
+     * Writes the row data as a line and records the flushed output at the end of each chunk.
+     */
+    private static class RowExporter extends CSVExporter {
+
+        private final StringWriter output = new StringWriter();
+        private final PrintWriter document = new PrintWriter(new BufferedWriter(output));
+        private final List<String> flushed = new ArrayList<String>();
+
+        @Override
+        protected void exportCells(DataTable table, Object document) {
+            ((PrintWriter) document).write(String.valueOf(table.getRowData()));
+        }
+
+        @Override
+        protected void postChunkExport(DataTable table, Object document) {
+            super.postChunkExport(table, document);
+            flushed.add(output.toString());
+        }
+
+        void exportAll(FacesContext context, DataTable table) {
+            exportAll(context, table, document);
+            document.flush();
+        }
+    }
+
+    private FacesContext context;
+    private DataTable table;
+    private RowExporter exporter;
+
+    @Before
+    public void init() {
+        context = new FacesContextMock();
+
+        table = new DataTable();
+        table.setId("tbl");
+        table.setLazy(true);
+        table.setRows(5);
+        table.setFirst(5);
+
+        exporter = new RowExporter();
+        exporter.setLazyChunkSize(3);
+    }
+
+    @After
+    public void destroy() {
+        context.release();
+    }
+
+    private NumberModel model(int size) {
+        NumberModel model = new NumberModel(size);
+        table.setValue(model);
+
+        return model;
+    }
+
+    @Test
+    public void shouldLoadLastChunkPartially() {
+        NumberModel model = model(7);
+
+        exporter.exportAll(context, table);
+
+        assertEquals(Arrays.asList("0:3", "3:3", "6:3", "5:5"), model.loads);
+        assertEquals("0\n1\n2\n3\n4\n5\n6\n", exporter.output.toString());
+        assertEquals(5, table.getFirst());
+        assertEquals(5, table.getRows());
+    }
+
+    @Test
+    public void shouldLoadChunksOfMultipleSize() {
+        NumberModel model = model(6);
+
+        exporter.exportAll(context, table);
+
+        assertEquals(Arrays.asList("0:3", "3:3", "5:5"), model.loads);
+        assertEquals("0\n1\n2\n3\n4\n5\n", exporter.output.toString());
+    }
+
+    @Test
+    public void shouldNotLoadChunksOfEmptyModel() {
+        NumberModel model = model(0);
+        table.setFirst(0);
+
+        exporter.exportAll(context, table);
+
+        assertEquals(Arrays.asList("0:5"), model.loads);
+        assertEquals("", exporter.output.toString());
+        assertTrue(exporter.flushed.isEmpty());
+    }
+
+    @Test
+    public void shouldLoadAllRowsAtOnceWithoutChunkSize() {
+        NumberModel model = model(7);
+        exporter.setLazyChunkSize(0);
+
+        exporter.exportAll(context, table);
+
+        assertEquals(Arrays.asList("0:7", "5:5"), model.loads);
+        assertEquals("0\n1\n2\n3\n4\n5\n6\n", exporter.output.toString());
+        assertTrue(exporter.flushed.isEmpty());
+    }
+
+    @Test
+    public void shouldFlushCSVAfterEachChunk() {
+        model(7);
+
+        exporter.exportAll(context, table);
+
+        assertEquals(Arrays.asList("0\n1\n2\n", "0\n1\n2\n3\n4\n5\n", "0\n1\n2\n3\n4\n5\n6\n"), exporter.flushed);
+    }
+
+    @Test
+    public void shouldFlushStreamedRowsAfterChunk() throws Exception {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        try {
+            SXSSFSheet sheet = (SXSSFSheet) workbook.createSheet();
+            for(int i = 0; i < 3; i++) {
+                sheet.createRow(i).createCell(0).setCellValue(i);
+            }
+
+            new ExcelXStreamExporter().postChunkExport(table, sheet);
+
+            assertNull(sheet.getRow(0));
+            assertNull(sheet.getRow(2));
+
+            // the flushed rows are still written
+            sheet.createRow(3).createCell(0).setCellValue(3);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            Sheet written = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray())).getSheetAt(0);
+            for(int i = 0; i < 4; i++) {
+                assertEquals(i, written.getRow(i).getCell(0).getNumericCellValue(), 0);
+            }
+        }
+        finally {
+            workbook.dispose();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.component.export;
+
+import de.odysseus.el.ExpressionFactoryImpl;
+import de.odysseus.el.util.SimpleContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.faces.component.html.HtmlOutputText;
+import javax.faces.context.FacesContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.primefaces.component.api.UIColumn;
+import org.primefaces.component.column.Column;
+import org.primefaces.component.datatable.DataTable;
+import org.primefaces.el.MyContainer;
+import org.primefaces.mock.FacesContextMock;
+
+import static org.junit.Assert.*;
+
+public class TableCellReaderTest {
+
+    private DataTable table;
+    private Column column;
+
+    @Before
+    public void init() {
+        new FacesContextMock();
+
+        List<MyContainer> rows = new ArrayList<MyContainer>();
+        for(String value : new String[]{"a", "b", "c"}) {
+            MyContainer row = new MyContainer();
+            row.setValue(value);
+            rows.add(row);
+        }
+
+        table = new DataTable();
+        table.setVar("row");
+        table.setValue(rows);
+
+        HtmlOutputText output = new HtmlOutputText();
+        output.setValueExpression("value", new ExpressionFactoryImpl().createValueExpression(new SimpleContext(), "#{row.value}", Object.class));
+
+        column = new Column();
+        column.getChildren().add(output);
+        table.getChildren().add(column);
+    }
+
+    @After
+    public void destroy() {
+        FacesContext.getCurrentInstance().release();
+    }
+
+    private List<UIColumn> columns() {
+        List<UIColumn> columns = new ArrayList<UIColumn>();
+        columns.add(column);
+
+        return columns;
+    }
+
+    @Test
+    public void shouldReadCellsOnExecutor() {
+        TableCellReader reader = TableCellReader.create(table, columns(), false);
+        assertNotNull(reader);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            reader.submit(executor);
+            Object[][] cells = reader.getCells();
+
+            assertEquals(3, cells.length);
+            assertEquals("a", cells[0][0]);
+            assertEquals("c", cells[2][0]);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldReadCurrentPageOnly() {
+        table.setFirst(1);
+        table.setRows(1);
+
+        Object[][] cells = TableCellReader.create(table, columns(), true).getCells();
+
+        assertEquals(1, cells.length);
+        assertEquals("b", cells[0][0]);
+    }
+
+    @Test
+    public void shouldRejectExpressions() {
+        column.getChildren().get(0).setValueExpression("value",
+                new ExpressionFactoryImpl().createValueExpression(new SimpleContext(), "#{row.value == null}", Object.class));
+
+        assertNull(TableCellReader.create(table, columns(), false));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.el;
+
+import de.odysseus.el.ExpressionFactoryImpl;
+import de.odysseus.el.util.SimpleContext;
+import java.util.HashMap;
+import java.util.Map;
+import javax.el.ExpressionFactory;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PropertyPathAccessorTest {
+
+    private final ExpressionFactory factory = new ExpressionFactoryImpl();
+
+    private PropertyPathAccessor compile(String expression, String var) {
+        return PropertyPathAccessor.compile(factory.createValueExpression(new SimpleContext(), expression, Object.class), var);
+    }
+
+    @Test
+    public void shouldCompilePropertyPaths() {
+        assertNotNull(compile("#{bean.container}", "bean"));
+        assertNotNull(compile("#{bean.container.value}", "bean"));
+        assertNotNull(compile("#{ bean . container }", "bean"));
+    }
+
+    @Test
+    public void shouldNotCompileOtherExpressions() {
+        assertNull(compile("#{bean}", "bean"));
+        assertNull(compile("#{other.container}", "bean"));
+        assertNull(compile("#{bean['container']}", "bean"));
+        assertNull(compile("#{bean.container.value.length()}", "bean"));
+        assertNull(compile("#{bean.container == null}", "bean"));
+        assertNull(compile("bean.container", "bean"));
+        assertNull(compile("#{bean.container}", null));
+    }
+
+    @Test
+    public void shouldReadNestedProperties() {
+        MyBean bean = new MyBean();
+        bean.setContainer(new MyContainer());
+        bean.getContainer().setValue("test");
+
+        PropertyPathAccessor accessor = compile("#{bean.container.value}", "bean");
+
+        assertEquals("test", accessor.getValue(bean));
+        assertNull(accessor.getValue(new MyBean()));
+        assertNull(accessor.getValue(null));
+    }
+
+    @Test
+    public void shouldReadMapEntries() {
+        Map<String, Object> row = new HashMap<String, Object>();
+        row.put("value", "test");
+
+        assertEquals("test", compile("#{row.value}", "row").getValue(row));
+    }
+
+    @Test
+    public void shouldReturnUnresolvableForUnknownProperties() {
+        assertSame(PropertyPathAccessor.UNRESOLVABLE, compile("#{bean.unknown}", "bean").getValue(new MyBean()));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.event.system;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import javax.faces.component.UIViewRoot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.primefaces.context.RequestContext;
+import org.primefaces.mock.CollectingResponseWriter;
+import org.primefaces.mock.FacesContextMock;
+import org.primefaces.mock.pf.ApplicationContextMock;
+import org.primefaces.mock.pf.PrimeConfigurationMock;
+import org.primefaces.mock.pf.RequestContextMock;
+import org.primefaces.util.WidgetBuilder;
+
+public class DeferredWidgetsListenerTest {
+
+    private CollectingResponseWriter writer;
+    private FacesContextMock context;
+    private WidgetBuilder widgetBuilder;
+
+    @Before
+    public void init() {
+        writer = new CollectingResponseWriter();
+        context = new FacesContextMock(writer);
+
+        UIViewRoot viewRoot = new UIViewRoot();
+        viewRoot.setViewId("/test.xhtml");
+        context.setViewRoot(viewRoot);
+
+        PrimeConfigurationMock config = new PrimeConfigurationMock(context) {
+
+            @Override
+            public boolean isDeferWidgetsEnabled() {
+                return true;
+            }
+        };
+        RequestContext requestContext = new RequestContextMock(context, new ApplicationContextMock(context, config));
+        RequestContext.setCurrentInstance(requestContext, context);
+
+        widgetBuilder = requestContext.getWidgetBuilder();
+    }
+
+    @After
+    public void destroy() {
+        RequestContext.setCurrentInstance(null, context);
+        context.release();
+    }
+
+    @Test
+    public void shouldRenderScriptsNotRenderedAtEndOfBody() throws IOException {
+        widgetBuilder.init("AccordionPanel", "acco", "accoId");
+        widgetBuilder.finish();
+        assertEquals("", writer.toString());
+
+        new DeferredWidgetsListener.UnflushedDeferredWidgetScripts().encodeEnd(context);
+
+        assertEquals("<script type=\"text/javascript\">PrimeFaces.cw(\"AccordionPanel\",\"acco\",{id:\"accoId\"});</script>",
+                writer.toString());
+    }
+
+    @Test
+    public void shouldNotRenderScriptsTwice() throws IOException {
+        widgetBuilder.init("AccordionPanel", "acco", "accoId");
+        widgetBuilder.finish();
+
+        new DeferredWidgetsListener.DeferredWidgetScripts().encodeEnd(context);
+        String body = writer.toString();
+        new DeferredWidgetsListener.UnflushedDeferredWidgetScripts().encodeEnd(context);
+
+        assertEquals("<script type=\"text/javascript\">PrimeFaces.cw(\"AccordionPanel\",\"acco\",{id:\"accoId\"});</script>", body);
+        assertEquals(body, writer.toString());
+    }
+}
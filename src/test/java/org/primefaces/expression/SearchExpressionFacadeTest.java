@@ -1003,6 +1003,34 @@ public class SearchExpressionFacadeTest {
 	    assertEquals("Failed", "form:outerContainer:innerContainer:other form:outerContainer:innerContainer", resolveClientIds(source, " other @parent"));
 	}
 
+	@Test
+	public void resolveClientIds_MemoInvalidated() {
+
+	    UIComponent root = new UIPanel();
+
+	    UIForm form = new UIForm();
+	    form.setId("form");
+	    root.getChildren().add(form);
+
+	    UIComponent component = new UIOutput();
+	    component.setId("other");
+	    form.getChildren().add(component);
+
+	    UIComponent source = new UICommand();
+	    source.setId("source");
+	    form.getChildren().add(source);
+
+	    FacesContext context = FacesContext.getCurrentInstance();
+	    assertEquals("Failed", "form:other", SearchExpressionFacade.resolveClientIds(context, source, "other", SearchExpressionHint.IGNORE_NO_RESULT));
+
+	    form.getChildren().remove(component);
+	    assertEquals("Failed", "form:other", SearchExpressionFacade.resolveClientIds(context, source, "other", SearchExpressionHint.IGNORE_NO_RESULT));
+
+	    // done by SearchExpressionMemoListener when a component is removed from the view
+	    SearchExpressionMemo.invalidate(context);
+	    assertEquals("Failed", null, SearchExpressionFacade.resolveClientIds(context, source, "other", SearchExpressionHint.IGNORE_NO_RESULT));
+	}
+
 	@Test
 	public void resolveClientIds_RelativeAndParentParent() {
 
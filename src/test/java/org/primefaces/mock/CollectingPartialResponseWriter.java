@@ -31,6 +31,21 @@ public class CollectingPartialResponseWriter extends PartialResponseWriter {
         builder.append(str);
     }
 
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        builder.append(str, off, off + len);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        builder.append(cbuf, off, len);
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        builder.append((char) c);
+    }
+
     public String toString() {
         return builder.toString();
     }
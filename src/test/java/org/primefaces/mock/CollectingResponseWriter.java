@@ -21,6 +21,8 @@ import java.io.Writer;
 import javax.faces.component.UIComponent;
 import javax.faces.context.ResponseWriter;
 
+import org.primefaces.util.FastStringWriter;
+
 public class CollectingResponseWriter extends ResponseWriter {
 
 	private StringBuilder builder = new StringBuilder();
@@ -37,7 +39,9 @@ public class CollectingResponseWriter extends ResponseWriter {
     
 	@Override
 	public ResponseWriter cloneWithWriter(Writer arg0) {
-		// TODO Auto-generated method stub
+		if (arg0 instanceof FastStringWriter) {
+			return new CollectingResponseWriter(((FastStringWriter) arg0).getBuffer());
+		}
 		return null;
 	}
 
@@ -30,6 +30,8 @@ import javax.faces.context.ExternalContext;
 public class ExternalContextMock extends ExternalContext {
 
     public Map<String, Object> applicationMap = new HashMap<String, Object>();
+    public Map<String, Object> requestMap = new HashMap<String, Object>();
+    public Map<String, String> requestParameterMap = new HashMap<String, String>();
     
     @Override
     public void dispatch(String path) throws IOException {
@@ -118,12 +120,12 @@ public class ExternalContextMock extends ExternalContext {
 
     @Override
     public Map<String, Object> getRequestMap() {
-        return null;
+        return requestMap;
     }
 
     @Override
     public Map<String, String> getRequestParameterMap() {
-        return null;
+        return requestParameterMap;
     }
 
     @Override
@@ -162,7 +162,7 @@ public class FacesContextMock extends FacesContext {
 
 	@Override
 	public void setResponseWriter(ResponseWriter arg0) {
-
+		this.writer = arg0;
 	}
 
 	@Override
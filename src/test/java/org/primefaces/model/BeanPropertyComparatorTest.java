@@ -0,0 +1,85 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.model;
+
+import de.odysseus.el.ExpressionFactoryImpl;
+import de.odysseus.el.util.SimpleContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javax.el.ValueExpression;
+import javax.faces.context.FacesContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.primefaces.el.MyContainer;
+import org.primefaces.mock.FacesContextMock;
+
+import static org.junit.Assert.*;
+
+public class BeanPropertyComparatorTest {
+
+    private ValueExpression sortBy;
+
+    @Before
+    public void init() {
+        new FacesContextMock();
+        sortBy = new ExpressionFactoryImpl().createValueExpression(new SimpleContext(), "#{row.value}", Object.class);
+    }
+
+    @After
+    public void destroy() {
+        FacesContext.getCurrentInstance().release();
+    }
+
+    private List<MyContainer> rows(String... values) {
+        List<MyContainer> rows = new ArrayList<MyContainer>();
+        for(String value : values) {
+            MyContainer row = new MyContainer();
+            row.setValue(value);
+            rows.add(row);
+        }
+
+        return rows;
+    }
+
+    private List<String> values(List<MyContainer> rows) {
+        List<String> values = new ArrayList<String>();
+        for(MyContainer row : rows) {
+            values.add(row.getValue());
+        }
+
+        return values;
+    }
+
+    @Test
+    public void shouldSortCaseInsensitive() {
+        List<MyContainer> rows = rows("b", "C", null, "a", "B");
+
+        new BeanPropertyComparator(sortBy, "row", SortOrder.ASCENDING, null, false, Locale.ENGLISH, 1).sort(rows);
+
+        assertEquals(values(rows("a", "b", "B", "C", null)), values(rows));
+    }
+
+    @Test
+    public void shouldSortDescendingWithNullsFirst() {
+        List<MyContainer> rows = rows("b", null, "c", "a");
+
+        new BeanPropertyComparator(sortBy, "row", SortOrder.DESCENDING, null, true, Locale.ENGLISH, -1).sort(rows);
+
+        assertEquals(values(rows("c", "b", "a", null)), values(rows));
+    }
+}
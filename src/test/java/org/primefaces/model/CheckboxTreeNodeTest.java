@@ -160,5 +160,18 @@ public class CheckboxTreeNodeTest {
         assertFalse(work.isPartialSelected()); 
     }
     
-    
+    @Test
+    public void shouldCompareParentRowKeysByValue() {
+        TreeNode documents = root.getChildren().get(0);
+        TreeNode work = documents.getChildren().get(0);
+
+        String rowKey = work.getRowKey();
+        assertEquals("0_0", rowKey);
+
+        documents.setRowKey(new String("0"));
+        assertSame(rowKey, work.getRowKey());
+
+        documents.setRowKey("5");
+        assertEquals("5_0", work.getRowKey());
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.model;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class LazyTreeNodeTest {
+
+    private static class RangeNode extends LazyTreeNode {
+
+        private int loadCount;
+
+        public RangeNode(Object data) {
+            super(data);
+        }
+
+        @Override
+        protected List<TreeNode> load() {
+            loadCount++;
+            List<TreeNode> children = new ArrayList<TreeNode>();
+            for(int i = 0; i < 3; i++) {
+                children.add(new RangeNode(getData() + "." + i));
+            }
+
+            return children;
+        }
+    }
+
+    @Test
+    public void shouldLoadChildrenWhenExpanded() {
+        TreeNode root = new DefaultTreeNode("root", null);
+        RangeNode node = new RangeNode("1");
+        root.getChildren().add(node);
+
+        assertFalse(node.isLeaf());
+        assertEquals(0, node.getChildCount());
+        assertEquals(0, node.loadCount);
+
+        node.setExpanded(true);
+        assertEquals(3, node.getChildCount());
+        assertEquals(1, node.loadCount);
+        assertEquals("1.2", node.getChildren().get(2).getData());
+        assertEquals("0_2", node.getChildren().get(2).getRowKey());
+        assertEquals(node, node.getChildren().get(0).getParent());
+
+        node.getChildren();
+        assertEquals(1, node.loadCount);
+    }
+
+    @Test
+    public void shouldReleaseChildrenOnCollapse() {
+        RangeNode node = new RangeNode("1");
+        node.setReleaseOnCollapse(true);
+        node.setExpanded(true);
+        TreeNode child = node.getChildren().get(0);
+
+        node.setExpanded(false);
+        assertFalse(node.isLoaded());
+        assertNull(child.getParent());
+        assertEquals(0, node.getChildCount());
+
+        node.setExpanded(true);
+        assertEquals(3, node.getChildCount());
+        assertEquals(2, node.loadCount);
+    }
+}
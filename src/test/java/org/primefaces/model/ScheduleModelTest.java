@@ -17,10 +17,26 @@ package org.primefaces.model;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
 import org.junit.Test;
 
 public class ScheduleModelTest {
 
+	private static class RecordingLazyModel extends LazyScheduleModel {
+		
+		private final List<String> loads = new ArrayList<String>();
+		
+		@Override
+		public void loadEvents(Date start, Date end) {
+			loads.add(start.getTime() + "-" + end.getTime());
+			// spans all periods, so it is loaded every time
+			addEvent(new DefaultScheduleEvent("All", new Date(0), new Date(100)));
+		}
+	}
+
 	@Test
 	public void addEvents() {
 		ScheduleModel model = new DefaultScheduleModel();
@@ -58,4 +74,96 @@ public class ScheduleModelTest {
 		
 		assertEquals("Entry 3", model.getEvent(id).getTitle());
 	}
+	
+	@Test
+	public void findEventByIdAfterChanges() {
+		ScheduleModel model = new DefaultScheduleModel();
+		ScheduleEvent event1 = new DefaultScheduleEvent("Entry 1", null, null);
+		ScheduleEvent event2 = new DefaultScheduleEvent("Entry 2", null, null);
+		model.addEvent(event1);
+		model.addEvent(event2);
+		
+		model.deleteEvent(event1);
+		
+		assertNull(model.getEvent(event1.getId()));
+		assertSame(event2, model.getEvent(event2.getId()));
+		
+		DefaultScheduleEvent updated = new DefaultScheduleEvent("Updated", null, null);
+		updated.setId(event2.getId());
+		model.updateEvent(updated);
+		
+		assertSame(updated, model.getEvent(event2.getId()));
+		
+		DefaultScheduleEvent direct = new DefaultScheduleEvent("Direct", null, null);
+		direct.setId("direct");
+		model.getEvents().add(0, direct);
+		
+		assertSame(direct, model.getEvent("direct"));
+		assertSame(updated, model.getEvent(event2.getId()));
+	}
+	
+	@Test
+	public void reloadLazyEvents() {
+		RecordingLazyModel model = new RecordingLazyModel();
+		model.lazyLoadEvents(new Date(10), new Date(20));
+		model.lazyLoadEvents(new Date(10), new Date(20));
+		
+		assertEquals(2, model.loads.size());
+		assertEquals(1, model.getEventCount());
+	}
+	
+	@Test
+	public void loadUncoveredLazyRanges() {
+		RecordingLazyModel model = new RecordingLazyModel();
+		model.setCacheLoadedRanges(true);
+		
+		model.lazyLoadEvents(new Date(10), new Date(20));
+		model.lazyLoadEvents(new Date(30), new Date(40));
+		model.lazyLoadEvents(new Date(15), new Date(35));
+		model.lazyLoadEvents(new Date(5), new Date(45));
+		model.lazyLoadEvents(new Date(12), new Date(42));
+		
+		assertEquals(5, model.loads.size());
+		assertEquals("10-20", model.loads.get(0));
+		assertEquals("30-40", model.loads.get(1));
+		assertEquals("20-30", model.loads.get(2));
+		assertEquals("5-10", model.loads.get(3));
+		assertEquals("40-45", model.loads.get(4));
+		assertEquals(1, model.getEventCount());
+		
+		model.clear();
+		model.lazyLoadEvents(new Date(10), new Date(20));
+		
+		assertEquals(6, model.loads.size());
+	}
+	
+	@Test
+	public void keepEqualLazyEvents() {
+		LazyScheduleModel model = new LazyScheduleModel() {
+			
+			@Override
+			public void loadEvents(Date start, Date end) {
+				// two bookings of different rooms with the same title and times
+				addEvent(new DefaultScheduleEvent("Meeting", new Date(start.getTime()), new Date(start.getTime() + 5)));
+				addEvent(new DefaultScheduleEvent("Meeting", new Date(start.getTime()), new Date(start.getTime() + 5)));
+				// touches the bound of the next period
+				addEvent(new DefaultScheduleEvent("Until", new Date(start.getTime() + 5), new Date(end.getTime())));
+				addEvent(new DefaultScheduleEvent("Until", new Date(start.getTime() + 5), new Date(end.getTime())));
+				// loaded with both periods
+				if(start.getTime() <= 10 && end.getTime() >= 10) {
+					addEvent(new DefaultScheduleEvent("Boundary", new Date(10), new Date(10)));
+				}
+			}
+		};
+		model.setCacheLoadedRanges(true);
+		
+		model.lazyLoadEvents(new Date(10), new Date(20));
+		assertEquals(5, model.getEventCount());
+		
+		model.lazyLoadEvents(new Date(0), new Date(10));
+		assertEquals(9, model.getEventCount());
+		
+		model.lazyLoadEvents(new Date(0), new Date(20));
+		assertEquals(9, model.getEventCount());
+	}
 }
@@ -65,4 +65,47 @@ public class TreeNodeTest {
             assertEquals(1, root.getChildren().indexOf(child1));
             assertEquals(2, root.getChildren().indexOf(child2));
         }
+
+        @Test
+        public void shouldUpdateRowKeysOnAccess() {
+            TreeNode root = new DefaultTreeNode("Root", null);
+            TreeNode child0 = new DefaultTreeNode("Child0", root);
+            TreeNode child1 = new DefaultTreeNode("Child1", root);
+            TreeNode child10 = new DefaultTreeNode("Child10", child1);
+            TreeNode child11 = new DefaultTreeNode("Child11", child1);
+
+            assertEquals("0", child0.getRowKey());
+            assertEquals("1_1", child11.getRowKey());
+
+            root.getChildren().remove(child0);
+            assertEquals("0", child0.getRowKey());
+            assertEquals("0", child1.getRowKey());
+            assertEquals("0_0", child10.getRowKey());
+            assertEquals("0_1", child11.getRowKey());
+
+            child11.getChildren().add(child0);
+            assertEquals("0_1_0", child0.getRowKey());
+            assertEquals(child11, child0.getParent());
+
+            child1.getChildren().add(0, child11);
+            assertEquals("0_0", child11.getRowKey());
+            assertEquals("0_0_0", child0.getRowKey());
+            assertEquals("0_1", child10.getRowKey());
+        }
+
+        @Test
+        public void shouldCompareParentRowKeysByValue() {
+            TreeNode root = new DefaultTreeNode("Root", null);
+            TreeNode child0 = new DefaultTreeNode("Child0", root);
+            TreeNode child00 = new DefaultTreeNode("Child00", child0);
+
+            String rowKey = child00.getRowKey();
+            assertEquals("0_0", rowKey);
+
+            child0.setRowKey(new String("0"));
+            assertSame(rowKey, child00.getRowKey());
+
+            child0.setRowKey("5");
+            assertEquals("5_0", child00.getRowKey());
+        }
 }
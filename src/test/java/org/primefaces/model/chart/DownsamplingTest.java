@@ -0,0 +1,78 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.model.chart;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class DownsamplingTest {
+
+    private static NumericLineChartSeries createSeries(int size, int spikeAt) {
+        NumericLineChartSeries series = new NumericLineChartSeries("series");
+        for(int i = 0; i < size; i++) {
+            series.add(i, (i == spikeAt) ? 1000 : Math.sin(i / 100.0));
+        }
+
+        return series;
+    }
+
+    @Test
+    public void shouldKeepAllPointsBelowThreshold() {
+        NumericLineChartSeries series = createSeries(100, -1);
+        series.setDownsampling(Downsampling.LTTB, 200);
+
+        assertNull(series.getSampledIndexes());
+    }
+
+    @Test
+    public void shouldReduceToThresholdWithLttb() {
+        NumericLineChartSeries series = createSeries(100000, 54321);
+        series.setDownsampling(Downsampling.LTTB, 800);
+
+        int[] indexes = series.getSampledIndexes();
+        assertEquals(800, indexes.length);
+        assertEquals(0, indexes[0]);
+        assertEquals(99999, indexes[799]);
+
+        boolean spikeKept = false;
+        for(int i = 0; i < indexes.length; i++) {
+            if(i > 0) {
+                assertTrue(indexes[i] > indexes[i - 1]);
+            }
+            spikeKept = spikeKept || indexes[i] == 54321;
+        }
+        assertTrue(spikeKept);
+    }
+
+    @Test
+    public void shouldKeepExtremesWithMinMax() {
+        NumericLineChartSeries series = createSeries(100000, 12345);
+        series.setDownsampling(Downsampling.MIN_MAX, 800);
+
+        int[] indexes = series.getSampledIndexes();
+        assertTrue(indexes.length <= 800);
+        assertEquals(0, indexes[0]);
+        assertEquals(99999, indexes[indexes.length - 1]);
+
+        boolean spikeKept = false;
+        for(int i = 1; i < indexes.length; i++) {
+            assertTrue(indexes[i] > indexes[i - 1]);
+            spikeKept = spikeKept || indexes[i] == 12345;
+        }
+        assertTrue(spikeKept);
+    }
+}
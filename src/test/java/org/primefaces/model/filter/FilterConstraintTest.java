@@ -0,0 +1,78 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.model.filter;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Locale;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FilterConstraintTest {
+
+    private static final Object[] VALUES = new Object[] { null, "", "Volvo", "VOLVO", "volvo xc90", " Audi", "BMW", 1990, new BigDecimal("12.50") };
+
+    private static final Object[] FILTERS = new Object[] { null, "", "  ", "vol", " VOLVO ", "xc90", "o", "bmw", "Audi", 1990 };
+
+    @Test
+    public void compiledMatchersShouldBehaveLikeConstraints() {
+        CompilableFilterConstraint[] constraints = new CompilableFilterConstraint[] {
+            new StartsWithFilterConstraint(),
+            new EndsWithFilterConstraint(),
+            new ContainsFilterConstraint(),
+            new ExactFilterConstraint(),
+            new GlobalFilterConstraint()
+        };
+
+        for(Locale locale : new Locale[] { Locale.ENGLISH, new Locale("tr") }) {
+            for(CompilableFilterConstraint constraint : constraints) {
+                for(Object filter : FILTERS) {
+                    FilterMatcher matcher = constraint.compile(filter, locale);
+
+                    for(Object value : VALUES) {
+                        assertEquals(constraint.getClass().getSimpleName() + " " + filter + " " + value,
+                                constraint.applies(value, filter, locale), matcher.matches(value));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldMatchText() {
+        assertTrue(new ContainsFilterConstraint().compile(" OLV ", Locale.ENGLISH).matches("Volvo"));
+        assertTrue(new StartsWithFilterConstraint().compile("vol", Locale.ENGLISH).matches("Volvo"));
+        assertFalse(new EndsWithFilterConstraint().compile("vol", Locale.ENGLISH).matches("Volvo"));
+        assertTrue(new ExactFilterConstraint().compile("VOLVO", Locale.ENGLISH).matches("volvo"));
+        assertTrue(new ExactFilterConstraint().compile("", Locale.ENGLISH).matches(null));
+        assertFalse(new ExactFilterConstraint().compile("volvo", Locale.ENGLISH).matches(null));
+    }
+
+    @Test
+    public void compiledInMatcherShouldBehaveLikeConstraint() {
+        InFilterConstraint constraint = new InFilterConstraint();
+        Object[] filters = new Object[] { null, new Object[0], new String[] { "Volvo", "BMW" }, Arrays.asList("Audi") };
+
+        for(Object filter : filters) {
+            FilterMatcher matcher = constraint.compile(filter, Locale.ENGLISH);
+
+            for(Object value : VALUES) {
+                assertEquals(constraint.applies(value, filter, Locale.ENGLISH), matcher.matches(value));
+            }
+        }
+    }
+}
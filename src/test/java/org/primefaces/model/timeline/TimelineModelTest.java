@@ -0,0 +1,231 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.model.timeline;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.primefaces.component.timeline.TimelineUpdater;
+
+public class TimelineModelTest {
+
+    private static class RecordingUpdater extends TimelineUpdater {
+
+        private final List<Integer> deleted = new ArrayList<Integer>();
+
+        @Override
+        public void add(TimelineEvent event) {
+        }
+
+        @Override
+        public void update(TimelineEvent event, int index) {
+        }
+
+        @Override
+        public void delete(int index) {
+            deleted.add(index);
+        }
+
+        @Override
+        public void select(int index) {
+        }
+
+        @Override
+        public void clear() {
+        }
+    }
+
+    private static TimelineEvent event(String data, long start, Long end, String group) {
+        return new TimelineEvent(data, new Date(start), end == null ? null : new Date(end), true, group);
+    }
+
+    @Test
+    public void shouldFindOverlappedEventsOfSameGroup() {
+        TimelineModel model = new TimelineModel();
+        TimelineEvent event = event("e", 100, 200L, "a");
+        model.add(event);
+        model.add(event("long", 0, 1000L, "a"));
+        model.add(event("before", 0, 99L, "a"));
+        model.add(event("touching", 200, 300L, "a"));
+        model.add(event("point", 150, null, "a"));
+        model.add(event("after", 201, 300L, "a"));
+        model.add(event("other", 100, 200L, "b"));
+
+        TreeSet<TimelineEvent> overlapped = model.getOverlappedEvents(event);
+
+        assertEquals(3, overlapped.size());
+        List<Object> data = new ArrayList<Object>();
+        for(TimelineEvent e : overlapped) {
+            data.add(e.getData());
+        }
+        assertEquals(Arrays.asList("long", "point", "touching"), data);
+    }
+
+    @Test
+    public void shouldKeepIndexesAfterUpdateAndDelete() {
+        TimelineModel model = new TimelineModel();
+        for(int i = 0; i < 10; i++) {
+            model.add(event("e" + i, i * 10, i * 10 + 5L, null));
+        }
+
+        assertEquals(3, model.getIndex(event("e3", 0, null, null)));
+
+        model.update(event("e3", 500, 600L, null));
+        assertEquals(3, model.getIndex(event("e3", 0, null, null)));
+        assertEquals(1, model.getEvents(null, new Date(550), new Date(560)).size());
+        assertTrue(model.getEvents(null, new Date(30), new Date(35)).isEmpty());
+
+        model.delete(event("e1", 0, null, null));
+        assertEquals(-1, model.getIndex(event("e1", 0, null, null)));
+        assertEquals(2, model.getIndex(event("e3", 0, null, null)));
+
+        model.getEvents().add(0, event("x", 0, 1L, null));
+        assertEquals(3, model.getIndex(event("e3", 0, null, null)));
+    }
+
+    @Test
+    public void shouldFindEventsWithChangedData() {
+        TimelineModel model = new TimelineModel();
+        List<String> mutable = new ArrayList<String>(Arrays.asList("a"));
+        TimelineEvent mutated = new TimelineEvent(mutable, new Date(0));
+        model.add(event("e0", 0, null, null));
+        model.add(mutated);
+        model.add(event("e2", 0, null, null));
+        assertEquals(1, model.getIndex(mutated));
+
+        mutated.setData("changed");
+        mutated.setStartDate(new Date(500));
+        model.update(mutated);
+        assertEquals(1, model.getIndex(mutated));
+        assertEquals(1, model.getEvents(new Date(450), new Date(550)).size());
+
+        TimelineEvent other = model.getEvent(2);
+        mutable.add("b");
+        other.setData(mutable);
+        assertEquals(2, model.getIndex(other));
+        assertEquals(2, model.getIndex(new TimelineEvent(mutable, new Date(0))));
+
+        model.delete(mutated);
+        assertEquals(2, model.getEvents().size());
+        assertEquals(-1, model.getIndex(event("changed", 0, null, null)));
+    }
+
+    @Test
+    public void shouldDeleteAllWithSequentialIndexes() {
+        TimelineModel model = new TimelineModel();
+        for(int i = 0; i < 6; i++) {
+            model.add(event("e" + i, i, null, null));
+        }
+
+        RecordingUpdater updater = new RecordingUpdater();
+        model.deleteAll(Arrays.asList(event("e4", 0, null, null), event("e1", 0, null, null), event("e5", 0, null, null)), updater);
+
+        assertEquals(Arrays.asList(4, 1, 3), updater.deleted);
+        assertEquals(3, model.getEvents().size());
+        assertEquals("e0", model.getEvent(0).getData());
+        assertEquals("e2", model.getEvent(1).getData());
+        assertEquals("e3", model.getEvent(2).getData());
+    }
+
+    @Test
+    public void shouldReturnEventsOfTimeRange() {
+        TimelineModel model = new TimelineModel();
+        model.add(event("late", 300, 400L, "a"));
+        model.add(event("early", 0, 150L, "a"));
+        model.add(event("point", 120, null, "b"));
+        model.add(event("outside", 500, 600L, "a"));
+
+        List<TimelineEvent> groupEvents = model.getEvents("a", new Date(100), new Date(300));
+        assertEquals(2, groupEvents.size());
+        assertEquals("early", groupEvents.get(0).getData());
+        assertEquals("late", groupEvents.get(1).getData());
+
+        List<TimelineEvent> allEvents = model.getEvents(new Date(100), new Date(300));
+        assertEquals(3, allEvents.size());
+        assertEquals("point", allEvents.get(1).getData());
+    }
+
+    @Test
+    public void shouldFindEventsOfTimeRangeAfterChanges() {
+        Random random = new Random(42);
+        TimelineModel model = new TimelineModel();
+        String[] groups = {"a", "b", null};
+        for(int i = 0; i < 300; i++) {
+            model.add(randomEvent(random, "e" + i, groups));
+        }
+        // one long event, deleted below, used to widen every query
+        model.add(event("long", 0, 1000000L, "a"));
+
+        for(int i = 0; i < 200; i++) {
+            String data = "e" + random.nextInt(300);
+            if(random.nextInt(3) == 0) {
+                model.delete(event(data, 0, null, null));
+            }
+            else if(model.getIndex(event(data, 0, null, null)) >= 0) {
+                model.update(randomEvent(random, data, groups));
+            }
+
+            if(i == 100) {
+                model.delete(event("long", 0, null, null));
+            }
+
+            long from = random.nextInt(10000);
+            long to = from + random.nextInt(500);
+            assertEquals(expectedData(model, "a", from, to), data(model.getEvents("a", new Date(from), new Date(to))));
+            assertEquals(expectedData(model, null, from, to), data(model.getEvents(null, new Date(from), new Date(to))));
+        }
+    }
+
+    private static TimelineEvent randomEvent(Random random, String data, String[] groups) {
+        long start = random.nextInt(10000);
+        int kind = random.nextInt(10);
+        // mostly short events, some points in time and some with an end before the start
+        Long end = (kind == 0) ? null : (kind == 1) ? start - random.nextInt(100) : start + random.nextInt(kind == 2 ? 3000 : 100);
+
+        return event(data, start, end, groups[random.nextInt(groups.length)]);
+    }
+
+    private static List<String> expectedData(TimelineModel model, String group, long from, long to) {
+        List<TimelineEvent> expected = new ArrayList<TimelineEvent>();
+        for(TimelineEvent e : model.getEvents()) {
+            long start = e.getStartDate().getTime();
+            long end = (e.getEndDate() == null) ? start : e.getEndDate().getTime();
+            if((group == null ? e.getGroup() == null : group.equals(e.getGroup())) && Math.min(start, end) <= to && Math.max(start, end) >= from) {
+                expected.add(e);
+            }
+        }
+
+        return data(expected);
+    }
+
+    private static List<String> data(List<TimelineEvent> events) {
+        List<String> data = new ArrayList<String>();
+        for(TimelineEvent e : events) {
+            data.add((String) e.getData());
+        }
+        Collections.sort(data);
+
+        return data;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.renderkit;
+
+import static org.junit.Assert.*;
+
+import javax.faces.component.UIComponent;
+import javax.faces.component.UIInput;
+import javax.faces.context.FacesContext;
+import javax.faces.convert.Converter;
+
+import org.junit.Test;
+import org.primefaces.mock.FacesContextMock;
+
+public class SelectRendererTest {
+
+    private static class CountingConverter implements Converter {
+
+        private int conversions = 0;
+
+        public Object getAsObject(FacesContext context, UIComponent component, String value) {
+            conversions++;
+            return Integer.valueOf(value);
+        }
+
+        public String getAsString(FacesContext context, UIComponent component, Object value) {
+            return String.valueOf(value);
+        }
+    }
+
+    private static class Item {
+
+        private final String name;
+
+        Item(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Item && ((Item) obj).name.equals(name);
+        }
+    }
+
+    @Test
+    public void shouldConvertItemValueOncePerType() {
+        FacesContext context = new FacesContextMock();
+        UIInput component = new UIInput();
+        CountingConverter converter = new CountingConverter();
+        Object values = new Object[] {1, 3, null, "5"};
+        SelectRenderer renderer = new SelectRenderer();
+
+        assertTrue(renderer.isSelected(context, component, "3", values, converter));
+        assertFalse(renderer.isSelected(context, component, "2", values, converter));
+        assertTrue(renderer.isSelected(context, component, "5", values, converter));
+        assertTrue(renderer.isSelected(context, component, null, values, converter));
+        assertEquals(3, converter.conversions);
+    }
+
+    @Test
+    public void shouldMatchValuesWithoutHashCode() {
+        FacesContext context = new FacesContextMock();
+        UIInput component = new UIInput();
+        Converter converter = new CountingConverter();
+        Object values = new Item[] {new Item("a"), new Item("b")};
+        SelectRenderer renderer = new SelectRenderer();
+
+        assertTrue(renderer.isSelected(context, component, new Item("b"), values, converter));
+        assertFalse(renderer.isSelected(context, component, new Item("c"), values, converter));
+        assertFalse(renderer.isSelected(context, component, null, values, converter));
+    }
+}
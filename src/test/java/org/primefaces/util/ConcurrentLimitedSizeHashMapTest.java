@@ -0,0 +1,124 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.util;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class ConcurrentLimitedSizeHashMapTest {
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        ConcurrentLimitedSizeHashMap<String, String> map = new ConcurrentLimitedSizeHashMap<String, String>(2);
+
+        map.put("a", "A");
+        map.put("b", "B");
+        map.get("a");
+        map.put("c", "C");
+
+        assertEquals(2, map.size());
+        assertEquals("A", map.get("a"));
+        assertNull(map.get("b"));
+        assertEquals("C", map.get("c"));
+    }
+
+    @Test
+    public void shouldKeepRecentlyReadEntries() {
+        ConcurrentLimitedSizeHashMap<Integer, Integer> map = new ConcurrentLimitedSizeHashMap<Integer, Integer>(10);
+
+        for(int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+        for(int i = 0; i < 5; i++) {
+            map.get(i);
+        }
+        for(int i = 10; i < 15; i++) {
+            map.put(i, i);
+        }
+
+        assertEquals(10, map.size());
+        for(int i = 0; i < 15; i++) {
+            assertEquals(i < 5 || i >= 10, map.containsKey(i));
+        }
+    }
+
+    @Test
+    public void shouldEvictLargeMapsBySampling() {
+        ConcurrentLimitedSizeHashMap<Integer, Integer> map = new ConcurrentLimitedSizeHashMap<Integer, Integer>(1000);
+
+        for(int i = 0; i < 2000; i++) {
+            map.put(i, i);
+            // keeps the first entry in use
+            map.get(0);
+        }
+
+        assertEquals(1000, map.size());
+        assertEquals(Integer.valueOf(0), map.get(0));
+        assertEquals(Integer.valueOf(1999), map.get(1999));
+    }
+
+    @Test
+    public void shouldSupportConcurrentMapOperations() {
+        ConcurrentLimitedSizeHashMap<String, String> map = new ConcurrentLimitedSizeHashMap<String, String>(10);
+
+        assertNull(map.putIfAbsent("a", "A"));
+        assertEquals("A", map.putIfAbsent("a", "B"));
+        assertFalse(map.replace("a", "B", "C"));
+        assertTrue(map.replace("a", "A", "C"));
+        assertFalse(map.remove("a", "A"));
+        assertTrue(map.remove("a", "C"));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void shouldStayBoundedUnderConcurrentWrites() throws InterruptedException {
+        final ConcurrentLimitedSizeHashMap<Integer, Integer> map = new ConcurrentLimitedSizeHashMap<Integer, Integer>(100);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        List<Thread> threads = new ArrayList<Thread>();
+
+        for(int t = 0; t < 8; t++) {
+            final int offset = t * 10000;
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for(int i = 0; i < 10000; i++) {
+                            map.put(offset + i, i);
+                            map.get(offset + i / 2);
+                        }
+                    }
+                    catch(Throwable e) {
+                        failure.set(e);
+                    }
+                }
+            };
+            threads.add(thread);
+            thread.start();
+        }
+
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+        assertTrue(map.size() <= 100 + threads.size());
+    }
+}
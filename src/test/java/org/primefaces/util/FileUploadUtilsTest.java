@@ -0,0 +1,77 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.util;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import javax.faces.FacesException;
+
+import org.junit.Test;
+
+public class FileUploadUtilsTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes();
+
+    @Test
+    public void shouldReadContentsOfExpectedSize() throws IOException {
+        assertArrayEquals(CONTENT, FileUploadUtils.toByteArray(new ByteArrayInputStream(CONTENT), CONTENT.length, -1));
+    }
+
+    @Test
+    public void shouldReadContentsOfWrongSize() throws IOException {
+        assertArrayEquals(CONTENT, FileUploadUtils.toByteArray(new ByteArrayInputStream(CONTENT), 4, -1));
+        assertArrayEquals(CONTENT, FileUploadUtils.toByteArray(new ByteArrayInputStream(CONTENT), 20, -1));
+        assertArrayEquals(CONTENT, FileUploadUtils.toByteArray(new ByteArrayInputStream(CONTENT), -1, -1));
+    }
+
+    @Test(expected = FacesException.class)
+    public void shouldRejectContentsExceedingLimit() throws IOException {
+        FileUploadUtils.toByteArray(new ByteArrayInputStream(CONTENT), CONTENT.length, 5);
+    }
+
+    @Test(expected = FacesException.class)
+    public void shouldRejectContentsOfUnknownSizeExceedingLimit() throws IOException {
+        FileUploadUtils.toByteArray(new ByteArrayInputStream(CONTENT), -1, 5);
+    }
+
+    @Test
+    public void shouldTransferFile() throws IOException {
+        File source = File.createTempFile("primefaces", ".tmp");
+        File target = File.createTempFile("primefaces", ".tmp");
+        try {
+            FileOutputStream output = new FileOutputStream(source);
+            output.write(CONTENT);
+            output.close();
+
+            FileUploadUtils.transferTo(new FileInputStream(source).getChannel(), target);
+
+            FileInputStream input = new FileInputStream(target);
+            byte[] transferred = FileUploadUtils.toByteArray(input, target.length(), -1);
+            input.close();
+            assertTrue(Arrays.equals(CONTENT, transferred));
+        }
+        finally {
+            source.delete();
+            target.delete();
+        }
+    }
+}
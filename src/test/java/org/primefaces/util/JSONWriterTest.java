@@ -0,0 +1,110 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.util;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.primefaces.json.JSONObject;
+
+public class JSONWriterTest {
+
+    public static class Person {
+
+        private final String name;
+        private final int age;
+        private final Person partner;
+
+        public Person(String name, int age, Person partner) {
+            this.name = name;
+            this.age = age;
+            this.partner = partner;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public Person getPartner() {
+            return partner;
+        }
+
+        public boolean isAdult() {
+            return age >= 18;
+        }
+
+        public List<Double> getScores() {
+            return Arrays.asList(1.5, 2.0);
+        }
+
+        public String getURL() {
+            return "<a href='x'>&</a>";
+        }
+
+        public String format(String pattern) {
+            return pattern;
+        }
+    }
+
+    @Test
+    public void shouldWriteBeansLikeJSONObject() {
+        Person person = new Person("Jane \"J\"", 30, new Person("John", 31, null));
+
+        String json = JSONWriter.toJSON(person);
+
+        assertTrue(new JSONObject(new JSONObject(person).toString()).similar(new JSONObject(json)));
+        assertTrue(json.contains("\"URL\":"));
+        assertTrue(json.contains("\"scores\":[1.5,2]"));
+    }
+
+    @Test
+    public void shouldCachePropertiesPerClass() {
+        assertSame(JSONWriter.getProperties(Person.class), JSONWriter.getProperties(Person.class));
+        assertNotSame(JSONWriter.getProperties(Person.class), JSONWriter.getProperties(Object.class));
+    }
+
+    @Test
+    public void shouldWriteMapsAndValues() {
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("a", 1);
+        map.put("b", null);
+        map.put("c", new int[] {1, 2});
+        map.put("d", Double.NaN);
+
+        assertEquals("{\"a\":1,\"c\":[1,2],\"d\":null}", JSONWriter.toJSON(map));
+        assertEquals("\"text\"", JSONWriter.toJSON("text"));
+        assertEquals("true", JSONWriter.toJSON(true));
+        assertEquals("null", JSONWriter.toJSON(null));
+    }
+
+    @Test
+    public void shouldEscapeXml() throws IOException {
+        FastStringWriter out = new FastStringWriter();
+        new JSONWriter(out, true).writeName("a&b").writeValue("<it's>");
+
+        assertEquals("\"a&amp;b\":\"&lt;it&apos;s&gt;\"", out.toString());
+    }
+}
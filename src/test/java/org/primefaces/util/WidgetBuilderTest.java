@@ -107,4 +107,45 @@ public class WidgetBuilderTest {
         
         assertEquals("<script id=\"accoId_s\" type=\"text/javascript\">PrimeFaces.cw(\"AccordionPanel\",\"acco\",{id:\"accoId\"});</script>", writer.toString());
     }
+
+    @Test
+    public void shouldDeferScripts() throws IOException {
+    	CollectingResponseWriter writer = new CollectingResponseWriter();
+    	FacesContextMock context = new FacesContextMock(writer);
+
+        WidgetBuilder builder = new WidgetBuilder(context, true);
+        builder.init("AccordionPanel", "acco", "accoId");
+        builder.finish();
+        writer.write("<div></div>");
+        builder.initWithDomReady("DataTable", "dt", "dt1");
+        builder.attr("lazy", true, false);
+        // e.g. the behaviors are written with the response writer
+        context.getResponseWriter().write(",behaviors:{}");
+        builder.finish();
+
+        assertSame(writer, context.getResponseWriter());
+        assertEquals("<div></div>", writer.toString());
+
+        builder.renderDeferredScripts();
+
+        assertEquals("<div></div><script type=\"text/javascript\">PrimeFaces.cw(\"AccordionPanel\",\"acco\",{id:\"accoId\"});"
+                + "$(function(){PrimeFaces.cw(\"DataTable\",\"dt\",{id:\"dt1\",lazy:true,behaviors:{}});});</script>", writer.toString());
+        assertNull(builder.takeDeferredScripts());
+    }
+
+    @Test
+    public void shouldRenderComponentLoadInlineIfDeferred() throws IOException {
+    	CollectingResponseWriter writer = new CollectingResponseWriter();
+    	FacesContextMock context = new FacesContextMock(writer);
+
+        WidgetBuilder builder = new WidgetBuilder(context, true);
+        builder.initWithComponentLoad("ImageCropper", "cropper", "cropperId", "image");
+        builder.finish();
+
+        assertSame(writer, context.getResponseWriter());
+        assertEquals(
+        		"<script id=\"cropperId_s\" type=\"text/javascript\">$(PrimeFaces.escapeClientId(\"image\")).load(function(){PrimeFaces.cw(\"ImageCropper\",\"cropper\",{id:\"cropperId\"});});</script>",
+        		writer.toString());
+        assertNull(builder.takeDeferredScripts());
+    }
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.validate.bean;
+
+import static org.junit.Assert.*;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.el.ValueReference;
+import javax.validation.Validator;
+import javax.validation.constraints.NotNull;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+
+import org.junit.Test;
+import org.primefaces.context.RequestContext;
+import org.primefaces.mock.pf.ApplicationContextMock;
+import org.primefaces.mock.pf.PrimeConfigurationMock;
+import org.primefaces.mock.pf.RequestContextMock;
+
+public class BeanValidationMetadataMapperTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @ClientConstraint(resolvedBy = CustomClientValidationConstraint.class)
+    public @interface Custom {
+    }
+
+    public static class CustomClientValidationConstraint implements ClientValidationConstraint {
+
+        private static int instances;
+
+        public CustomClientValidationConstraint() {
+            instances++;
+        }
+
+        public Map<String, Object> getMetadata(ConstraintDescriptor constraintDescriptor) {
+            return null;
+        }
+
+        public String getValidatorId() {
+            return "Custom";
+        }
+    }
+
+    public static class Bean {
+
+        @NotNull
+        private String name;
+
+        private String comment;
+
+        @Custom
+        private String code;
+    }
+
+    public static class OtherBean {
+
+        @Custom
+        private String code;
+    }
+
+    public static class RegisteredBean {
+
+        @NotNull
+        private String name;
+    }
+
+    /**
+     * Resolves the constraints of the fields of the bean classes and counts the lookups.
+     */
+    private static class ValidatorStub implements InvocationHandler {
+
+        private int lookups;
+
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if(method.getName().equals("getConstraintsForClass")) {
+                final Class<?> beanClass = (Class<?>) args[0];
+                lookups++;
+
+                return proxy(BeanDescriptor.class, new InvocationHandler() {
+
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        return createPropertyDescriptor(beanClass.getDeclaredField((String) args[0]).getAnnotations());
+                    }
+                });
+            }
+
+            throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static PropertyDescriptor createPropertyDescriptor(Annotation[] annotations) {
+        final Set<ConstraintDescriptor<?>> constraints = new HashSet<ConstraintDescriptor<?>>();
+        for(final Annotation annotation : annotations) {
+            constraints.add(proxy(ConstraintDescriptor.class, new InvocationHandler() {
+
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    if(method.getName().equals("getAnnotation")) {
+                        return annotation;
+                    }
+                    if(method.getName().equals("getAttributes")) {
+                        Map<String, Object> attributes = new HashMap<String, Object>();
+                        attributes.put("message", "{javax.validation.constraints.NotNull.message}");
+                        return attributes;
+                    }
+                    if(method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if(method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+
+                    throw new UnsupportedOperationException(method.getName());
+                }
+            }));
+        }
+
+        return proxy(PropertyDescriptor.class, new InvocationHandler() {
+
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if(method.getName().equals("getConstraintDescriptors")) {
+                    return constraints;
+                }
+
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static RequestContext createRequestContext(ValidatorStub validatorStub) {
+        final Validator validator = proxy(Validator.class, validatorStub);
+
+        return new RequestContextMock(null, new ApplicationContextMock(null, new PrimeConfigurationMock(null)) {
+
+            @Override
+            public Validator getValidator() {
+                return validator;
+            }
+        });
+    }
+
+    private static BeanValidationMetadata resolve(RequestContext requestContext, Object bean, String property, Locale locale) {
+        return BeanValidationMetadataMapper.resolveValidationMetadata(requestContext, new ValueReference(bean, property), locale, false);
+    }
+
+    @Test
+    public void shouldCacheMetadataPerClassPropertyAndLocale() {
+        ValidatorStub validatorStub = new ValidatorStub();
+        RequestContext requestContext = createRequestContext(validatorStub);
+
+        BeanValidationMetadata metadata = resolve(requestContext, new Bean(), "name", Locale.ENGLISH);
+        assertEquals(Collections.singletonList("NotNull"), metadata.getValidatorIds());
+        assertEquals(1, validatorStub.lookups);
+
+        assertSame(metadata, resolve(requestContext, new Bean(), "name", Locale.ENGLISH));
+        assertEquals(1, validatorStub.lookups);
+
+        resolve(requestContext, new Bean(), "name", Locale.GERMAN);
+        assertEquals(2, validatorStub.lookups);
+    }
+
+    @Test
+    public void shouldCachePropertiesWithoutMetadataAsNull() {
+        ValidatorStub validatorStub = new ValidatorStub();
+        RequestContext requestContext = createRequestContext(validatorStub);
+
+        assertNull(resolve(requestContext, new Bean(), "comment", null));
+        assertNull(resolve(requestContext, new Bean(), "comment", null));
+        assertEquals(1, validatorStub.lookups);
+    }
+
+    @Test
+    public void shouldClearCacheWhenMappingChanges() {
+        ValidatorStub validatorStub = new ValidatorStub();
+        RequestContext requestContext = createRequestContext(validatorStub);
+
+        assertNotNull(resolve(requestContext, new RegisteredBean(), "name", null));
+
+        ClientValidationConstraint notNull = BeanValidationMetadataMapper.removeConstraintMapping(NotNull.class);
+        try {
+            assertNull(resolve(requestContext, new RegisteredBean(), "name", null));
+            assertEquals(2, validatorStub.lookups);
+        }
+        finally {
+            BeanValidationMetadataMapper.registerConstraintMapping(NotNull.class, notNull);
+        }
+
+        assertNotNull(resolve(requestContext, new RegisteredBean(), "name", null));
+        assertEquals(3, validatorStub.lookups);
+    }
+
+    @Test
+    public void shouldShareResolvedByInstance() {
+        RequestContext requestContext = createRequestContext(new ValidatorStub());
+
+        assertEquals(Collections.singletonList("Custom"), resolve(requestContext, new Bean(), "code", null).getValidatorIds());
+        assertEquals(Collections.singletonList("Custom"), resolve(requestContext, new OtherBean(), "code", null).getValidatorIds());
+        assertEquals(1, CustomClientValidationConstraint.instances);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2009-2017 PrimeTek.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primefaces.webapp.upload;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.apache.commons.fileupload.disk.DiskFileItem;
+import org.junit.Test;
+
+public class UploadStorageTest {
+
+    private DiskFileItem upload(StoredFileItemFactory factory, int size) throws IOException {
+        DiskFileItem item = (DiskFileItem) factory.createItem("file", "application/octet-stream", false, "file.bin");
+        OutputStream output = item.getOutputStream();
+        output.write(new byte[size]);
+        output.close();
+
+        return item;
+    }
+
+    @Test
+    public void shouldReleaseBytesButKeepFilesAtEndOfRequest() throws IOException {
+        UploadStorage storage = new UploadStorage(10, null, UploadStorage.UNLIMITED, UploadStorage.UNLIMITED, UploadStorage.UNLIMITED);
+        StoredFileItemFactory factory = new StoredFileItemFactory(storage, "session");
+
+        DiskFileItem item = upload(factory, 100);
+        File storeLocation = item.getStoreLocation();
+
+        factory.release();
+
+        // the upload may still be read in a later request
+        assertTrue(storeLocation.exists());
+        assertEquals(0, storage.getBytesInFlight());
+        assertEquals(0, storage.getFilesInFlight());
+
+        item.delete();
+    }
+
+    @Test
+    public void shouldNotCountFormFieldsAsFiles() throws IOException {
+        UploadStorage storage = new UploadStorage(10, null, UploadStorage.UNLIMITED, UploadStorage.UNLIMITED, UploadStorage.UNLIMITED);
+        StoredFileItemFactory factory = new StoredFileItemFactory(storage, null);
+
+        factory.createItem("field", null, true, null);
+        upload(factory, 5);
+        assertEquals(1, storage.getFilesInFlight());
+
+        factory.release();
+        assertEquals(0, storage.getFilesInFlight());
+    }
+
+    @Test
+    public void shouldDeleteFilesAtEndOfRequestIfEnabled() throws IOException {
+        UploadStorage storage = new UploadStorage(10, null, UploadStorage.UNLIMITED, UploadStorage.UNLIMITED, UploadStorage.UNLIMITED, true);
+        StoredFileItemFactory factory = new StoredFileItemFactory(storage, "session");
+
+        DiskFileItem item = upload(factory, 100);
+        File storeLocation = item.getStoreLocation();
+        assertTrue(storeLocation.exists());
+        assertEquals(100, storage.getBytesInFlight());
+        assertEquals(1, storage.getFilesInFlight());
+
+        factory.release();
+
+        assertFalse(storeLocation.exists());
+        assertEquals(0, storage.getBytesInFlight());
+        assertEquals(0, storage.getFilesInFlight());
+        assertEquals(100, storage.getPeakBytesInFlight());
+    }
+
+    @Test
+    public void shouldEnforceSessionQuotaAcrossRequests() throws IOException {
+        UploadStorage storage = new UploadStorage(10, null, UploadStorage.UNLIMITED, 150, UploadStorage.UNLIMITED);
+        StoredFileItemFactory first = new StoredFileItemFactory(storage, "session");
+        StoredFileItemFactory second = new StoredFileItemFactory(storage, "session");
+        StoredFileItemFactory other = new StoredFileItemFactory(storage, "other");
+
+        upload(first, 100);
+        upload(other, 100);
+        try {
+            upload(second, 100);
+            fail();
+        }
+        catch(UploadQuotaExceededException e) {
+            assertEquals(150, e.getQuota());
+        }
+        finally {
+            first.release();
+            second.release();
+            other.release();
+        }
+
+        assertEquals(1, storage.getRejectedCount());
+        assertEquals(0, storage.getBytesInFlight());
+    }
+
+    @Test(expected = UploadQuotaExceededException.class)
+    public void shouldEnforceRequestQuota() throws IOException {
+        UploadStorage storage = new UploadStorage(10, null, 150, UploadStorage.UNLIMITED, UploadStorage.UNLIMITED);
+        StoredFileItemFactory factory = new StoredFileItemFactory(storage, null);
+
+        try {
+            upload(factory, 100);
+            upload(factory, 100);
+        }
+        finally {
+            factory.release();
+        }
+    }
+
+    @Test
+    public void shouldEnforceGlobalQuota() throws IOException {
+        UploadStorage storage = new UploadStorage(10, null, UploadStorage.UNLIMITED, UploadStorage.UNLIMITED, 150);
+        StoredFileItemFactory first = new StoredFileItemFactory(storage, null);
+        StoredFileItemFactory second = new StoredFileItemFactory(storage, null);
+
+        upload(first, 100);
+        try {
+            upload(second, 100);
+            fail();
+        }
+        catch(UploadQuotaExceededException e) {
+            assertEquals(150, e.getQuota());
+        }
+
+        first.release();
+        second.release();
+        upload(second, 100);
+        second.release();
+    }
+}